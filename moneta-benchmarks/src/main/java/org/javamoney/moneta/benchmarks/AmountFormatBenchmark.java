@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmarks;
+
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Format and parse throughput of the default {@link MonetaryAmountFormat}, as returned by
+ * {@link MonetaryFormats#getAmountFormat(javax.money.format.AmountFormatQuery)}. The locales include the Indian
+ * grouping of {@code en_IN} and the no-break space separators of {@code fr_FR} and {@code bg_BG}.
+ * <p>
+ * Formatting is measured for all {@link CurrencyStyle} values. Parsing is measured for {@link CurrencyStyle#CODE}
+ * only, since currency names and numeric codes cannot be parsed and currency symbols are ambiguous. The format is
+ * not thread-safe, so every benchmark thread uses its own instance. The currency part of the pattern is handled by
+ * the internal {@code CurrencyToken}, the number part by {@code AmountNumberToken}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountFormatBenchmark {
+
+    public abstract static class BaseState {
+
+        @Param({"en_US", "en_IN", "de_CH", "fr_FR", "bg_BG"})
+        String locale;
+
+        @Param({"MONEY", "FAST_MONEY", "ROUNDED_MONEY"})
+        AmountType amountType;
+
+        MonetaryAmountFormat format;
+
+        MonetaryAmount amount;
+
+        String text;
+
+        abstract CurrencyStyle getCurrencyStyle();
+
+        @Setup
+        public void setup() {
+            Locale formatLocale = Locale.forLanguageTag(locale.replace('_', '-'));
+            CurrencyUnit currency = Monetary.getCurrency(formatLocale);
+            amount = amountType.create(new BigDecimal("1234567.89"), currency);
+            format = MonetaryFormats.getAmountFormat(AmountFormatQueryBuilder.of(formatLocale).set(getCurrencyStyle())
+                    .setMonetaryAmountFactory(Monetary.getAmountFactory(amount.getClass())).build());
+            text = format.format(amount);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FormatState extends BaseState {
+
+        @Param({"CODE", "SYMBOL", "NAME", "NUMERIC_CODE"})
+        CurrencyStyle currencyStyle;
+
+        @Override
+        CurrencyStyle getCurrencyStyle() {
+            return currencyStyle;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ParseState extends BaseState {
+
+        @Override
+        CurrencyStyle getCurrencyStyle() {
+            return CurrencyStyle.CODE;
+        }
+    }
+
+    @Benchmark
+    public String format(FormatState state) {
+        return state.format.format(state.amount);
+    }
+
+    @Benchmark
+    public MonetaryAmount parse(ParseState state) {
+        return state.format.parse(state.text);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String formatConcurrent(FormatState state) {
+        return state.format.format(state.amount);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MonetaryAmount parseConcurrent(ParseState state) {
+        return state.format.parse(state.text);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmarks;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.javamoney.moneta.ToStringMonetaryAmountFormat.ToStringMonetaryAmountFormatStyle;
+import org.javamoney.moneta.function.FastMoneyProducer;
+import org.javamoney.moneta.function.MonetaryAmountProducer;
+import org.javamoney.moneta.function.MoneyProducer;
+import org.javamoney.moneta.function.RoundedMoneyProducer;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+
+/**
+ * The amount types used as benchmark parameter.
+ */
+public enum AmountType {
+
+    MONEY(new MoneyProducer(), ToStringMonetaryAmountFormatStyle.MONEY),
+    FAST_MONEY(new FastMoneyProducer(), ToStringMonetaryAmountFormatStyle.FAST_MONEY),
+    ROUNDED_MONEY(new RoundedMoneyProducer(), ToStringMonetaryAmountFormatStyle.ROUNDED_MONEY);
+
+    private final MonetaryAmountProducer producer;
+
+    private final ToStringMonetaryAmountFormatStyle style;
+
+    AmountType(MonetaryAmountProducer producer, ToStringMonetaryAmountFormatStyle style) {
+        this.producer = producer;
+        this.style = style;
+    }
+
+    /**
+     * Creates an amount of this type.
+     *
+     * @param number   the number, not null.
+     * @param currency the currency, not null.
+     * @return the new amount, never null.
+     */
+    public MonetaryAmount create(BigDecimal number, CurrencyUnit currency) {
+        switch (this) {
+            case FAST_MONEY:
+                return FastMoney.of(number, currency);
+            case ROUNDED_MONEY:
+                return RoundedMoney.of(number, currency);
+            case MONEY:
+            default:
+                return Money.of(number, currency);
+        }
+    }
+
+    /**
+     * @return the producer creating amounts of this type, never null.
+     */
+    public MonetaryAmountProducer getProducer() {
+        return producer;
+    }
+
+    /**
+     * @return the {@link org.javamoney.moneta.ToStringMonetaryAmountFormat} style creating amounts of this type.
+     */
+    public ToStringMonetaryAmountFormatStyle getStyle() {
+        return style;
+    }
+}
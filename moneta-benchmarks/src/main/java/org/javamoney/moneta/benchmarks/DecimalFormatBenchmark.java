@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmarks;
+
+import org.javamoney.moneta.format.MonetaryAmountDecimalFormatBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryAmountFormat;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Format and parse throughput of {@link org.javamoney.moneta.format.MonetaryAmountDecimalFormat}. The format is
+ * created with {@link MonetaryAmountDecimalFormatBuilder#withThreadSafety(boolean)} and shared by all benchmark
+ * threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecimalFormatBenchmark {
+
+    @Param({"en_US", "en_IN", "de_CH", "fr_FR", "bg_BG"})
+    private String locale;
+
+    @Param({"MONEY", "FAST_MONEY", "ROUNDED_MONEY"})
+    private AmountType amountType;
+
+    private MonetaryAmountFormat format;
+
+    private MonetaryAmount amount;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        Locale formatLocale = Locale.forLanguageTag(locale.replace('_', '-'));
+        CurrencyUnit currency = Monetary.getCurrency(formatLocale);
+        format = MonetaryAmountDecimalFormatBuilder.of(formatLocale).withCurrencyUnit(currency)
+                .withProducer(amountType.getProducer()).withThreadSafety(true).build();
+        amount = amountType.create(new BigDecimal("1234567.89"), currency);
+        text = format.format(amount);
+    }
+
+    @Benchmark
+    public String format() {
+        return format.format(amount);
+    }
+
+    @Benchmark
+    public MonetaryAmount parse() {
+        return format.parse(text);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String formatConcurrent() {
+        return format.format(amount);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MonetaryAmount parseConcurrent() {
+        return format.parse(text);
+    }
+}
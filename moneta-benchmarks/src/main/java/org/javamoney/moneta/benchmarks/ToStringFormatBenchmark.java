@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmarks;
+
+import org.javamoney.moneta.ToStringMonetaryAmountFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Format and parse throughput of {@link ToStringMonetaryAmountFormat}, which is also used by
+ * {@code toString()} and {@code parse(CharSequence)} of the amount types. Formatting depends on the default
+ * locale, which is set by the {@code locale} parameter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToStringFormatBenchmark {
+
+    @Param({"en_US", "en_IN", "fr_FR"})
+    private String locale;
+
+    @Param({"MONEY", "FAST_MONEY", "ROUNDED_MONEY"})
+    private AmountType amountType;
+
+    private ToStringMonetaryAmountFormat format;
+
+    private MonetaryAmount amount;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        Locale.setDefault(Locale.forLanguageTag(locale.replace('_', '-')));
+        format = ToStringMonetaryAmountFormat.of(amountType.getStyle());
+        BigDecimal number = new BigDecimal("1234567.89");
+        amount = amountType.create(number, Monetary.getCurrency("EUR"));
+        text = "EUR " + number.toPlainString();
+    }
+
+    @Benchmark
+    public String format() {
+        return format.format(amount);
+    }
+
+    @Benchmark
+    public MonetaryAmount parse() {
+        return format.parse(text);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String formatConcurrent() {
+        return format.format(amount);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MonetaryAmount parseConcurrent() {
+        return format.parse(text);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+
+/**
+ * Implemented by {@link ExchangeRateProvider} instances loading their rates in the background, so callers can
+ * access the rates without blocking while the rates are loaded. The returned futures complete once the first load
+ * has finished. If the first load does not finish in time, they complete exceptionally, see
+ * {@link ExchangeRateLoadTimeout}.
+ * <p>
+ * The rates and conversions are accessed by the default asynchronous executor of {@link CompletableFuture}, usually
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, neither on the thread finishing the load nor on the
+ * caller, as accessing them may block, e.g. while historic rates are fetched.
+ * <p>
+ * Synchronous callers not willing to wait for the load can set
+ * {@link org.javamoney.moneta.spi.AbstractRateProvider#KEY_FAIL_FAST} on their query instead.
+ */
+public interface AsyncExchangeRateProvider extends ExchangeRateProvider {
+
+    /**
+     * Access the completion of the first load of the rates.
+     *
+     * @return the future completed when the rates are available, or the load failed, completed exceptionally if the
+     * load did not finish in time, never null.
+     */
+    CompletableFuture<Void> whenLoaded();
+
+    /**
+     * Access an exchange rate once the rates are loaded, in the default asynchronous executor.
+     *
+     * @param conversionQuery the query, not null.
+     * @return the future of the rate, or of null, if the provider can not provide the rate, never null.
+     * @see #getExchangeRate(ConversionQuery)
+     */
+    default CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        return whenLoaded().thenApplyAsync(loaded -> getExchangeRate(conversionQuery));
+    }
+
+    /**
+     * Access a conversion once the rates are loaded, in the default asynchronous executor.
+     *
+     * @param conversionQuery the query, not null.
+     * @return the future of the conversion, never null.
+     * @see #getCurrencyConversion(ConversionQuery)
+     */
+    default CompletableFuture<CurrencyConversion> getCurrencyConversionAsync(ConversionQuery conversionQuery) {
+        return whenLoaded().thenApplyAsync(loaded -> getCurrencyConversion(conversionQuery));
+    }
+
+    /**
+     * Access a conversion to the given currency once the rates are loaded, in the default asynchronous executor.
+     *
+     * @param term the term currency, not null.
+     * @return the future of the conversion, never null.
+     * @see #getCurrencyConversion(CurrencyUnit)
+     */
+    default CompletableFuture<CurrencyConversion> getCurrencyConversionAsync(CurrencyUnit term) {
+        return whenLoaded().thenApplyAsync(loaded -> getCurrencyConversion(term));
+    }
+}
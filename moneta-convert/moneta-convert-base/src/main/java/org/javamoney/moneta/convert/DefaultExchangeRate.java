@@ -15,6 +15,8 @@
  */
 package org.javamoney.moneta.convert;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -26,6 +28,8 @@ import javax.money.NumberValue;
 import javax.money.convert.ConversionContext;
 import javax.money.convert.ExchangeRate;
 
+import org.javamoney.moneta.spi.FixedPointExchangeRate;
+
 /**
  * This class models an exchange rate, which defines the factor the numeric value of a base amount in some currency
  * 'A' must be multiplied
@@ -87,7 +91,7 @@ import javax.money.convert.ExchangeRate;
  * href="https://en.wikipedia.org/wiki/Exchange_rate#Quotations">Wikipedia:
  * Exchange Rate (Quotations)</a>
  */
-class DefaultExchangeRate implements ExchangeRate, Serializable, Comparable<ExchangeRate> {
+class DefaultExchangeRate implements FixedPointExchangeRate, Serializable, Comparable<ExchangeRate> {
 // TODO this should probably go to "convert" in future releases. Analyze feasability of refactoring.
 
     /**
@@ -114,6 +118,14 @@ class DefaultExchangeRate implements ExchangeRate, Serializable, Comparable<Exch
      * The full chain, at least one instance long.
      */
     private final List<ExchangeRate> chain = new ArrayList<>();
+    /**
+     * The unscaled value of the fixed-point factor, evaluated from {@link #factor}.
+     */
+    private transient long unscaledFactor;
+    /**
+     * The scale of the fixed-point factor, or -1.
+     */
+    private transient int factorScale;
 
 
     /**
@@ -133,6 +145,19 @@ class DefaultExchangeRate implements ExchangeRate, Serializable, Comparable<Exch
         this.conversionContext = builder.conversionContext;
 
         setExchangeRateChain(builder.rateChain);
+        initFixedPointFactor();
+    }
+
+    private void initFixedPointFactor() {
+        this.factorScale = FixedPointExchangeRate.getFactorScale(this.factor);
+        if (this.factorScale >= 0) {
+            this.unscaledFactor = FixedPointExchangeRate.getUnscaledFactor(this.factor);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initFixedPointFactor();
     }
 
     /**
@@ -195,6 +220,16 @@ class DefaultExchangeRate implements ExchangeRate, Serializable, Comparable<Exch
         return this.factor;
     }
 
+    @Override
+    public final long getUnscaledFactor() {
+        return this.unscaledFactor;
+    }
+
+    @Override
+    public final int getFactorScale() {
+        return this.factorScale;
+    }
+
     /**
      * Access the chain of exchange rates.
      *
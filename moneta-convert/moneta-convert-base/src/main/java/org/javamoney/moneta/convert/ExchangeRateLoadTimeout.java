@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.money.MonetaryException;
+
+/**
+ * Limits the time callers of {@link AsyncExchangeRateProvider#whenLoaded()} wait for the first load of the rates,
+ * e.g. because the data could never be fetched. The load itself is not affected, so callers asking after it has
+ * finished late still get the rates. All providers share one daemon thread, which only runs the timeouts.
+ */
+public final class ExchangeRateLoadTimeout {
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "moneta-rate-load-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExchangeRateLoadTimeout() {
+    }
+
+    /**
+     * Creates a future completed like the given future, or with a {@link MonetaryException}, unless the given future
+     * is completed within the given time. The given future is left unchanged.
+     *
+     * @param future  the future of the load, not null.
+     * @param timeout the time to wait for the load.
+     * @param unit    the unit of the time, not null.
+     * @param message the message of the exception, evaluated on timeout, not null.
+     * @param <T>     the result type of the future.
+     * @return the new future, never null.
+     */
+    public static <T> CompletableFuture<T> within(CompletableFuture<T> future, long timeout, TimeUnit unit,
+                                                  Supplier<String> message) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> {
+            if (Objects.isNull(e)) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!result.isDone()) {
+            ScheduledFuture<?> task = TIMER.schedule(
+                    () -> result.completeExceptionally(new MonetaryException(message.get())), timeout, unit);
+            result.whenComplete((value, e) -> task.cancel(false));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Immutable series of the exchange rates of one currency pair over time, as sorted days with one factor each. The
+ * factors are kept as doubles, so series of many days can be processed without creating an {@link
+ * javax.money.convert.ExchangeRate} per day.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @see ExchangeRateSeriesProvider
+ */
+public final class ExchangeRateSeries {
+
+    private final CurrencyUnit base;
+
+    private final CurrencyUnit term;
+
+    /**
+     * The days, as sorted epoch days.
+     */
+    private final int[] days;
+
+    /**
+     * The factors, aligned with {@link #days}.
+     */
+    private final double[] factors;
+
+    private ExchangeRateSeries(CurrencyUnit base, CurrencyUnit term, int[] days, double[] factors) {
+        this.base = base;
+        this.term = term;
+        this.days = days;
+        this.factors = factors;
+    }
+
+    /**
+     * Creates a new series.
+     *
+     * @param base      the base currency, not null.
+     * @param term      the term currency, not null.
+     * @param epochDays the days, as epoch days, sorted ascending without duplicates, not null.
+     * @param factors   the factors, one per day, not null.
+     * @return the new series, never null.
+     * @throws IllegalArgumentException if the days are not sorted, or do not match the factors.
+     */
+    public static ExchangeRateSeries of(CurrencyUnit base, CurrencyUnit term, int[] epochDays, double[] factors) {
+        if (epochDays.length != factors.length) {
+            throw new IllegalArgumentException("Days and factors differ in length: " + epochDays.length + " != "
+                    + factors.length);
+        }
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i - 1] >= epochDays[i]) {
+                throw new IllegalArgumentException("Days not sorted at index: " + i);
+            }
+        }
+        return new ExchangeRateSeries(Objects.requireNonNull(base), Objects.requireNonNull(term),
+                epochDays.clone(), factors.clone());
+    }
+
+    /**
+     * Creates a series of the factor 1 on the given days, e.g. for converting a currency to itself.
+     *
+     * @param currency  the base and term currency, not null.
+     * @param epochDays the days, as epoch days, sorted ascending without duplicates, not null.
+     * @return the new series, never null.
+     */
+    public static ExchangeRateSeries identity(CurrencyUnit currency, int[] epochDays) {
+        double[] factors = new double[epochDays.length];
+        Arrays.fill(factors, 1.0);
+        return of(currency, currency, epochDays, factors);
+    }
+
+    /**
+     * Creates a series from arrays owned by the caller, without copying them.
+     */
+    static ExchangeRateSeries wrap(CurrencyUnit base, CurrencyUnit term, int[] days, double[] factors) {
+        return new ExchangeRateSeries(base, term, days, factors);
+    }
+
+    /**
+     * @return the base currency, never null.
+     */
+    public CurrencyUnit getBaseCurrency() {
+        return base;
+    }
+
+    /**
+     * @return the term currency, never null.
+     */
+    public CurrencyUnit getCurrency() {
+        return term;
+    }
+
+    /**
+     * @return the number of days with a rate.
+     */
+    public int size() {
+        return days.length;
+    }
+
+    /**
+     * @return true, if the series contains no rates.
+     */
+    public boolean isEmpty() {
+        return days.length == 0;
+    }
+
+    /**
+     * Access a day.
+     *
+     * @param index the index, 0 to {@link #size()} - 1.
+     * @return the day, never null.
+     */
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(days[index]);
+    }
+
+    /**
+     * Access the factor of a day.
+     *
+     * @param index the index, 0 to {@link #size()} - 1.
+     * @return the factor.
+     */
+    public double getFactor(int index) {
+        return factors[index];
+    }
+
+    /**
+     * @return the days, sorted ascending, never null.
+     */
+    public List<LocalDate> getDates() {
+        List<LocalDate> dates = new ArrayList<>(days.length);
+        for (int day : days) {
+            dates.add(LocalDate.ofEpochDay(day));
+        }
+        return dates;
+    }
+
+    /**
+     * @return a copy of the days, as sorted epoch days, never null.
+     */
+    public int[] getEpochDays() {
+        return days.clone();
+    }
+
+    /**
+     * @return a copy of the factors, aligned with {@link #getEpochDays()}, never null.
+     */
+    public double[] getFactors() {
+        return factors.clone();
+    }
+
+    /**
+     * Creates the series of the reverse rates.
+     *
+     * @return the series from the term to the base currency, never null.
+     */
+    public ExchangeRateSeries inverse() {
+        double[] inverse = new double[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            inverse[i] = 1.0 / factors[i];
+        }
+        return new ExchangeRateSeries(term, base, days, inverse);
+    }
+
+    /**
+     * Chains this series with a series from the term currency of this series, on the days both series have a rate.
+     *
+     * @param next the series from the term currency of this series, not null.
+     * @return the series from the base currency of this series to the term currency of the given series, never null.
+     * @throws IllegalArgumentException if the given series is not from the term currency of this series.
+     */
+    public ExchangeRateSeries multiply(ExchangeRateSeries next) {
+        if (!term.equals(next.base)) {
+            throw new IllegalArgumentException("Series not from " + term + ": " + next);
+        }
+        int[] chainedDays = new int[Math.min(days.length, next.days.length)];
+        double[] chainedFactors = new double[chainedDays.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < days.length && j < next.days.length) {
+            if (days[i] < next.days[j]) {
+                i++;
+            } else if (days[i] > next.days[j]) {
+                j++;
+            } else {
+                chainedDays[size] = days[i];
+                chainedFactors[size++] = factors[i++] * next.factors[j++];
+            }
+        }
+        return new ExchangeRateSeries(base, next.term, Arrays.copyOf(chainedDays, size),
+                Arrays.copyOf(chainedFactors, size));
+    }
+
+    @Override
+    public String toString() {
+        return "ExchangeRateSeries [base=" + base + ", term=" + term + ", days=" + days.length + ']';
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.time.LocalDate;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+/**
+ * Implemented by {@link javax.money.convert.ExchangeRateProvider} instances, that can access the rates of a currency
+ * pair over a date range at once, instead of querying a rate per day.
+ */
+public interface ExchangeRateSeriesProvider {
+
+    /**
+     * Access the rates of the given currency pair on the days of the given range with rates. Days without rates,
+     * e.g. weekends, are not contained. Cross rates are calculated with double precision.
+     *
+     * @param base the base currency, not null.
+     * @param term the term currency, not null.
+     * @param from the first day, inclusive, not null.
+     * @param to   the last day, inclusive, not null.
+     * @return the rates, empty, if there are no rates of the pair in the range, never null.
+     * @throws javax.money.MonetaryException if the rates are not available, e.g. because they can not be loaded.
+     */
+    ExchangeRateSeries getExchangeRateSeries(CurrencyUnit base, CurrencyUnit term, LocalDate from, LocalDate to);
+
+    /**
+     * Access the rates of the given currency pair on the days of the given range with rates.
+     *
+     * @param baseCode the base currency code, not null.
+     * @param termCode the term currency code, not null.
+     * @param from     the first day, inclusive, not null.
+     * @param to       the last day, inclusive, not null.
+     * @return the rates, empty, if there are no rates of the pair in the range, never null.
+     * @see #getExchangeRateSeries(CurrencyUnit, CurrencyUnit, LocalDate, LocalDate)
+     */
+    default ExchangeRateSeries getExchangeRateSeries(String baseCode, String termCode, LocalDate from,
+                                                     LocalDate to) {
+        return getExchangeRateSeries(Monetary.getCurrency(baseCode), Monetary.getCurrency(termCode), from, to);
+    }
+}
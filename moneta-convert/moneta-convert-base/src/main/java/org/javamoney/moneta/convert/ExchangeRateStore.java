@@ -0,0 +1,1102 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.money.CurrencyUnit;
+import javax.money.NumberValue;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.spi.DefaultNumberValue;
+
+/**
+ * Immutable, columnar store of the exchange rates between a pivot currency, such as EUR for the ECB or SDR for the
+ * IMF, and other currencies over time. The days are kept in one sorted array of epoch days and the factors of each
+ * currency in a column aligned with it, as unscaled longs with a common scale, as doubles, or as {@link BigDecimal}
+ * where the factors of a currency can not be represented otherwise. Factors keep the scale they were added with.
+ * {@link ExchangeRate} instances are only created when accessed.
+ * <p>
+ * Instances of this class are thread-safe. Rates are added by creating a new store with {@link #toBuilder()} or
+ * {@link #merge(ExchangeRateStore)}.
+ */
+public final class ExchangeRateStore {
+
+    private final ProviderContext context;
+
+    private final CurrencyUnit pivot;
+
+    private final boolean fromPivot;
+
+    /**
+     * The days with rates, as sorted epoch days.
+     */
+    private final int[] days;
+
+    /**
+     * The factors by currency, each aligned with {@link #days}.
+     */
+    private final Map<CurrencyUnit, Column> columns;
+
+    private ExchangeRateStore(ProviderContext context, CurrencyUnit pivot, boolean fromPivot, int[] days,
+                              Map<CurrencyUnit, Column> columns) {
+        this.context = context;
+        this.pivot = pivot;
+        this.fromPivot = fromPivot;
+        this.days = days;
+        this.columns = columns;
+    }
+
+    /**
+     * @return the provider context of the rates, never null.
+     */
+    public ProviderContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return the currency all rates are based on or targeted to, never null.
+     */
+    public CurrencyUnit getPivotCurrency() {
+        return pivot;
+    }
+
+    /**
+     * @return true, if the rates convert from the pivot currency, false, if they convert to the pivot currency.
+     */
+    public boolean isFromPivot() {
+        return fromPivot;
+    }
+
+    /**
+     * @return true, if the store contains no rates.
+     */
+    public boolean isEmpty() {
+        return days.length == 0;
+    }
+
+    /**
+     * @return the number of days with rates.
+     */
+    public int getDayCount() {
+        return days.length;
+    }
+
+    /**
+     * @return the currencies with rates, excluding the pivot currency, never null.
+     */
+    public Set<CurrencyUnit> getCurrencies() {
+        return columns.keySet();
+    }
+
+    /**
+     * @return the most recent day with rates, or null.
+     */
+    public LocalDate getLatestDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[days.length - 1]);
+    }
+
+    /**
+     * @return the days with rates, sorted ascending, never null.
+     */
+    public List<LocalDate> getDates() {
+        List<LocalDate> dates = new ArrayList<>(days.length);
+        for (int day : days) {
+            dates.add(LocalDate.ofEpochDay(day));
+        }
+        return dates;
+    }
+
+    /**
+     * Access the days with rates within the given range. The days are found in the sorted day index, without
+     * creating a {@link LocalDate} for each day of the store.
+     *
+     * @param from the first day, inclusive, not null.
+     * @param to   the last day, inclusive, not null.
+     * @return the days, as epoch days, sorted ascending, never null.
+     */
+    public int[] getEpochDays(LocalDate from, LocalDate to) {
+        int first = floorIndexOf(from.minusDays(1)) + 1;
+        int last = floorIndexOf(to);
+        return first > last ? new int[0] : Arrays.copyOfRange(days, first, last + 1);
+    }
+
+    /**
+     * Checks if rates of the given day are available.
+     *
+     * @param date the day, not null.
+     * @return true, if rates are available for at least one currency.
+     */
+    public boolean contains(LocalDate date) {
+        return indexOf(date) >= 0;
+    }
+
+    /**
+     * Access the given day, or the nearest preceding day with rates.
+     *
+     * @param date the day, not null.
+     * @return the day with rates, or null.
+     */
+    public LocalDate getFloorDate(LocalDate date) {
+        int index = floorIndexOf(date);
+        return index < 0 ? null : LocalDate.ofEpochDay(days[index]);
+    }
+
+    /**
+     * Access the rate of the given currency and day.
+     *
+     * @param currency the currency, not null.
+     * @param date     the day, not null.
+     * @return the rate, or null.
+     */
+    public ExchangeRate getRate(CurrencyUnit currency, LocalDate date) {
+        Column column = columns.get(currency);
+        int index = indexOf(date);
+        if (Objects.isNull(column) || index < 0 || !column.has(index)) {
+            return null;
+        }
+        return createRate(currency, column, index, createContext(index));
+    }
+
+    /**
+     * Access the rate of the given currency and day, or of the nearest preceding day with a rate of the currency.
+     *
+     * @param currency the currency, not null.
+     * @param date     the day, not null.
+     * @return the rate, or null, if there is no rate on or before the day.
+     */
+    public ExchangeRate getFloorRate(CurrencyUnit currency, LocalDate date) {
+        Column column = columns.get(currency);
+        if (Objects.isNull(column)) {
+            return null;
+        }
+        return getFloorRate(currency, column, floorIndexOf(date));
+    }
+
+    /**
+     * Access the most recent rate of the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return the rate, or null, if there are no rates of the currency.
+     */
+    public ExchangeRate getLatestRate(CurrencyUnit currency) {
+        Column column = columns.get(currency);
+        if (Objects.isNull(column)) {
+            return null;
+        }
+        return getFloorRate(currency, column, days.length - 1);
+    }
+
+    /**
+     * Access all rates of the given day, sharing one {@link ConversionContext}.
+     *
+     * @param date the day, not null.
+     * @return the rates, empty if there are no rates of the day, never null.
+     */
+    public List<ExchangeRate> getRates(LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        ConversionContext dayContext = createContext(index);
+        List<ExchangeRate> rates = new ArrayList<>(columns.size());
+        for (Map.Entry<CurrencyUnit, Column> entry : columns.entrySet()) {
+            if (entry.getValue().has(index)) {
+                rates.add(createRate(entry.getKey(), entry.getValue(), index, dayContext));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Access the factors of the given currency on the days of the given range, in the direction of the store, i.e.
+     * from the pivot currency to the currency, if {@link #isFromPivot()}, else from the currency to the pivot
+     * currency. The days are found in the sorted day index, no {@link ExchangeRate} instances are created.
+     *
+     * @param currency the currency, not null.
+     * @param from     the first day, inclusive, not null.
+     * @param to       the last day, inclusive, not null.
+     * @return the series, empty, if there are no rates of the currency in the range, never null.
+     */
+    public ExchangeRateSeries getSeries(CurrencyUnit currency, LocalDate from, LocalDate to) {
+        CurrencyUnit base = fromPivot ? pivot : currency;
+        CurrencyUnit term = fromPivot ? currency : pivot;
+        Column column = columns.get(currency);
+        int first = floorIndexOf(from.minusDays(1)) + 1;
+        int last = floorIndexOf(to);
+        if (Objects.isNull(column) || first > last) {
+            return ExchangeRateSeries.wrap(base, term, new int[0], new double[0]);
+        }
+        int[] seriesDays = new int[last - first + 1];
+        double[] factors = new double[seriesDays.length];
+        int size = 0;
+        for (int i = first; i <= last; i++) {
+            if (column.has(i)) {
+                seriesDays[size] = days[i];
+                factors[size++] = column.doubleValue(i);
+            }
+        }
+        return ExchangeRateSeries.wrap(base, term, Arrays.copyOf(seriesDays, size), Arrays.copyOf(factors, size));
+    }
+
+    /**
+     * Creates a store sharing the rates of this store, whose {@link ExchangeRate} instances are created with the
+     * given provider context. This allows several providers to serve the same rates without copying them.
+     *
+     * @param context the provider context, not null.
+     * @return the new store, never null.
+     */
+    public ExchangeRateStore withContext(ProviderContext context) {
+        return new ExchangeRateStore(Objects.requireNonNull(context), pivot, fromPivot, days, columns);
+    }
+
+    /**
+     * Creates a builder containing the rates of this store.
+     *
+     * @return the new builder, never null.
+     */
+    public Builder toBuilder() {
+        return new Builder(context, pivot, fromPivot).addAll(this);
+    }
+
+    /**
+     * Creates a store containing the rates of this and the given store. Rates of the given store replace rates of
+     * the same day and currency. If the given store only contains days after the latest day of this store, e.g. the
+     * rates of a new day, the columns are extended by copying their arrays, otherwise all rates are rebuilt as with
+     * {@link #toBuilder()}.
+     *
+     * @param store the store, with the same pivot currency and direction, not null.
+     * @return the new store, never null.
+     */
+    public ExchangeRateStore merge(ExchangeRateStore store) {
+        if (!pivot.equals(store.pivot) || fromPivot != store.fromPivot) {
+            throw new IllegalArgumentException("Store with different pivot currency or direction: " + store);
+        }
+        if (store.isEmpty()) {
+            return this;
+        }
+        if (!isEmpty() && store.days[0] <= days[days.length - 1]) {
+            return toBuilder().addAll(store).build();
+        }
+        int[] appendedDays = Arrays.copyOf(days, days.length + store.days.length);
+        System.arraycopy(store.days, 0, appendedDays, days.length, store.days.length);
+        Map<CurrencyUnit, Column> appended = new LinkedHashMap<>((columns.size() + store.columns.size()) * 2);
+        for (Map.Entry<CurrencyUnit, Column> entry : columns.entrySet()) {
+            appended.put(entry.getKey(), Column.append(entry.getValue(), days.length,
+                    store.columns.get(entry.getKey()), appendedDays));
+        }
+        for (Map.Entry<CurrencyUnit, Column> entry : store.columns.entrySet()) {
+            if (!appended.containsKey(entry.getKey())) {
+                appended.put(entry.getKey(), Column.append(null, days.length, entry.getValue(), appendedDays));
+            }
+        }
+        return new ExchangeRateStore(context, pivot, fromPivot, appendedDays,
+                Collections.unmodifiableMap(appended));
+    }
+
+    @Override
+    public String toString() {
+        return "ExchangeRateStore [pivot=" + pivot + ", fromPivot=" + fromPivot + ", days=" + days.length
+                + ", currencies=" + columns.keySet() + ", context=" + context + ']';
+    }
+
+    /**
+     * Writes the rates in the binary form read by {@link #readFrom(ByteBuffer, ProviderContext, Function)}.
+     *
+     * @param out the output, not null.
+     * @throws IOException if the rates can not be written.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        writeString(out, pivot.getCurrencyCode());
+        out.writeBoolean(fromPivot);
+        out.writeInt(days.length);
+        for (int day : days) {
+            out.writeInt(day);
+        }
+        out.writeInt(columns.size());
+        for (Map.Entry<CurrencyUnit, Column> entry : columns.entrySet()) {
+            writeString(out, entry.getKey().getCurrencyCode());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Reads rates written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param buffer     the buffer, positioned at the rates, not null.
+     * @param context    the provider context of the rates, not null.
+     * @param currencies the function resolving currency codes, not null.
+     * @return the rates read, never null.
+     * @throws IOException if the buffer does not contain valid rates.
+     */
+    static ExchangeRateStore readFrom(ByteBuffer buffer, ProviderContext context,
+                                      Function<String, CurrencyUnit> currencies) throws IOException {
+        CurrencyUnit pivot = readCurrency(buffer, currencies);
+        boolean fromPivot = buffer.get() != 0;
+        int[] days = new int[readLength(buffer, Integer.BYTES)];
+        buffer.asIntBuffer().get(days);
+        buffer.position(buffer.position() + days.length * Integer.BYTES);
+        for (int i = 1; i < days.length; i++) {
+            if (days[i - 1] >= days[i]) {
+                throw new IOException("Days not sorted.");
+            }
+        }
+        int count = readLength(buffer, 1);
+        Map<CurrencyUnit, Column> columns = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            CurrencyUnit currency = readCurrency(buffer, currencies);
+            columns.put(currency, Column.readFrom(buffer, days.length));
+        }
+        return new ExchangeRateStore(Objects.requireNonNull(context), pivot, fromPivot, days,
+                Collections.unmodifiableMap(columns));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static CurrencyUnit readCurrency(ByteBuffer buffer, Function<String, CurrencyUnit> currencies)
+            throws IOException {
+        byte[] bytes = new byte[readLength(buffer, 1)];
+        buffer.get(bytes);
+        String code = new String(bytes, StandardCharsets.UTF_8);
+        CurrencyUnit currency = currencies.apply(code);
+        if (Objects.isNull(currency)) {
+            throw new IOException("Unknown currency: " + code);
+        }
+        return currency;
+    }
+
+    /**
+     * Reads a length, checking the buffer contains as many elements of the given size.
+     */
+    private static int readLength(ByteBuffer buffer, int elementSize) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || (long) length * elementSize > buffer.remaining()) {
+            throw new IOException("Invalid length: " + length);
+        }
+        return length;
+    }
+
+    private ExchangeRate getFloorRate(CurrencyUnit currency, Column column, int index) {
+        for (int i = index; i >= 0; i--) {
+            if (column.has(i)) {
+                return createRate(currency, column, i, createContext(i));
+            }
+        }
+        return null;
+    }
+
+    private ConversionContext createContext(int index) {
+        LocalDate date = LocalDate.ofEpochDay(days[index]);
+        RateType rateType = date.equals(LocalDate.now()) ? RateType.DEFERRED : RateType.HISTORIC;
+        return ConversionContextBuilder.create(context, rateType).set(date).build();
+    }
+
+    private ExchangeRate createRate(CurrencyUnit currency, Column column, int index, ConversionContext dayContext) {
+        ExchangeRateBuilder builder = new ExchangeRateBuilder(dayContext).setFactor(column.getFactor(index));
+        if (fromPivot) {
+            return builder.setBase(pivot).setTerm(currency).build();
+        }
+        return builder.setBase(currency).setTerm(pivot).build();
+    }
+
+    private int indexOf(LocalDate date) {
+        return Arrays.binarySearch(days, (int) date.toEpochDay());
+    }
+
+    private int floorIndexOf(LocalDate date) {
+        int index = indexOf(date);
+        return index < 0 ? -index - 2 : index;
+    }
+
+    /**
+     * The factors of one currency, aligned with the days of the store.
+     */
+    private abstract static class Column {
+
+        abstract boolean has(int index);
+
+        abstract NumberValue getFactor(int index);
+
+        abstract double doubleValue(int index);
+
+        abstract void addTo(ColumnBuilder builder, int day, int index);
+
+        abstract void writeTo(DataOutputStream out) throws IOException;
+
+        /**
+         * @return a column of the given length with the values of this column from the given index on.
+         */
+        abstract Column copyTo(int index, int length);
+
+        /**
+         * @return this column followed by the given one, or null, if the columns can not be joined by copying.
+         */
+        abstract Column append(Column column);
+
+        /**
+         * Joins the columns of a currency of two stores, the second store containing the days after the first one.
+         *
+         * @param first  the column of the first store, or null.
+         * @param length the number of days of the first store.
+         * @param second the column of the second store, or null.
+         * @param days   the days of both stores.
+         * @return the joined column, never null.
+         */
+        static Column append(Column first, int length, Column second, int[] days) {
+            if (Objects.isNull(second)) {
+                return first.copyTo(0, days.length);
+            }
+            if (Objects.isNull(first)) {
+                return second.copyTo(length, days.length);
+            }
+            Column appended = first.append(second);
+            if (Objects.nonNull(appended)) {
+                return appended;
+            }
+            ColumnBuilder builder = new ColumnBuilder();
+            for (int i = 0; i < length; i++) {
+                if (first.has(i)) {
+                    first.addTo(builder, days[i], i);
+                }
+            }
+            for (int i = length; i < days.length; i++) {
+                if (second.has(i - length)) {
+                    second.addTo(builder, days[i], i - length);
+                }
+            }
+            return builder.build(days);
+        }
+
+        static Column readFrom(ByteBuffer buffer, int length) throws IOException {
+            byte kind = buffer.get();
+            switch (kind) {
+                case ColumnBuilder.LONG: {
+                    int scale = buffer.getInt();
+                    long[] values = new long[readLength(buffer, Long.BYTES)];
+                    if (values.length != length) {
+                        throw new IOException("Invalid column length: " + values.length);
+                    }
+                    buffer.asLongBuffer().get(values);
+                    buffer.position(buffer.position() + length * Long.BYTES);
+                    byte[] rescaled = null;
+                    if (buffer.get() != 0) {
+                        if (length > buffer.remaining()) {
+                            throw new IOException("Invalid column length: " + length);
+                        }
+                        rescaled = new byte[length];
+                        buffer.get(rescaled);
+                    }
+                    return new LongColumn(values, scale, rescaled);
+                }
+                case ColumnBuilder.DOUBLE: {
+                    double[] values = new double[readLength(buffer, Double.BYTES)];
+                    if (values.length != length) {
+                        throw new IOException("Invalid column length: " + values.length);
+                    }
+                    buffer.asDoubleBuffer().get(values);
+                    buffer.position(buffer.position() + length * Double.BYTES);
+                    return new DoubleColumn(values);
+                }
+                case ColumnBuilder.DECIMAL: {
+                    BigDecimal[] values = new BigDecimal[length];
+                    for (int i = 0; i < length; i++) {
+                        int scale = buffer.getInt();
+                        int size = buffer.getInt();
+                        if (size > buffer.remaining()) {
+                            throw new IOException("Invalid decimal length: " + size);
+                        }
+                        if (size > 0) {
+                            byte[] unscaled = new byte[size];
+                            buffer.get(unscaled);
+                            values[i] = new BigDecimal(new BigInteger(unscaled), scale);
+                        }
+                    }
+                    return new DecimalColumn(values);
+                }
+                default:
+                    throw new IOException("Invalid column kind: " + kind);
+            }
+        }
+    }
+
+    /**
+     * Factors as unscaled values of a common scale, with the number of digits each value was rescaled by, so the
+     * factors keep the scale they were added with.
+     */
+    private static final class LongColumn extends Column {
+
+        private static final long MISSING = Long.MIN_VALUE;
+
+        /**
+         * The largest value converted to double exactly, so dividing it by an exact power of ten rounds correctly.
+         */
+        private static final long MAX_EXACT = 1L << 53;
+
+        private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+        private static final long[] LONG_POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L,
+                10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+                100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L,
+                1000000000000000000L};
+
+        private final long[] values;
+
+        private final int scale;
+
+        /**
+         * The digits each value was rescaled by, or null, if all values were added with the common scale.
+         */
+        private final byte[] rescaled;
+
+        LongColumn(long[] values, int scale, byte[] rescaled) {
+            this.values = values;
+            this.scale = scale;
+            this.rescaled = rescaled;
+        }
+
+        @Override
+        boolean has(int index) {
+            return values[index] != MISSING;
+        }
+
+        @Override
+        NumberValue getFactor(int index) {
+            int digits = getRescaledDigits(index);
+            return new DefaultNumberValue(BigDecimal.valueOf(values[index] / LONG_POWERS_OF_TEN[digits],
+                    scale - digits));
+        }
+
+        private int getRescaledDigits(int index) {
+            return Objects.isNull(rescaled) ? 0 : rescaled[index];
+        }
+
+        @Override
+        double doubleValue(int index) {
+            long value = values[index];
+            if (scale >= 0 && scale < POWERS_OF_TEN.length && Math.abs(value) <= MAX_EXACT) {
+                return value / POWERS_OF_TEN[scale];
+            }
+            return BigDecimal.valueOf(value, scale).doubleValue();
+        }
+
+        @Override
+        void addTo(ColumnBuilder builder, int day, int index) {
+            int digits = getRescaledDigits(index);
+            builder.add(day, values[index] / LONG_POWERS_OF_TEN[digits], scale - digits);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(ColumnBuilder.LONG);
+            out.writeInt(scale);
+            out.writeInt(values.length);
+            for (long value : values) {
+                out.writeLong(value);
+            }
+            out.writeBoolean(Objects.nonNull(rescaled));
+            if (Objects.nonNull(rescaled)) {
+                out.write(rescaled);
+            }
+        }
+
+        @Override
+        Column copyTo(int index, int length) {
+            long[] copy = new long[length];
+            Arrays.fill(copy, MISSING);
+            System.arraycopy(values, 0, copy, index, values.length);
+            byte[] rescaledCopy = null;
+            if (Objects.nonNull(rescaled)) {
+                rescaledCopy = new byte[length];
+                System.arraycopy(rescaled, 0, rescaledCopy, index, rescaled.length);
+            }
+            return new LongColumn(copy, scale, rescaledCopy);
+        }
+
+        @Override
+        Column append(Column column) {
+            if (!(column instanceof LongColumn)) {
+                return null;
+            }
+            LongColumn other = (LongColumn) column;
+            int appendedScale = Math.max(scale, other.scale);
+            long[] appended = new long[values.length + other.values.length];
+            byte[] appendedRescaled = null;
+            if (scale != other.scale || Objects.nonNull(rescaled) || Objects.nonNull(other.rescaled)) {
+                appendedRescaled = new byte[appended.length];
+            }
+            if (!rescaleInto(appended, appendedRescaled, 0, appendedScale)
+                    || !other.rescaleInto(appended, appendedRescaled, values.length, appendedScale)) {
+                return null;
+            }
+            return new LongColumn(appended, appendedScale, appendedRescaled);
+        }
+
+        /**
+         * Copies the values, rescaled to the given scale, into the given arrays from the given index on.
+         *
+         * @return false, if any of the values does not fit.
+         */
+        private boolean rescaleInto(long[] into, byte[] rescaledInto, int index, int toScale) {
+            int digits = toScale - scale;
+            if (digits == 0) {
+                System.arraycopy(values, 0, into, index, values.length);
+                if (Objects.nonNull(rescaled)) {
+                    System.arraycopy(rescaled, 0, rescaledInto, index, rescaled.length);
+                }
+                return true;
+            }
+            for (int i = 0; i < values.length; i++) {
+                long value = values[i];
+                int total = getRescaledDigits(i) + digits;
+                if (value == MISSING) {
+                    into[index + i] = MISSING;
+                } else if (total > ColumnBuilder.MAX_RESCALE
+                        || Math.abs(value) > Long.MAX_VALUE / LONG_POWERS_OF_TEN[digits]) {
+                    return false;
+                } else {
+                    into[index + i] = value * LONG_POWERS_OF_TEN[digits];
+                    rescaledInto[index + i] = (byte) total;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        private final double[] values;
+
+        DoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean has(int index) {
+            return !Double.isNaN(values[index]);
+        }
+
+        @Override
+        NumberValue getFactor(int index) {
+            return new DefaultNumberValue(values[index]);
+        }
+
+        @Override
+        double doubleValue(int index) {
+            return values[index];
+        }
+
+        @Override
+        void addTo(ColumnBuilder builder, int day, int index) {
+            builder.add(day, values[index]);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(ColumnBuilder.DOUBLE);
+            out.writeInt(values.length);
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+
+        @Override
+        Column copyTo(int index, int length) {
+            double[] copy = new double[length];
+            Arrays.fill(copy, Double.NaN);
+            System.arraycopy(values, 0, copy, index, values.length);
+            return new DoubleColumn(copy);
+        }
+
+        @Override
+        Column append(Column column) {
+            if (!(column instanceof DoubleColumn)) {
+                return null;
+            }
+            double[] other = ((DoubleColumn) column).values;
+            double[] appended = Arrays.copyOf(values, values.length + other.length);
+            System.arraycopy(other, 0, appended, values.length, other.length);
+            return new DoubleColumn(appended);
+        }
+    }
+
+    private static final class DecimalColumn extends Column {
+
+        private final BigDecimal[] values;
+
+        DecimalColumn(BigDecimal[] values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean has(int index) {
+            return Objects.nonNull(values[index]);
+        }
+
+        @Override
+        NumberValue getFactor(int index) {
+            return new DefaultNumberValue(values[index]);
+        }
+
+        @Override
+        double doubleValue(int index) {
+            return values[index].doubleValue();
+        }
+
+        @Override
+        void addTo(ColumnBuilder builder, int day, int index) {
+            builder.add(day, values[index]);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(ColumnBuilder.DECIMAL);
+            for (BigDecimal value : values) {
+                if (Objects.isNull(value)) {
+                    out.writeInt(0);
+                    out.writeInt(0);
+                } else {
+                    byte[] unscaled = value.unscaledValue().toByteArray();
+                    out.writeInt(value.scale());
+                    out.writeInt(unscaled.length);
+                    out.write(unscaled);
+                }
+            }
+        }
+
+        @Override
+        Column copyTo(int index, int length) {
+            BigDecimal[] copy = new BigDecimal[length];
+            System.arraycopy(values, 0, copy, index, values.length);
+            return new DecimalColumn(copy);
+        }
+
+        @Override
+        Column append(Column column) {
+            if (!(column instanceof DecimalColumn)) {
+                return null;
+            }
+            BigDecimal[] other = ((DecimalColumn) column).values;
+            BigDecimal[] appended = Arrays.copyOf(values, values.length + other.length);
+            System.arraycopy(other, 0, appended, values.length, other.length);
+            return new DecimalColumn(appended);
+        }
+    }
+
+    /**
+     * Builder for creating new instances of {@link ExchangeRateStore}. Rates added later replace rates added before
+     * for the same currency and day. Note that instances of this class are not thread-safe.
+     */
+    public static final class Builder {
+
+        private final ProviderContext context;
+
+        private final CurrencyUnit pivot;
+
+        private final boolean fromPivot;
+
+        private final Map<CurrencyUnit, ColumnBuilder> columns = new LinkedHashMap<>();
+
+        /**
+         * Creates a new builder.
+         *
+         * @param context   the provider context of the rates, not null.
+         * @param pivot     the currency all rates are based on or targeted to, not null.
+         * @param fromPivot true, if the rates convert from the pivot currency, false, if they convert to it.
+         */
+        public Builder(ProviderContext context, CurrencyUnit pivot, boolean fromPivot) {
+            this.context = Objects.requireNonNull(context);
+            this.pivot = Objects.requireNonNull(pivot);
+            this.fromPivot = fromPivot;
+        }
+
+        /**
+         * Adds a factor given as unscaled value and scale.
+         *
+         * @param date           the day, not null.
+         * @param currency       the currency, not null.
+         * @param unscaledFactor the unscaled factor.
+         * @param scale          the scale of the factor.
+         * @return this builder.
+         */
+        public Builder add(LocalDate date, CurrencyUnit currency, long unscaledFactor, int scale) {
+            getColumn(currency).add((int) date.toEpochDay(), unscaledFactor, scale);
+            return this;
+        }
+
+        /**
+         * Adds a factor.
+         *
+         * @param date     the day, not null.
+         * @param currency the currency, not null.
+         * @param factor   the factor, not NaN.
+         * @return this builder.
+         */
+        public Builder add(LocalDate date, CurrencyUnit currency, double factor) {
+            if (Double.isNaN(factor)) {
+                throw new IllegalArgumentException("Factor must not be NaN.");
+            }
+            getColumn(currency).add((int) date.toEpochDay(), factor);
+            return this;
+        }
+
+        /**
+         * Adds a factor.
+         *
+         * @param date     the day, not null.
+         * @param currency the currency, not null.
+         * @param factor   the factor, not null.
+         * @return this builder.
+         */
+        public Builder add(LocalDate date, CurrencyUnit currency, BigDecimal factor) {
+            getColumn(currency).add((int) date.toEpochDay(), Objects.requireNonNull(factor));
+            return this;
+        }
+
+        /**
+         * Adds all rates of the given store.
+         *
+         * @param store the store, with the same pivot currency and direction, not null.
+         * @return this builder.
+         */
+        public Builder addAll(ExchangeRateStore store) {
+            if (!pivot.equals(store.pivot) || fromPivot != store.fromPivot) {
+                throw new IllegalArgumentException("Store with different pivot currency or direction: " + store);
+            }
+            for (Map.Entry<CurrencyUnit, Column> entry : store.columns.entrySet()) {
+                ColumnBuilder column = getColumn(entry.getKey());
+                for (int i = 0; i < store.days.length; i++) {
+                    if (entry.getValue().has(i)) {
+                        entry.getValue().addTo(column, store.days[i], i);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Creates a new store containing the rates added.
+         *
+         * @return the new store, never null.
+         */
+        public ExchangeRateStore build() {
+            int count = 0;
+            for (ColumnBuilder column : columns.values()) {
+                count += column.size;
+            }
+            int[] all = new int[count];
+            int index = 0;
+            for (ColumnBuilder column : columns.values()) {
+                System.arraycopy(column.days, 0, all, index, column.size);
+                index += column.size;
+            }
+            Arrays.sort(all);
+            int size = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (size == 0 || all[size - 1] != all[i]) {
+                    all[size++] = all[i];
+                }
+            }
+            int[] days = Arrays.copyOf(all, size);
+            Map<CurrencyUnit, Column> built = new LinkedHashMap<>(columns.size() * 2);
+            for (Map.Entry<CurrencyUnit, ColumnBuilder> entry : columns.entrySet()) {
+                built.put(entry.getKey(), entry.getValue().build(days));
+            }
+            return new ExchangeRateStore(context, pivot, fromPivot, days, Collections.unmodifiableMap(built));
+        }
+
+        private ColumnBuilder getColumn(CurrencyUnit currency) {
+            if (pivot.equals(currency)) {
+                throw new IllegalArgumentException("Rate of the pivot currency: " + currency);
+            }
+            return columns.computeIfAbsent(Objects.requireNonNull(currency), c -> new ColumnBuilder());
+        }
+    }
+
+    /**
+     * Collects the factors of one currency in the order added.
+     */
+    private static final class ColumnBuilder {
+
+        private static final byte LONG = 0;
+
+        private static final byte DOUBLE = 1;
+
+        private static final byte DECIMAL = 2;
+
+        /**
+         * The largest number of digits a value is rescaled by, any more overflows a non zero long.
+         */
+        private static final int MAX_RESCALE = 18;
+
+        private int[] days = new int[16];
+
+        /**
+         * The unscaled values, or the bits of the double values.
+         */
+        private long[] values = new long[16];
+
+        private int[] scales = new int[16];
+
+        private byte[] kinds = new byte[16];
+
+        private BigDecimal[] decimals;
+
+        private int size;
+
+        void add(int day, long unscaled, int scale) {
+            int index = next(day, LONG);
+            values[index] = unscaled;
+            scales[index] = scale;
+        }
+
+        void add(int day, double value) {
+            values[next(day, DOUBLE)] = Double.doubleToRawLongBits(value);
+        }
+
+        void add(int day, BigDecimal value) {
+            if (value.unscaledValue().bitLength() < Long.SIZE) {
+                add(day, value.unscaledValue().longValue(), value.scale());
+                return;
+            }
+            int index = next(day, DECIMAL);
+            if (Objects.isNull(decimals)) {
+                decimals = new BigDecimal[kinds.length];
+            }
+            decimals[index] = value;
+        }
+
+        Column build(int[] storeDays) {
+            boolean doubles = false;
+            boolean others = false;
+            int scale = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (kinds[i] == DOUBLE) {
+                    doubles = true;
+                } else {
+                    others = true;
+                    if (kinds[i] == LONG) {
+                        scale = Math.max(scale, scales[i]);
+                    }
+                }
+            }
+            if (doubles && !others) {
+                double[] column = new double[storeDays.length];
+                Arrays.fill(column, Double.NaN);
+                for (int i = 0; i < size; i++) {
+                    column[Arrays.binarySearch(storeDays, days[i])] = Double.longBitsToDouble(values[i]);
+                }
+                return new DoubleColumn(column);
+            }
+            if (!doubles && Objects.isNull(decimals)) {
+                LongColumn column = buildLongColumn(storeDays, scale);
+                if (Objects.nonNull(column)) {
+                    return column;
+                }
+            }
+            BigDecimal[] column = new BigDecimal[storeDays.length];
+            for (int i = 0; i < size; i++) {
+                column[Arrays.binarySearch(storeDays, days[i])] = getDecimal(i);
+            }
+            return new DecimalColumn(column);
+        }
+
+        /**
+         * @return the values rescaled to the given scale, or null, if any of them does not fit.
+         */
+        private LongColumn buildLongColumn(int[] storeDays, int scale) {
+            long[] column = new long[storeDays.length];
+            Arrays.fill(column, LongColumn.MISSING);
+            byte[] rescaled = null;
+            for (int i = 0; i < size; i++) {
+                long value = values[i];
+                if ((long) scale - scales[i] > MAX_RESCALE) {
+                    return null;
+                }
+                try {
+                    for (int s = scales[i]; s < scale; s++) {
+                        value = Math.multiplyExact(value, 10L);
+                    }
+                } catch (ArithmeticException e) {
+                    return null;
+                }
+                if (value == LongColumn.MISSING) {
+                    return null;
+                }
+                int index = Arrays.binarySearch(storeDays, days[i]);
+                column[index] = value;
+                if (Objects.isNull(rescaled) && scales[i] != scale) {
+                    rescaled = new byte[storeDays.length];
+                }
+                if (Objects.nonNull(rescaled)) {
+                    // a later value of the same day replaces the earlier one, so also its digits
+                    rescaled[index] = (byte) (scale - scales[i]);
+                }
+            }
+            return new LongColumn(column, scale, rescaled);
+        }
+
+        private BigDecimal getDecimal(int index) {
+            switch (kinds[index]) {
+                case LONG:
+                    return BigDecimal.valueOf(values[index], scales[index]);
+                case DOUBLE:
+                    return BigDecimal.valueOf(Double.longBitsToDouble(values[index]));
+                default:
+                    return decimals[index];
+            }
+        }
+
+        private int next(int day, byte kind) {
+            if (size == days.length) {
+                int length = size * 2;
+                days = Arrays.copyOf(days, length);
+                values = Arrays.copyOf(values, length);
+                scales = Arrays.copyOf(scales, length);
+                kinds = Arrays.copyOf(kinds, length);
+                if (Objects.nonNull(decimals)) {
+                    decimals = Arrays.copyOf(decimals, length);
+                }
+            }
+            days[size] = day;
+            kinds[size] = kind;
+            return size++;
+        }
+    }
+}
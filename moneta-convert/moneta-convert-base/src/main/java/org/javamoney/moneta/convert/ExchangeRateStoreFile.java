@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ProviderContext;
+
+/**
+ * Binary snapshot of parsed {@link ExchangeRateStore} instances, so a provider can restore its rates after a restart
+ * without parsing the data it loaded again. A snapshot records the checksum of the data it was parsed from, so the
+ * provider can skip parsing data not changed since. Snapshots are versioned and checksummed, a snapshot of another
+ * version or with a wrong checksum is rejected. They are read into the heap in one pass, not mapped, so a snapshot
+ * can be replaced while the rates read from it are in use.
+ * <p>
+ * The snapshots are kept in the directory of the downloaded resources, configured by the system property
+ * {@code temp.dir}.
+ */
+public final class ExchangeRateStoreFile {
+
+    private static final int MAGIC = 0x4A525353;
+
+    private static final int VERSION = 2;
+
+    private static final String SUFFIX = ".rates";
+
+    /**
+     * Magic, version, data checksum and store count before, checksum after the stores.
+     */
+    private static final int MIN_SIZE = Integer.BYTES * 3 + Long.BYTES * 2;
+
+    private final long dataChecksum;
+
+    private final List<ExchangeRateStore> stores;
+
+    private ExchangeRateStoreFile(long dataChecksum, List<ExchangeRateStore> stores) {
+        this.dataChecksum = dataChecksum;
+        this.stores = Collections.unmodifiableList(stores);
+    }
+
+    /**
+     * @return the checksum of the data the stores were parsed from.
+     */
+    public long getDataChecksum() {
+        return dataChecksum;
+    }
+
+    /**
+     * @return the stores, in the order written, never null.
+     */
+    public List<ExchangeRateStore> getStores() {
+        return stores;
+    }
+
+    /**
+     * Calculates the checksum of loaded data, as recorded by a snapshot.
+     *
+     * @param data the data, not null.
+     * @return the checksum.
+     */
+    public static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Access the snapshot file of the given resource.
+     *
+     * @param resourceId the id of the resource loaded, not null.
+     * @return the path of the snapshot, never null.
+     */
+    public static Path getPath(String resourceId) {
+        return Paths.get(System.getProperty("temp.dir", ".resourceCache"), resourceId + SUFFIX);
+    }
+
+    /**
+     * Writes a snapshot, replacing an existing snapshot.
+     *
+     * @param file         the file, not null.
+     * @param dataChecksum the checksum of the data the stores were parsed from.
+     * @param stores       the stores, not null.
+     * @throws IOException if the snapshot can not be written.
+     */
+    public static void write(Path file, long dataChecksum, ExchangeRateStore... stores) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(dataChecksum);
+        out.writeInt(stores.length);
+        for (ExchangeRateStore store : stores) {
+            store.writeTo(out);
+        }
+        out.flush();
+        byte[] data = bytes.toByteArray();
+        out.writeLong(checksum(data));
+        out.flush();
+        Path directory = file.toAbsolutePath().getParent();
+        if (Objects.nonNull(directory)) {
+            Files.createDirectories(directory);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file       the file, not null.
+     * @param context    the provider context of the rates, not null.
+     * @param currencies the function resolving currency codes, returning null for unknown codes, not null.
+     * @return the snapshot, or null, if the file does not exist.
+     * @throws IOException if the file can not be read, or is not a valid snapshot of this version.
+     */
+    public static ExchangeRateStoreFile read(Path file, ProviderContext context,
+                                             Function<String, CurrencyUnit> currencies) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MIN_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot size: " + size);
+            }
+            // the stores copy the values anyway, a mapping would only block replacing the file until collected
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Truncated snapshot: " + file);
+                }
+            }
+            buffer.flip();
+            ByteBuffer content = buffer.duplicate();
+            content.limit((int) size - Long.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            if (crc.getValue() != buffer.getLong((int) size - Long.BYTES)) {
+                throw new IOException("Invalid snapshot checksum: " + file);
+            }
+            buffer.limit((int) size - Long.BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long dataChecksum = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("Invalid snapshot: " + file);
+            }
+            List<ExchangeRateStore> stores = new ArrayList<>(Math.min(count, 16));
+            for (int i = 0; i < count; i++) {
+                stores.add(ExchangeRateStore.readFrom(buffer, context, currencies));
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Invalid snapshot: " + file);
+            }
+            return new ExchangeRateStoreFile(dataChecksum, stores);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Invalid snapshot: " + file, e);
+        }
+    }
+}
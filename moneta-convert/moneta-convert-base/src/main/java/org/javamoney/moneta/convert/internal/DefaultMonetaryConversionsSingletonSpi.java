@@ -16,7 +16,9 @@
 package org.javamoney.moneta.convert.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,7 +49,17 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
     /**
      * The providers loaded.
      */
-    private Map<String, ExchangeRateProvider> conversionProviders = new ConcurrentHashMap<>();
+    private volatile Map<String, ExchangeRateProvider> conversionProviders = new ConcurrentHashMap<>();
+
+    /**
+     * The resolved providers, by provider name list, cleared on {@link #reload()}.
+     */
+    private volatile Map<List<String>, ExchangeRateProvider> providerChains = new ConcurrentHashMap<>();
+
+    /**
+     * The default provider chain, read from the config on first access after {@link #reload()}.
+     */
+    private volatile List<String> defaultProviderChain;
 
     /**
      * Constructors, loads the providers from the {@link javax.money.spi.Bootstrap} component.
@@ -65,28 +77,17 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
             newProviders.put(prov.getContext().getProviderName(), prov);
         }
         this.conversionProviders = newProviders;
+        this.providerChains = new ConcurrentHashMap<>();
+        this.defaultProviderChain = null;
     }
 
     @Override
     public ExchangeRateProvider getExchangeRateProvider(ConversionQuery conversionQuery) {
-        Collection<String> providers = getProvidersToUse(conversionQuery);
-        List<ExchangeRateProvider> provInstances = new ArrayList<>();
-        for (String provName : providers) {
-            ExchangeRateProvider prov = Optional.ofNullable(
-                    this.conversionProviders.get(provName))
-                    .orElseThrow(
-                            () -> new MonetaryException(
-                                    "Unsupported conversion/rate provider: "
-                                            + provName));
-            provInstances.add(prov);
-        }
-        if (provInstances.isEmpty()) {
+        List<String> providers = getProvidersToUse(conversionQuery);
+        if (providers.isEmpty()) {
             throw new MonetaryException("No such providers: " + conversionQuery);
         }
-        if (provInstances.size() == 1) {
-            return provInstances.get(0);
-        }
-        return new CompoundRateProvider(provInstances);
+        return getProviderChain(providers);
     }
 
     @Override
@@ -98,9 +99,14 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
     @Override
     public boolean isConversionAvailable(ConversionQuery conversionQuery) {
         try {
-            if (isExchangeRateProviderAvailable(conversionQuery)) {
-                return getExchangeRateProvider(conversionQuery).getCurrencyConversion(conversionQuery) != null;
+            List<String> providers = conversionQuery.getProviderNames();
+            if (providers.isEmpty()) {
+                providers = getCachedDefaultProviderChain();
             }
+            if (providers.isEmpty() || !this.conversionProviders.keySet().containsAll(providers)) {
+                return false;
+            }
+            return getProviderChain(providers).getCurrencyConversion(conversionQuery) != null;
         } catch (Exception e) {
             LOG.log(Level.FINEST, "Error during availability check for conversion: " + conversionQuery, e);
         }
@@ -109,8 +115,34 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
 
     @Override
     public ExchangeRateProvider getExchangeRateProvider(String... providers) {
+        return getProviderChain(Arrays.asList(providers));
+    }
+
+    /**
+     * Access the provider for the given provider names, which is a {@link CompoundRateProvider} for more than one
+     * name. Providers are created once and cached until {@link #reload()}.
+     *
+     * @param providerNames the provider names, not null.
+     * @return the provider, never null.
+     * @throws MonetaryException if a provider is not known.
+     */
+    private ExchangeRateProvider getProviderChain(List<String> providerNames) {
+        Map<List<String>, ExchangeRateProvider> chains = this.providerChains;
+        ExchangeRateProvider provider = chains.get(providerNames);
+        if (provider == null) {
+            provider = createProviderChain(providerNames);
+            ExchangeRateProvider existing = chains.putIfAbsent(
+                    Collections.unmodifiableList(new ArrayList<>(providerNames)), provider);
+            if (existing != null) {
+                provider = existing;
+            }
+        }
+        return provider;
+    }
+
+    private ExchangeRateProvider createProviderChain(List<String> providerNames) {
         List<ExchangeRateProvider> provInstances = new ArrayList<>();
-        for (String provName : providers) {
+        for (String provName : providerNames) {
             ExchangeRateProvider prov = Optional.ofNullable(
                     this.conversionProviders.get(provName))
                     .orElseThrow(
@@ -125,11 +157,10 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
         return new CompoundRateProvider(provInstances);
     }
 
-    private Collection<String> getProvidersToUse(ConversionQuery query) {
-        List<String> providersToUse = new ArrayList<>();
+    private List<String> getProvidersToUse(ConversionQuery query) {
         List<String> providerNames = query.getProviderNames();
         if (providerNames.isEmpty()) {
-            providerNames = getDefaultProviderChain();
+            providerNames = getCachedDefaultProviderChain();
             if (providerNames.isEmpty()) {
                 throw new IllegalStateException("No default provider chain available.");
             }
@@ -139,9 +170,8 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
             if (prov == null) {
                 throw new MonetaryException("Invalid ExchangeRateProvider (not found): " + provider);
             }
-            providersToUse.add(provider);
         }
-        return providersToUse;
+        return providerNames;
     }
 
     @Override
@@ -151,13 +181,26 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
 
     @Override
     public List<String> getDefaultProviderChain() {
+        return new ArrayList<>(getCachedDefaultProviderChain());
+    }
+
+    private List<String> getCachedDefaultProviderChain() {
+        List<String> chain = this.defaultProviderChain;
+        if (chain == null) {
+            chain = Collections.unmodifiableList(readDefaultProviderChain());
+            this.defaultProviderChain = chain;
+        }
+        return chain;
+    }
+
+    private List<String> readDefaultProviderChain() {
         List<String> provList = new ArrayList<>();
         String defaultChain = MonetaryConfig.getConfig().get("conversion.default-chain");
         if(defaultChain!=null) {
             String[] items = defaultChain.split(",");
             for (String item : items) {
                 if (getProviderNames().contains(item.trim())) {
-                    provList.add(item);
+                    provList.add(item.trim());
                 } else {
                     LOG.warning("Ignoring non existing default provider: " + item);
                 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
+
+import org.testng.annotations.Test;
+
+public class AsyncExchangeRateProviderTest {
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    @Test
+    public void shouldAccessRateOnceLoaded() throws Exception {
+        LoadingProvider provider = new LoadingProvider();
+        ConversionQuery query = ConversionQueryBuilder.of().setBaseCurrency(EURO).setTermCurrency(DOLLAR).build();
+
+        CompletableFuture<ExchangeRate> rate = provider.getExchangeRateAsync(query);
+
+        assertFalse(rate.isDone());
+        assertEquals(provider.queries.get(), 0);
+        provider.loaded.complete(null);
+        assertNull(rate.get(5, TimeUnit.SECONDS));
+        assertEquals(provider.queries.get(), 1);
+    }
+
+    @Test
+    public void shouldAccessConversionOnceLoaded() throws Exception {
+        LoadingProvider provider = new LoadingProvider();
+
+        CompletableFuture<CurrencyConversion> conversion = provider.getCurrencyConversionAsync(DOLLAR);
+
+        assertFalse(conversion.isDone());
+        provider.loaded.complete(null);
+        assertEquals(conversion.get(5, TimeUnit.SECONDS).getCurrency(), DOLLAR);
+    }
+
+    @Test
+    public void shouldNotAccessOnCallerIfLoaded() throws Exception {
+        LoadingProvider provider = new LoadingProvider();
+        provider.loaded.complete(null);
+        ConversionQuery query = ConversionQueryBuilder.of().setBaseCurrency(EURO).setTermCurrency(DOLLAR).build();
+
+        provider.getExchangeRateAsync(query).get(5, TimeUnit.SECONDS);
+
+        assertNotNull(provider.thread);
+        assertNotSame(provider.thread, Thread.currentThread());
+    }
+
+    @Test
+    public void shouldNotAccessOnLoaderThread() throws Exception {
+        LoadingProvider provider = new LoadingProvider();
+        ConversionQuery query = ConversionQueryBuilder.of().setBaseCurrency(EURO).setTermCurrency(DOLLAR).build();
+        CompletableFuture<ExchangeRate> rate = provider.getExchangeRateAsync(query);
+
+        Thread loader = new Thread(() -> provider.loaded.complete(null));
+        loader.start();
+        loader.join();
+        rate.get(5, TimeUnit.SECONDS);
+
+        assertNotSame(provider.thread, loader);
+    }
+
+    private static final class LoadingProvider extends ExchangeRateProviderMock implements AsyncExchangeRateProvider {
+
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+        private final AtomicInteger queries = new AtomicInteger();
+
+        private volatile Thread thread;
+
+        @Override
+        public CompletableFuture<Void> whenLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            queries.incrementAndGet();
+            thread = Thread.currentThread();
+            return super.getExchangeRate(conversionQuery);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.money.MonetaryException;
+
+import org.testng.annotations.Test;
+
+public class ExchangeRateLoadTimeoutTest {
+
+    @Test
+    public void shouldFailLoadNotFinishedInTime() {
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+        CompletableFuture<Void> waiting = ExchangeRateLoadTimeout.within(loaded, 10, TimeUnit.MILLISECONDS,
+                () -> "not loaded");
+
+        ExecutionException e = expectThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof MonetaryException);
+        assertEquals(e.getCause().getMessage(), "not loaded");
+        assertFalse(loaded.isDone());
+    }
+
+    @Test
+    public void shouldKeepLoadFinishedInTime() throws Exception {
+        CompletableFuture<String> loaded = new CompletableFuture<>();
+        CompletableFuture<String> waiting = ExchangeRateLoadTimeout.within(loaded, 50, TimeUnit.MILLISECONDS,
+                () -> "not loaded");
+
+        loaded.complete("rates");
+        Thread.sleep(100L);
+
+        assertEquals(waiting.get(), "rates");
+    }
+
+    @Test
+    public void shouldWaitAgainForLoadFinishedLate() throws Exception {
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+        CompletableFuture<Void> waiting = ExchangeRateLoadTimeout.within(loaded, 10, TimeUnit.MILLISECONDS,
+                () -> "not loaded");
+        expectThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+
+        loaded.complete(null);
+
+        CompletableFuture<Void> late = ExchangeRateLoadTimeout.within(loaded, 10, TimeUnit.MILLISECONDS,
+                () -> "not loaded");
+        assertTrue(late.isDone());
+        assertFalse(late.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.testng.annotations.Test;
+
+public class ExchangeRateSeriesTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("TEST", RateType.HISTORIC).build();
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit FRANC = Monetary.getCurrency("CHF");
+
+    private static final LocalDate MONDAY = LocalDate.of(2019, Month.MARCH, 4);
+
+    private static final LocalDate TUESDAY = LocalDate.of(2019, Month.MARCH, 5);
+
+    private static final LocalDate WEDNESDAY = LocalDate.of(2019, Month.MARCH, 6);
+
+    private static final LocalDate FRIDAY = LocalDate.of(2019, Month.MARCH, 8);
+
+    private static final ExchangeRateStore STORE = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+            .add(MONDAY, DOLLAR, 125, 2).add(TUESDAY, DOLLAR, 2.0).add(FRIDAY, DOLLAR, 4, 0)
+            .add(MONDAY, FRANC, 25, 1).add(WEDNESDAY, FRANC, 3, 0).add(FRIDAY, FRANC, 5, 0).build();
+
+    @Test
+    public void shouldAccessRatesOfRange() {
+        ExchangeRateSeries series = STORE.getSeries(DOLLAR, TUESDAY, FRIDAY);
+
+        assertSame(series.getBaseCurrency(), EURO);
+        assertSame(series.getCurrency(), DOLLAR);
+        assertEquals(series.getDates(), Arrays.asList(TUESDAY, FRIDAY));
+        assertEquals(series.getFactors(), new double[]{2.0, 4.0});
+        assertEquals(STORE.getSeries(DOLLAR, MONDAY, MONDAY).getFactor(0), 1.25);
+        assertTrue(STORE.getSeries(DOLLAR, WEDNESDAY, WEDNESDAY).isEmpty());
+        assertTrue(STORE.getSeries(DOLLAR, FRIDAY, MONDAY).isEmpty());
+        assertTrue(STORE.getSeries(EURO, MONDAY, FRIDAY).isEmpty());
+    }
+
+    @Test
+    public void shouldCrossRatesOfCommonDays() {
+        ExchangeRateSeries cross = STORE.getSeries(DOLLAR, MONDAY, FRIDAY).inverse()
+                .multiply(STORE.getSeries(FRANC, MONDAY, FRIDAY));
+
+        assertSame(cross.getBaseCurrency(), DOLLAR);
+        assertSame(cross.getCurrency(), FRANC);
+        assertEquals(cross.getDates(), Arrays.asList(MONDAY, FRIDAY));
+        assertEquals(cross.getFactors(), new double[]{2.0, 1.25});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectUnsortedDays() {
+        ExchangeRateSeries.of(EURO, DOLLAR, new int[]{2, 1}, new double[]{1.0, 1.0});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectSeriesOfOtherCurrency() {
+        STORE.getSeries(DOLLAR, MONDAY, FRIDAY).multiply(STORE.getSeries(FRANC, MONDAY, FRIDAY));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.testng.annotations.Test;
+
+public class ExchangeRateStoreFileTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("TEST", RateType.HISTORIC).build();
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit FRANC = Monetary.getCurrency("CHF");
+
+    private static final CurrencyUnit YEN = Monetary.getCurrency("JPY");
+
+    private static final LocalDate MONDAY = LocalDate.of(2019, Month.MARCH, 4);
+
+    private static final LocalDate FRIDAY = LocalDate.of(2019, Month.MARCH, 8);
+
+    @Test
+    public void shouldReadRatesWritten() throws IOException {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(MONDAY, DOLLAR, 113, 2).add(FRIDAY, DOLLAR, 11214, 4).add(MONDAY, FRANC, 1.13)
+                .add(FRIDAY, YEN, new BigDecimal("12345678901234567890.5")).build();
+        Path file = Files.createTempDirectory("rates").resolve("test.rates");
+        ExchangeRateStoreFile.write(file, 42L, store, new ExchangeRateStore.Builder(CONTEXT, EURO, false).build());
+
+        ExchangeRateStoreFile read = ExchangeRateStoreFile.read(file, CONTEXT, Monetary::getCurrency);
+        assertEquals(read.getDataChecksum(), 42L);
+        assertEquals(read.getStores().size(), 2);
+        ExchangeRateStore restored = read.getStores().get(0);
+        assertEquals(restored.getDates(), store.getDates());
+        assertEquals(restored.getRate(DOLLAR, MONDAY), store.getRate(DOLLAR, MONDAY));
+        assertEquals(restored.getRate(DOLLAR, FRIDAY), store.getRate(DOLLAR, FRIDAY));
+        assertEquals(restored.getRate(DOLLAR, MONDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("1.13"));
+        assertEquals(restored.getRate(FRANC, MONDAY).getFactor().doubleValue(), 1.13);
+        assertEquals(restored.getRate(YEN, FRIDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("12345678901234567890.5"));
+        assertNull(restored.getRate(FRANC, FRIDAY));
+        assertTrue(read.getStores().get(1).isEmpty());
+    }
+
+    @Test
+    public void shouldIgnoreMissingFile() throws IOException {
+        Path file = Files.createTempDirectory("rates").resolve("missing.rates");
+        assertNull(ExchangeRateStoreFile.read(file, CONTEXT, Monetary::getCurrency));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectCorruptedFile() throws IOException {
+        Path file = Files.createTempDirectory("rates").resolve("corrupted.rates");
+        ExchangeRateStoreFile.write(file, 42L,
+                new ExchangeRateStore.Builder(CONTEXT, EURO, true).add(MONDAY, DOLLAR, 113, 2).build());
+        byte[] data = Files.readAllBytes(file);
+        data[data.length / 2] ^= 1;
+        Files.write(file, data);
+        ExchangeRateStoreFile.read(file, CONTEXT, Monetary::getCurrency);
+    }
+}
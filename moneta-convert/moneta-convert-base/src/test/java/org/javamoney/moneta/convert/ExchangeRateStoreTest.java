@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.testng.annotations.Test;
+
+public class ExchangeRateStoreTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("TEST", RateType.HISTORIC).build();
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit FRANC = Monetary.getCurrency("CHF");
+
+    private static final LocalDate MONDAY = LocalDate.of(2019, Month.MARCH, 4);
+
+    private static final LocalDate TUESDAY = LocalDate.of(2019, Month.MARCH, 5);
+
+    private static final LocalDate FRIDAY = LocalDate.of(2019, Month.MARCH, 8);
+
+    @Test
+    public void shouldCreateRatesOnAccess() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(FRIDAY, DOLLAR, 11214, 4).add(MONDAY, DOLLAR, 113, 2).add(MONDAY, FRANC, 1.13).build();
+
+        assertEquals(store.getDayCount(), 2);
+        assertEquals(store.getLatestDate(), FRIDAY);
+        ExchangeRate rate = store.getRate(DOLLAR, MONDAY);
+        assertSame(rate.getBaseCurrency(), EURO);
+        assertSame(rate.getCurrency(), DOLLAR);
+        assertEquals(rate.getContext().get(LocalDate.class), MONDAY);
+        assertEquals(rate.getContext().getRateType(), RateType.HISTORIC);
+        assertEquals(rate.getFactor().numberValue(BigDecimal.class), new BigDecimal("1.13"));
+        assertEquals(store.getRate(DOLLAR, FRIDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("1.1214"));
+        assertEquals(store.getRate(FRANC, MONDAY).getFactor().doubleValue(), 1.13);
+        assertNull(store.getRate(FRANC, FRIDAY));
+        assertNull(store.getRate(DOLLAR, TUESDAY));
+
+        List<ExchangeRate> monday = store.getRates(MONDAY);
+        assertEquals(monday.size(), 2);
+        assertSame(monday.get(0).getContext(), monday.get(1).getContext());
+        assertTrue(store.getRates(TUESDAY).isEmpty());
+    }
+
+    @Test
+    public void shouldFindPrecedingRates() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, false)
+                .add(MONDAY, DOLLAR, 0.8).add(MONDAY, FRANC, 0.9).add(TUESDAY, FRANC, 0.91).build();
+
+        assertEquals(store.getFloorDate(FRIDAY), TUESDAY);
+        assertNull(store.getFloorDate(MONDAY.minusDays(1)));
+        assertEquals(store.getFloorRate(DOLLAR, FRIDAY).getContext().get(LocalDate.class), MONDAY);
+        assertEquals(store.getLatestRate(DOLLAR).getContext().get(LocalDate.class), MONDAY);
+        assertEquals(store.getLatestRate(FRANC).getFactor().doubleValue(), 0.91);
+        assertSame(store.getLatestRate(FRANC).getBaseCurrency(), FRANC);
+        assertSame(store.getLatestRate(FRANC).getCurrency(), EURO);
+        assertNull(store.getFloorRate(DOLLAR, MONDAY.minusDays(1)));
+        assertNull(store.getLatestRate(EURO));
+    }
+
+    @Test
+    public void shouldFindDaysOfRange() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(MONDAY, DOLLAR, 1.13).add(TUESDAY, FRANC, 1.14).add(FRIDAY, DOLLAR, 1.12).build();
+
+        assertEquals(store.getEpochDays(MONDAY, FRIDAY), new int[]{(int) MONDAY.toEpochDay(),
+                (int) TUESDAY.toEpochDay(), (int) FRIDAY.toEpochDay()});
+        assertEquals(store.getEpochDays(TUESDAY.plusDays(1), FRIDAY.plusDays(7)),
+                new int[]{(int) FRIDAY.toEpochDay()});
+        assertEquals(store.getEpochDays(MONDAY.minusDays(7), TUESDAY), new int[]{(int) MONDAY.toEpochDay(),
+                (int) TUESDAY.toEpochDay()});
+        assertEquals(store.getEpochDays(TUESDAY.plusDays(1), FRIDAY.minusDays(1)).length, 0);
+        assertEquals(store.getEpochDays(FRIDAY, MONDAY).length, 0);
+    }
+
+    @Test
+    public void shouldMergeWithoutChangingStore() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(MONDAY, DOLLAR, 113, 2).build();
+        ExchangeRateStore merged = store.toBuilder().add(MONDAY, DOLLAR, new BigDecimal("1.1305"))
+                .add(FRIDAY, FRANC, new BigDecimal("12345678901234567890.5")).build();
+
+        assertFalse(store.contains(FRIDAY));
+        assertEquals(store.getRate(DOLLAR, MONDAY).getFactor().doubleValue(), 1.13);
+        assertEquals(merged.getRate(DOLLAR, MONDAY).getFactor().doubleValue(), 1.1305);
+        assertEquals(merged.getRate(DOLLAR, MONDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("1.1305"));
+        assertEquals(merged.getRate(FRANC, FRIDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("12345678901234567890.5"));
+        assertEquals(merged.getCurrencies().size(), 2);
+    }
+
+    @Test
+    public void shouldKeepScaleOfFactors() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(MONDAY, DOLLAR, new BigDecimal("1.13")).add(TUESDAY, DOLLAR, new BigDecimal("1.1305"))
+                .add(FRIDAY, DOLLAR, new BigDecimal("130")).build();
+        ExchangeRateStore merged = store.toBuilder().add(FRIDAY, FRANC, 1.1).build();
+
+        for (ExchangeRateStore s : new ExchangeRateStore[]{store, merged}) {
+            assertEquals(s.getRate(DOLLAR, MONDAY).getFactor().numberValue(BigDecimal.class), new BigDecimal("1.13"));
+            assertEquals(s.getRate(DOLLAR, TUESDAY).getFactor().numberValue(BigDecimal.class),
+                    new BigDecimal("1.1305"));
+            assertEquals(s.getRate(DOLLAR, FRIDAY).getFactor().numberValue(BigDecimal.class), new BigDecimal("130"));
+            assertEquals(s.getRate(DOLLAR, MONDAY).getFactor().doubleValue(), 1.13);
+        }
+    }
+
+    @Test
+    public void shouldAppendLaterDays() {
+        CurrencyUnit yen = Monetary.getCurrency("JPY");
+        CurrencyUnit pound = Monetary.getCurrency("GBP");
+        CurrencyUnit krona = Monetary.getCurrency("SEK");
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true).add(MONDAY, DOLLAR, 113, 2)
+                .add(TUESDAY, DOLLAR, 11305, 4).add(MONDAY, FRANC, 1.13).add(MONDAY, pound, 0.86)
+                .add(MONDAY, krona, 1056, 2).build();
+        ExchangeRateStore later = new ExchangeRateStore.Builder(CONTEXT, EURO, true).add(FRIDAY, DOLLAR, 11214, 4)
+                .add(FRIDAY, FRANC, 1.14).add(FRIDAY, pound, 85, 2).add(FRIDAY, krona, 105612, 4)
+                .add(FRIDAY, yen, 12512, 2).build();
+
+        ExchangeRateStore merged = store.merge(later);
+
+        assertEquals(merged.getDates(), Arrays.asList(MONDAY, TUESDAY, FRIDAY));
+        assertEquals(merged.getRate(DOLLAR, MONDAY).getFactor().numberValue(BigDecimal.class), new BigDecimal("1.13"));
+        assertEquals(merged.getRate(DOLLAR, TUESDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("1.1305"));
+        assertEquals(merged.getRate(DOLLAR, FRIDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("1.1214"));
+        assertEquals(merged.getRate(FRANC, FRIDAY).getFactor().doubleValue(), 1.14);
+        assertEquals(merged.getRate(pound, MONDAY).getFactor().doubleValue(), 0.86);
+        assertEquals(merged.getRate(pound, FRIDAY).getFactor().doubleValue(), 0.85);
+        assertEquals(merged.getRate(krona, MONDAY).getFactor().numberValue(BigDecimal.class), new BigDecimal("10.56"));
+        assertEquals(merged.getRate(krona, FRIDAY).getFactor().numberValue(BigDecimal.class),
+                new BigDecimal("10.5612"));
+        assertNull(merged.getRate(FRANC, TUESDAY));
+        assertNull(merged.getRate(yen, MONDAY));
+        assertEquals(merged.getRate(yen, FRIDAY).getFactor().numberValue(BigDecimal.class), new BigDecimal("125.12"));
+        assertEquals(merged.getSeries(DOLLAR, MONDAY, FRIDAY).size(), 3);
+        assertFalse(store.contains(FRIDAY));
+        assertSame(store.merge(new ExchangeRateStore.Builder(CONTEXT, EURO, true).build()), store);
+    }
+
+    @Test
+    public void shouldMergeOverlappingDays() {
+        ExchangeRateStore store = new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(MONDAY, DOLLAR, 113, 2).add(FRIDAY, DOLLAR, 112, 2).build();
+        ExchangeRateStore merged = store.merge(new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .add(TUESDAY, DOLLAR, 114, 2).add(FRIDAY, DOLLAR, 111, 2).build());
+
+        assertEquals(merged.getDates(), Arrays.asList(MONDAY, TUESDAY, FRIDAY));
+        assertEquals(merged.getRate(DOLLAR, TUESDAY).getFactor().doubleValue(), 1.14);
+        assertEquals(merged.getRate(DOLLAR, FRIDAY).getFactor().doubleValue(), 1.11);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectStoreOfOtherDirection() {
+        new ExchangeRateStore.Builder(CONTEXT, EURO, true)
+                .addAll(new ExchangeRateStore.Builder(CONTEXT, EURO, false).build());
+    }
+}
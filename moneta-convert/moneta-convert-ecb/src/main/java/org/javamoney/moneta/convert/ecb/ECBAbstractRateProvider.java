@@ -15,14 +15,16 @@
  */
 package org.javamoney.moneta.convert.ecb;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.math.MathContext;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -33,19 +35,24 @@ import java.util.stream.Stream;
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryException;
+import javax.money.convert.ConversionContext;
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.CurrencyConversionException;
 import javax.money.convert.ExchangeRate;
 import javax.money.convert.ProviderContext;
 import javax.money.spi.Bootstrap;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
 
-import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.convert.AsyncExchangeRateProvider;
+import org.javamoney.moneta.convert.ExchangeRateLoadTimeout;
+import org.javamoney.moneta.convert.ExchangeRateSeries;
+import org.javamoney.moneta.convert.ExchangeRateSeriesProvider;
+import org.javamoney.moneta.convert.ExchangeRateStore;
+import org.javamoney.moneta.convert.ExchangeRateStoreFile;
 import org.javamoney.moneta.spi.AbstractRateProvider;
-import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.javamoney.moneta.spi.ExchangeRateCache;
 import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
+import org.javamoney.moneta.spi.MonetaryConfig;
 
 /**
  * Base to all Europe Central Bank implementation.
@@ -53,167 +60,364 @@ import org.javamoney.moneta.spi.LoaderService.LoaderListener;
  * @author otaviojava
  */
 abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
-        LoaderListener {
+        LoaderListener, ExchangeRateSeriesProvider, AsyncExchangeRateProvider {
 
 	private static final Logger LOG = Logger.getLogger(ECBAbstractRateProvider.class.getName());
 
     private static final String BASE_CURRENCY_CODE = "EUR";
 
+    /**
+     * Config key for the number of days whose rates are created on first access and cached. If not set, or not
+     * positive, the rates of all days are created when loaded.
+     */
+    private static final String KEY_LAZY_DAYS = "ecb.lazy.days";
+
+    /**
+     * The maximal number of days between two days with rates, exceeded only if rates are missing.
+     */
+    private static final int MAX_GAP_DAYS = 7;
+
     /**
      * Base currency of the loaded rates is always EUR.
      */
     public static final CurrencyUnit BASE_CURRENCY = Monetary.getCurrency(BASE_CURRENCY_CODE);
 
     /**
-     * Historic exchange rates, rate timestamp as UTC long.
+     * The rates of this provider, a view of {@link #source} starting with the first day of the last feed loaded by
+     * this provider. Replaced as a whole when the source changes, so the rates merged from the feeds of the other
+     * ECB providers extend the view.
      */
-    protected final Map<LocalDate, Map<String, ExchangeRate>> rates = new ConcurrentHashMap<>();
+    private volatile ECBRateSnapshot snapshot;
+
+    /**
+     * The rates loaded from all ECB feeds, {@link ECBRateSource#INSTANCE} unless given by a test.
+     */
+    private final ECBRateSource source;
+
+    /**
+     * Serializes the updates of {@link #snapshot}, readers access it without locking.
+     */
+    private final Object snapshotLock = new Object();
 
     protected volatile String loadState;
 
     protected volatile CountDownLatch loadLock = new CountDownLatch(1);
 
     /**
-     * Parser factory.
+     * Completed together with {@link #loadLock}, for callers not blocking on the load.
+     */
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    /**
+     * The time callers wait for the first load, in milliseconds.
      */
-    private final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    volatile long loadTimeoutMillis = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The checksum of the feed last parsed or restored, -1 if none.
+     */
+    private volatile long parsedChecksum = -1L;
 
     private final ProviderContext context;
 
 
     ECBAbstractRateProvider(ProviderContext context) {
+        this(context, ECBRateSource.INSTANCE);
+    }
+
+    ECBAbstractRateProvider(ProviderContext context, ECBRateSource source) {
         super(context);
 		this.context = context;
-        saxParserFactory.setNamespaceAware(false);
-        saxParserFactory.setValidating(false);
+        this.source = Objects.requireNonNull(source);
+        this.snapshot = ECBRateSnapshot.empty(context, readLazyDays());
+        restoreRates();
         LoaderService loader = Bootstrap.getService(LoaderService.class);
         loader.addLoaderListener(this, getDataId());
+        String[] deltaDataIds = getDeltaDataIds();
+        if (deltaDataIds.length > 0) {
+            loader.addLoaderListener(this, deltaDataIds);
+        }
         loader.loadDataAsync(getDataId());
     }
 
     protected abstract String getDataId();
 
+    /**
+     * Access the data ids of smaller feeds merged into the rates after the feed of this provider has been loaded,
+     * so the feed of this provider can be loaded less often. If a smaller feed shows rates are missing, the feed of
+     * this provider is reloaded.
+     *
+     * @return the data ids, by default none.
+     */
+    protected String[] getDeltaDataIds() {
+        return new String[0];
+    }
+
     @Override
     public void newDataLoaded(String resourceId, InputStream is) {
-        final int oldSize = this.rates.size();
+        if (!getDataId().equals(resourceId)) {
+            newDeltaLoaded(resourceId, is);
+            return;
+        }
+        Map<LocalDate, ECBDayRates> published = null;
+        long checksum = -1L;
         try {
-            SAXParser parser = saxParserFactory.newSAXParser();
-            parser.parse(is, new ECBRateReadingHandler(rates, getContext()));
-            int newSize = this.rates.size();
+            byte[] data = ECBRateParser.readAll(is);
+            checksum = ExchangeRateStoreFile.checksum(data);
+            if (checksum == parsedChecksum) {
+                loadState = "Unchanged " + resourceId + " exchange rates";
+                LOG.fine(loadState);
+                return;
+            }
+            Map<LocalDate, ECBDayRates> parsed = ECBRateParser.parseAll(data);
+            int oldSize;
+            int newSize;
+            synchronized (snapshotLock) {
+                ECBRateSnapshot current = this.snapshot;
+                source.merge(parsed);
+                LocalDate firstDate = parsed.keySet().stream().min(LocalDate::compareTo)
+                        .orElse(current.getFirstDate());
+                ECBRateSnapshot updated = current.update(source, firstDate);
+                LocalDate latest = updated.getLatestDate();
+                if (Objects.nonNull(latest)) {
+                    updated.getMatrix(latest, getCrossContext());
+                }
+                this.snapshot = updated;
+                this.parsedChecksum = checksum;
+                oldSize = current.size();
+                newSize = updated.size();
+            }
+            ExchangeRateCache.invalidateAll();
             loadState = "Loaded " + resourceId + " exchange rates for days:" + (newSize - oldSize);
             LOG.info(loadState);
+            published = parsed;
         } catch (Exception e) {
             loadState = "Last Error during data load: " + e.getMessage();
         	LOG.log(Level.FINEST, "Error during data load.", e);
         } finally{
-            loadLock.countDown();
+            loadFinished();
+        }
+        // written after signalling the load, so waiting callers do not wait for the disk
+        if (Objects.nonNull(published)) {
+            storeRates(published, checksum);
         }
     }
 
-    @Override
-    public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
-        Objects.requireNonNull(conversionQuery);
+    /**
+     * Restores the rates of the last feed parsed from its snapshot, so the provider is ready without parsing the
+     * feed again.
+     */
+    private void restoreRates() {
+        Path file = ExchangeRateStoreFile.getPath(getDataId());
         try {
-            if (loadLock.await(30, TimeUnit.SECONDS)) {
-                if (rates.isEmpty()) {
-                    return null;
-                }
-                RateResult result = findExchangeRate(conversionQuery);
-
-                ExchangeRateBuilder builder = getBuilder(conversionQuery);
-                ExchangeRate sourceRate = result.targets.get(conversionQuery.getBaseCurrency()
-                        .getCurrencyCode());
-                ExchangeRate target = result.targets
-                        .get(conversionQuery.getCurrency().getCurrencyCode());
-                return createExchangeRate(conversionQuery, builder, sourceRate, target);
-            }else{
-                throw new MonetaryException("Failed to load currency conversion data: " + loadState);
+            ExchangeRateStoreFile stored = ExchangeRateStoreFile.read(file, context,
+                    code -> Monetary.isCurrencyAvailable(code) ? Monetary.getCurrency(code) : null);
+            if (Objects.isNull(stored) || stored.getStores().size() != 1 || stored.getStores().get(0).isEmpty()) {
+                return;
             }
-        }
-        catch(InterruptedException e){
-            throw new MonetaryException("Failed to load currency conversion data: Load task has been interrupted.", e);
+            ExchangeRateStore store = stored.getStores().get(0);
+            synchronized (snapshotLock) {
+                source.merge(store);
+                this.snapshot = this.snapshot.update(source, store.getDates().get(0));
+                this.parsedChecksum = stored.getDataChecksum();
+            }
+            loadState = "Restored " + getDataId() + " exchange rates for days:" + store.getDayCount();
+            LOG.info(loadState);
+            loadFinished();
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring exchange rate snapshot " + file, e);
         }
     }
 
-	private RateResult findExchangeRate(ConversionQuery conversionQuery) {
-		LocalDate[] dates = getQueryDates(conversionQuery);
-
-        if (dates == null) {
-        	Comparator<LocalDate> comparator = Comparator.naturalOrder();
-    		LocalDate date = this.rates.keySet().stream()
-                    .max(comparator)
-                    .orElseThrow(() -> new MonetaryException("There is not more recent exchange rate to  rate on ECBRateProvider."));
-        	return new RateResult(this.rates.get(date));
-        } else {
-        	for (LocalDate localDate : dates) {
-        		Map<String, ExchangeRate> targets = this.rates.get(localDate);
+    /**
+     * Writes the snapshot of the given feed, restored on the next start.
+     */
+    private void storeRates(Map<LocalDate, ECBDayRates> parsed, long checksum) {
+        ExchangeRateStore.Builder builder = new ExchangeRateStore.Builder(context, BASE_CURRENCY, true);
+        for (ECBDayRates day : parsed.values()) {
+            day.addTo(builder);
+        }
+        Path file = ExchangeRateStoreFile.getPath(getDataId());
+        try {
+            ExchangeRateStoreFile.write(file, checksum, builder.build());
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Failed to write exchange rate snapshot " + file, e);
+        }
+    }
 
-        		if(Objects.nonNull(targets)) {
-        			return new RateResult(targets);
-        		}
-			}
-        	String datesOnErros = Stream.of(dates).map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)).collect(Collectors.joining(","));
-        	throw new MonetaryException("There is not exchange on day " + datesOnErros + " to rate to  rate on ECBRateProvider.");
+    private void newDeltaLoaded(String resourceId, InputStream is) {
+        try {
+            Map<LocalDate, ECBDayRates> parsed = new ECBRateParser().parse(is);
+            if (parsed.isEmpty()) {
+                return;
+            }
+            Map<LocalDate, ECBDayRates> missing = new HashMap<>();
+            boolean complete;
+            synchronized (snapshotLock) {
+                ECBRateSnapshot current = getSnapshot();
+                if (Objects.isNull(current.getFirstDate())) {
+                    return;
+                }
+                ExchangeRateStore store = source.getVersion().getStore();
+                parsed.forEach((date, rates) -> {
+                    if (!store.contains(date)) {
+                        missing.put(date, rates);
+                    }
+                });
+                LocalDate first = parsed.keySet().stream().min(LocalDate::compareTo).get();
+                complete = !source.isMissingBefore(first, MAX_GAP_DAYS);
+                if (!missing.isEmpty()) {
+                    source.merge(missing);
+                    this.snapshot = current.update(source, current.getFirstDate());
+                }
+            }
+            if (!missing.isEmpty()) {
+                ExchangeRateCache.invalidateAll();
+                LOG.info("Merged " + resourceId + " exchange rates into " + getDataId() + " for days:"
+                        + missing.size());
+            }
+            if (!complete) {
+                LOG.info("Exchange rates missing before " + resourceId + ", reloading " + getDataId());
+                Bootstrap.getService(LoaderService.class).loadDataAsync(getDataId());
+            }
+        } catch (Exception e) {
+            LOG.log(Level.FINEST, "Error during data load of " + resourceId, e);
         }
+    }
 
+    @Override
+    public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+        Objects.requireNonNull(conversionQuery);
+        ECBRateSnapshot current = awaitSnapshot(isFailFast(conversionQuery));
+        if (current.isEmpty()) {
+            return null;
+        }
+        LocalDate date = findRateDate(current, conversionQuery);
+        String baseCode = conversionQuery.getBaseCurrency().getCurrencyCode();
+        String termCode = conversionQuery.getCurrency().getCurrencyCode();
+        ExchangeRate rate = current.getMatrix(date, getCrossContext()).get(baseCode, termCode);
+        if (Objects.isNull(rate) && !BASE_CURRENCY_CODE.equals(baseCode)
+                && !BASE_CURRENCY_CODE.equals(termCode)) {
+            throw new CurrencyConversionException(conversionQuery.getBaseCurrency(),
+                    conversionQuery.getCurrency(), null);
+        }
+        return rate;
+    }
 
-	}
+    @Override
+    public ExchangeRateSeries getExchangeRateSeries(CurrencyUnit base, CurrencyUnit term, LocalDate from,
+                                                    LocalDate to) {
+        Objects.requireNonNull(base);
+        Objects.requireNonNull(term);
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        return awaitSnapshot(false).getSeries(base, term, from, to);
+    }
 
+    /**
+     * Access the rates of this provider, as held by this provider before the rates were published as snapshots.
+     *
+     * @return an unmodifiable copy of the current rates, by day and term currency code, never null.
+     * @deprecated creates the rates of all days, use {@link #getExchangeRate(ConversionQuery)} or
+     * {@link #getExchangeRateSeries(CurrencyUnit, CurrencyUnit, LocalDate, LocalDate)} instead.
+     */
+    @Deprecated
+    protected Map<LocalDate, Map<String, ExchangeRate>> getRates() {
+        return Collections.unmodifiableMap(getSnapshot().getAllRates());
+    }
 
+    @Override
+    public CompletableFuture<Void> whenLoaded() {
+        return ExchangeRateLoadTimeout.within(loaded, loadTimeoutMillis, TimeUnit.MILLISECONDS,
+                () -> "Failed to load currency conversion data: " + loadState);
+    }
 
-    private ExchangeRate createExchangeRate(ConversionQuery query,
-                                            ExchangeRateBuilder builder, ExchangeRate sourceRate,
-                                            ExchangeRate target) {
+    private void loadFinished() {
+        loadLock.countDown();
+        loaded.complete(null);
+    }
 
-        if (areBothBaseCurrencies(query)) {
-            builder.setFactor(DefaultNumberValue.ONE);
-            return builder.build();
-        } else if (BASE_CURRENCY_CODE.equals(query.getCurrency().getCurrencyCode())) {
-            if (Objects.isNull(sourceRate)) {
-                return null;
+    /**
+     * Access the rates of this provider, waiting for the first load to finish, unless failing fast.
+     */
+    private ECBRateSnapshot awaitSnapshot(boolean failFast) {
+        if (failFast && loadLock.getCount() > 0) {
+            throw new MonetaryException("Currency conversion data not loaded yet: " + getDataId());
+        }
+        try {
+            if (loadLock.await(loadTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return getSnapshot();
             }
-            return reverse(sourceRate);
-        } else if (BASE_CURRENCY_CODE.equals(query.getBaseCurrency()
-                .getCurrencyCode())) {
-            return target;
-        } else {
+            throw new MonetaryException("Failed to load currency conversion data: " + loadState);
+        } catch (InterruptedException e) {
+            throw new MonetaryException("Failed to load currency conversion data: Load task has been interrupted.", e);
+        }
+    }
 
-            ExchangeRate rate1 = getExchangeRate(
-                    query.toBuilder().setTermCurrency(Monetary.getCurrency(BASE_CURRENCY_CODE)).build());
-            ExchangeRate rate2 = getExchangeRate(
-                    query.toBuilder().setBaseCurrency(Monetary.getCurrency(BASE_CURRENCY_CODE))
-                            .setTermCurrency(query.getCurrency()).build());
-            if (Objects.nonNull(rate1) && Objects.nonNull(rate2)) {
-                builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
-                builder.setRateChain(rate1, rate2);
-                return builder.build();
+    /**
+     * Access the rates of this provider, updating them first, if the source has been changed by another provider.
+     */
+    private ECBRateSnapshot getSnapshot() {
+        ECBRateSnapshot current = this.snapshot;
+        if (current.isCurrent(source)) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            current = this.snapshot;
+            if (!current.isCurrent(source)) {
+                current = current.update(source, current.getFirstDate());
+                this.snapshot = current;
             }
-            throw new CurrencyConversionException(query.getBaseCurrency(),
-                    query.getCurrency(), sourceRate.getContext());
+            return current;
         }
     }
 
-    private boolean areBothBaseCurrencies(ConversionQuery query) {
-        return BASE_CURRENCY_CODE.equals(query.getBaseCurrency().getCurrencyCode()) &&
-                BASE_CURRENCY_CODE.equals(query.getCurrency().getCurrencyCode());
+    private ConversionContext getCrossContext() {
+        return getExchangeContext("ecb.digit.fraction");
     }
 
-
-    private ExchangeRateBuilder getBuilder(ConversionQuery query) {
-        ExchangeRateBuilder builder = new ExchangeRateBuilder(getExchangeContext("ecb.digit.fraction"));
-        builder.setBase(query.getBaseCurrency());
-        builder.setTerm(query.getCurrency());
-
-        return builder;
+    private static int readLazyDays() {
+        String value = MonetaryConfig.getConfig().get(KEY_LAZY_DAYS);
+        if (Objects.isNull(value) || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid " + KEY_LAZY_DAYS + ": " + value, e);
+            return 0;
+        }
     }
 
-    private ExchangeRate reverse(ExchangeRate rate) {
-        if (Objects.isNull(rate)) {
-            throw new IllegalArgumentException("Rate null is not reversible.");
+	private LocalDate findRateDate(ECBRateSnapshot current, ConversionQuery conversionQuery) {
+		LocalDate[] dates = getQueryDates(conversionQuery);
+
+        if (dates == null) {
+            LocalDate latest = current.getLatestDate();
+            if (Objects.isNull(latest)) {
+                throw new MonetaryException("There is not more recent exchange rate to  rate on ECBRateProvider.");
+            }
+            return latest;
+        } else {
+        	for (LocalDate localDate : dates) {
+        		if (current.contains(localDate)) {
+        			return localDate;
+        		}
+			}
+            if (isPreviousDayFallback(conversionQuery)) {
+                for (LocalDate localDate : dates) {
+                    LocalDate previous = current.getFloorDate(localDate);
+                    if (Objects.nonNull(previous)) {
+                        return previous;
+                    }
+                }
+            }
+        	String datesOnErros = Stream.of(dates).map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)).collect(Collectors.joining(","));
+        	throw new MonetaryException("There is not exchange on day " + datesOnErros + " to rate to  rate on ECBRateProvider.");
         }
-        return new ExchangeRateBuilder(rate).setRate(rate).setBase(rate.getCurrency()).setTerm(rate.getBaseCurrency())
-                .setFactor(divide(DefaultNumberValue.ONE, rate.getFactor(), MathContext.DECIMAL64)).build();
-    }
+
+
+	}
 
     @Override
     public String toString() {
@@ -221,13 +425,4 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
                 " context: " + context + '}';
     }
 
-    private class RateResult {
-
-    	private final Map<String, ExchangeRate> targets;
-
-    	RateResult(Map<String, ExchangeRate> targets) {
-    		this.targets = targets;
-    	}
-    }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+import org.javamoney.moneta.convert.ExchangeRateStore;
+
+/**
+ * Immutable, compact form of the rates published by the ECB for one day, as parsed. The factors are kept as
+ * unscaled longs and scales until they are added to an {@link ExchangeRateStore}.
+ */
+final class ECBDayRates {
+
+    private final LocalDate date;
+
+    private final CurrencyUnit[] currencies;
+
+    private final long[] unscaledFactors;
+
+    private final byte[] factorScales;
+
+    /**
+     * The factors not representable as unscaled long and scale, null if there are none.
+     */
+    private final BigDecimal[] exactFactors;
+
+    private ECBDayRates(Builder builder) {
+        this.date = builder.date;
+        this.currencies = Arrays.copyOf(builder.currencies, builder.size);
+        this.unscaledFactors = Arrays.copyOf(builder.unscaledFactors, builder.size);
+        this.factorScales = Arrays.copyOf(builder.factorScales, builder.size);
+        this.exactFactors = Objects.isNull(builder.exactFactors) ? null
+                : Arrays.copyOf(builder.exactFactors, builder.size);
+    }
+
+    /**
+     * @return the day of the rates, never null.
+     */
+    LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return the number of term currencies.
+     */
+    int size() {
+        return currencies.length;
+    }
+
+    /**
+     * Access a term currency.
+     *
+     * @param index the index, 0 to {@link #size()} - 1.
+     * @return the currency, never null.
+     */
+    CurrencyUnit getCurrency(int index) {
+        return currencies[index];
+    }
+
+    /**
+     * Access the factor of a term currency.
+     *
+     * @param index the index, 0 to {@link #size()} - 1.
+     * @return the factor, with the digits published, never null.
+     */
+    BigDecimal getFactor(int index) {
+        if (Objects.nonNull(exactFactors) && Objects.nonNull(exactFactors[index])) {
+            return exactFactors[index];
+        }
+        return BigDecimal.valueOf(unscaledFactors[index], factorScales[index]);
+    }
+
+    /**
+     * Adds the rates of the day to the given store builder.
+     *
+     * @param builder the builder of a store of the rates from {@link ECBAbstractRateProvider#BASE_CURRENCY}, not
+     *                null.
+     */
+    void addTo(ExchangeRateStore.Builder builder) {
+        for (int i = 0; i < currencies.length; i++) {
+            if (Objects.nonNull(exactFactors) && Objects.nonNull(exactFactors[i])) {
+                builder.add(date, currencies[i], exactFactors[i]);
+            } else {
+                builder.add(date, currencies[i], unscaledFactors[i], factorScales[i]);
+            }
+        }
+    }
+
+    /**
+     * Merges the rates of the same day, the given rates replace the rates of this instance for the same currency.
+     *
+     * @param other the rates of the same day, not null.
+     * @return the merged rates, never null.
+     */
+    ECBDayRates merge(ECBDayRates other) {
+        Builder builder = new Builder(date);
+        for (int i = 0; i < currencies.length; i++) {
+            builder.add(currencies[i], getFactor(i));
+        }
+        for (int i = 0; i < other.currencies.length; i++) {
+            builder.add(other.currencies[i], other.getFactor(i));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects the rates of one day.
+     */
+    static final class Builder {
+
+        private final LocalDate date;
+
+        private CurrencyUnit[] currencies = new CurrencyUnit[32];
+
+        private long[] unscaledFactors = new long[32];
+
+        private byte[] factorScales = new byte[32];
+
+        private BigDecimal[] exactFactors;
+
+        private int size;
+
+        /**
+         * Creates a new builder.
+         *
+         * @param date the day, not null.
+         */
+        Builder(LocalDate date) {
+            this.date = Objects.requireNonNull(date);
+        }
+
+        /**
+         * Adds a factor given as unscaled value and scale, replacing a factor added before for the same currency.
+         *
+         * @param currency the term currency, not null.
+         * @param unscaled the unscaled factor.
+         * @param scale    the scale of the factor.
+         * @return this builder.
+         */
+        Builder add(CurrencyUnit currency, long unscaled, int scale) {
+            if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+                return add(currency, BigDecimal.valueOf(unscaled, scale));
+            }
+            int index = indexOf(currency);
+            unscaledFactors[index] = unscaled;
+            factorScales[index] = (byte) scale;
+            if (Objects.nonNull(exactFactors)) {
+                exactFactors[index] = null;
+            }
+            return this;
+        }
+
+        /**
+         * Adds a factor, replacing a factor added before for the same currency.
+         *
+         * @param currency the term currency, not null.
+         * @param factor   the factor, not null.
+         * @return this builder.
+         */
+        Builder add(CurrencyUnit currency, BigDecimal factor) {
+            if (factor.scale() >= Byte.MIN_VALUE && factor.scale() <= Byte.MAX_VALUE
+                    && factor.unscaledValue().bitLength() < Long.SIZE) {
+                return add(currency, factor.unscaledValue().longValue(), factor.scale());
+            }
+            int index = indexOf(currency);
+            if (Objects.isNull(exactFactors)) {
+                exactFactors = new BigDecimal[currencies.length];
+            }
+            exactFactors[index] = factor;
+            return this;
+        }
+
+        /**
+         * @return the rates collected, never null.
+         */
+        ECBDayRates build() {
+            return new ECBDayRates(this);
+        }
+
+        /**
+         * Finds the index of the given currency, adding it if not yet contained.
+         */
+        private int indexOf(CurrencyUnit currency) {
+            for (int i = 0; i < size; i++) {
+                if (currencies[i].equals(currency)) {
+                    return i;
+                }
+            }
+            if (size == currencies.length) {
+                int length = size * 2;
+                currencies = Arrays.copyOf(currencies, length);
+                unscaledFactors = Arrays.copyOf(unscaledFactors, length);
+                factorScales = Arrays.copyOf(factorScales, length);
+                if (Objects.nonNull(exactFactors)) {
+                    exactFactors = Arrays.copyOf(exactFactors, length);
+                }
+            }
+            currencies[size] = Objects.requireNonNull(currency);
+            return size++;
+        }
+    }
+}
@@ -34,6 +34,8 @@ import javax.money.convert.RateType;
  * <p><code>CurrencyConversion currencyConversion = provider.getCurrencyConversion(conversionQuery);</code></p>
  * <p><code>MonetaryAmount money = ...;</code></p>
  * <p><code>MonetaryAmount result = currencyConversion.apply(money);</code></p>
+ * <p>Setting {@link org.javamoney.moneta.spi.AbstractRateProvider#KEY_PREVIOUS_DAY_FALLBACK} to {@code true} on the
+ * query uses the rate of the previous business day, if there is no rate for the given date, e.g. on weekends.</p>
  *
  * @author Anatole Tresch
  * @author Werner Keil
@@ -63,5 +65,13 @@ public class ECBHistoricRateProvider extends ECBAbstractRateProvider {
         return DATA_ID;
     }
 
+    /**
+     * The daily rates are merged into the history, so the full history is only loaded rarely.
+     */
+    @Override
+    protected String[] getDeltaDataIds() {
+        return new String[]{ECBCurrentRateProvider.class.getSimpleName()};
+    }
+
 
 }
\ No newline at end of file
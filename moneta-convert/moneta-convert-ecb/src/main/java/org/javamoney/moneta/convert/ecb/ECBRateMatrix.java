@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ExchangeRate;
+
+import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.spi.DefaultNumberValue;
+
+/**
+ * Immutable rates of one day, created from the EUR based rates published by the ECB. The direct and inverse rates
+ * are created once, cross rates are created from them on each access, so a day holds two rates per currency instead
+ * of a rate per currency pair.
+ */
+final class ECBRateMatrix {
+
+    /**
+     * The index of each currency code, the base currency has index 0.
+     */
+    private final Map<String, Integer> indices;
+
+    private final CurrencyUnit[] currencies;
+
+    /**
+     * The rates from the base currency, {@code fromBase[term]}, the identity rate at index 0.
+     */
+    private final ExchangeRate[] fromBase;
+
+    /**
+     * The rates to the base currency, {@code toBase[base]}, the identity rate at index 0.
+     */
+    private final ExchangeRate[] toBase;
+
+    private final ConversionContext crossContext;
+
+    /**
+     * Creates a new matrix.
+     *
+     * @param baseRates    the rates from {@link ECBAbstractRateProvider#BASE_CURRENCY} to the other currencies of one
+     *                     day, keyed by term currency code, not null.
+     * @param crossContext the context of the identity and cross rates, not null.
+     */
+    ECBRateMatrix(Map<String, ExchangeRate> baseRates, ConversionContext crossContext) {
+        List<ExchangeRate> termRates = new ArrayList<>(baseRates.values());
+        int size = termRates.size() + 1;
+        this.crossContext = crossContext;
+        this.currencies = new CurrencyUnit[size];
+        this.fromBase = new ExchangeRate[size];
+        this.toBase = new ExchangeRate[size];
+        this.indices = new HashMap<>(size * 2);
+
+        currencies[0] = ECBAbstractRateProvider.BASE_CURRENCY;
+        indices.put(currencies[0].getCurrencyCode(), 0);
+        fromBase[0] = new ExchangeRateBuilder(crossContext).setBase(currencies[0]).setTerm(currencies[0])
+                .setFactor(DefaultNumberValue.ONE).build();
+        toBase[0] = fromBase[0];
+        int index = 1;
+        for (ExchangeRate rate : termRates) {
+            currencies[index] = rate.getCurrency();
+            fromBase[index] = rate;
+            toBase[index] = reverse(rate);
+            indices.put(rate.getCurrency().getCurrencyCode(), index);
+            index++;
+        }
+    }
+
+    /**
+     * Checks if the matrix contains rates for the given currency.
+     *
+     * @param currencyCode the currency code, not null.
+     * @return true, if rates for the currency are available.
+     */
+    boolean contains(String currencyCode) {
+        return indices.containsKey(currencyCode);
+    }
+
+    /**
+     * Access the rate for the given currencies.
+     *
+     * @param baseCode the base currency code, not null.
+     * @param termCode the term currency code, not null.
+     * @return the rate, or null, if any of the currencies is not contained.
+     */
+    ExchangeRate get(String baseCode, String termCode) {
+        Integer base = indices.get(baseCode);
+        Integer term = indices.get(termCode);
+        if (base == null || term == null) {
+            return null;
+        }
+        if (base == 0) {
+            return fromBase[term];
+        }
+        if (term == 0) {
+            return toBase[base];
+        }
+        return new ExchangeRateBuilder(crossContext)
+                .setBase(currencies[base]).setTerm(currencies[term])
+                .setFactor(multiply(toBase[base], fromBase[term]))
+                .setRateChain(toBase[base], fromBase[term]).build();
+    }
+
+    private static ExchangeRate reverse(ExchangeRate rate) {
+        return new ExchangeRateBuilder(rate).setRate(rate).setBase(rate.getCurrency()).setTerm(rate.getBaseCurrency())
+                .setFactor(new DefaultNumberValue(BigDecimal.ONE.divide(
+                        rate.getFactor().numberValue(BigDecimal.class), MathContext.DECIMAL64))).build();
+    }
+
+    private static DefaultNumberValue multiply(ExchangeRate first, ExchangeRate second) {
+        return new DefaultNumberValue(first.getFactor().numberValueExact(BigDecimal.class)
+                .multiply(second.getFactor().numberValue(BigDecimal.class)));
+    }
+}
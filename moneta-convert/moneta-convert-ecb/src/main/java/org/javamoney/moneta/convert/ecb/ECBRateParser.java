@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+/**
+ * Streaming parser of the ECB eurofxref XML feeds, working directly on the bytes of the feed.
+ * <p>
+ * Format: <gesmes:Envelope
+ * xmlns:gesmes="http://www.gesmes.org/xml/2002-08-01"
+ * xmlns="http://www.ecb.int/vocabulary/2002-08-01/eurofxref">
+ * <gesmes:subject>Reference rates</gesmes:subject> <gesmes:Sender>
+ * <gesmes:name>European Central Bank</gesmes:name> </gesmes:Sender> <Cube>
+ * <Cube time="2013-02-21">...</Cube> <Cube time="2013-02-20">...</Cube>
+ * <Cube time="2013-02-19"> <Cube currency="USD" rate="1.3349"/> <Cube
+ * currency="JPY" rate="124.81"/> ...
+ * <p>
+ * Only the {@code Cube} elements are evaluated. The rates are decoded exactly, keeping the digits published, into
+ * the compact {@link ECBDayRates}, and each currency is looked up only once per parse.
+ */
+final class ECBRateParser {
+
+    private static final byte[] CUBE = "Cube".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] TIME = "time".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CURRENCY = "currency".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RATE = "rate".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The start of the tag of a day.
+     */
+    private static final byte[] DAY = "<Cube time".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Feeds larger than this are split into parts parsed in parallel by {@link #parseAll(byte[])}.
+     */
+    private static final int MIN_PARALLEL_SIZE = 256 * 1024;
+
+    /**
+     * The largest number of digits decoded into a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * The currencies looked up so far, indexed by the three letters of their code.
+     */
+    private final CurrencyUnit[] currencies = new CurrencyUnit[26 * 26 * 26];
+
+    private byte[] buffer;
+
+    /**
+     * The rates parsed so far, by day.
+     */
+    private final Map<LocalDate, ECBDayRates.Builder> days = new HashMap<>();
+
+    private ECBDayRates.Builder dayRates;
+
+    /**
+     * Parses the given feed while reading it, without keeping the complete feed in memory. Used for the small
+     * daily and 90 day feeds.
+     *
+     * @param is the feed, not null.
+     * @return the rates, by day, never null.
+     * @throws IOException if the feed can not be read or contains an invalid date or rate.
+     */
+    Map<LocalDate, ECBDayRates> parse(InputStream is) throws IOException {
+        this.buffer = new byte[BUFFER_SIZE];
+        int start = 0;
+        int end = 0;
+        boolean eof = false;
+        while (true) {
+            int open = parseTags(start, end);
+            if (open < end) {
+                if (eof) {
+                    return build();
+                }
+                // keep an incomplete tag, drop everything else
+                int keep = open;
+                System.arraycopy(buffer, keep, buffer, 0, end - keep);
+                end -= keep;
+                start = 0;
+                if (end == buffer.length) {
+                    byte[] larger = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, larger, 0, end);
+                    buffer = larger;
+                }
+                int read = is.read(buffer, end, buffer.length - end);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    end += read;
+                }
+            } else if (eof) {
+                return build();
+            } else {
+                start = 0;
+                end = 0;
+                int read = is.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    end = read;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the given feed, as read by {@link #readAll(InputStream)}. Large feeds, like the complete history, are
+     * split at the days and the parts are parsed in parallel, using the common {@link ForkJoinPool}. Smaller feeds
+     * are parsed in the calling thread.
+     *
+     * @param data the feed, not null.
+     * @return the rates, by day, never null.
+     * @throws IOException if the feed contains an invalid date or rate.
+     */
+    static Map<LocalDate, ECBDayRates> parseAll(byte[] data) throws IOException {
+        return parseAll(data, MIN_PARALLEL_SIZE);
+    }
+
+    /**
+     * Reads the complete feed.
+     *
+     * @param is the feed, not null.
+     * @return the bytes of the feed, never null.
+     * @throws IOException if the feed can not be read.
+     */
+    static byte[] readAll(InputStream is) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] chunk = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = is.read(chunk)) >= 0) {
+            bytes.write(chunk, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Parses the given feed, splitting it into parts not larger than the given size where possible.
+     *
+     * @param data            the feed, not null.
+     * @param minParallelSize the size above which a part is split.
+     * @return the rates, by day, never null.
+     * @throws IOException if the feed contains an invalid date or rate.
+     */
+    static Map<LocalDate, ECBDayRates> parseAll(byte[] data, int minParallelSize) throws IOException {
+        ParseTask task = new ParseTask(data, 0, data.length, minParallelSize);
+        try {
+            if (data.length <= minParallelSize) {
+                return task.compute();
+            }
+            return ForkJoinPool.commonPool().invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses the complete tags within the given range of the buffer.
+     *
+     * @return the start of the first incomplete tag, or {@code end}, if all tags are complete.
+     */
+    private int parseTags(int start, int end) throws IOException {
+        while (true) {
+            int open = indexOf(start, end, (byte) '<');
+            if (open < 0) {
+                return end;
+            }
+            int close = indexOf(open + 1, end, (byte) '>');
+            if (close < 0) {
+                return open;
+            }
+            parseTag(open + 1, close);
+            start = close + 1;
+        }
+    }
+
+    /**
+     * @return the rates parsed, by day, never null.
+     */
+    private Map<LocalDate, ECBDayRates> build() {
+        Map<LocalDate, ECBDayRates> rates = new HashMap<>(days.size() * 2);
+        for (Map.Entry<LocalDate, ECBDayRates.Builder> entry : days.entrySet()) {
+            rates.put(entry.getKey(), entry.getValue().build());
+        }
+        return rates;
+    }
+
+    private void parseTag(int from, int to) throws IOException {
+        if (!startsWith(from, to, CUBE) || from + CUBE.length >= to || !isSeparator(buffer[from + CUBE.length])) {
+            return;
+        }
+        int time = attribute(from + CUBE.length, to, TIME);
+        if (time >= 0) {
+            this.dayRates = days.computeIfAbsent(parseDate(time, valueEnd(time, to)), ECBDayRates.Builder::new);
+            return;
+        }
+        int currency = attribute(from + CUBE.length, to, CURRENCY);
+        int rate = attribute(from + CUBE.length, to, RATE);
+        if (currency < 0 || rate < 0 || Objects.isNull(this.dayRates)) {
+            // rates outside of a day are ignored
+            return;
+        }
+        addRate(getCurrency(currency, valueEnd(currency, to)), rate, valueEnd(rate, to));
+    }
+
+    /**
+     * Finds the value of the given attribute.
+     *
+     * @return the index of the first character of the value, or -1.
+     */
+    private int attribute(int from, int to, byte[] name) {
+        int index = from;
+        while (index < to) {
+            while (index < to && isSeparator(buffer[index])) {
+                index++;
+            }
+            int nameStart = index;
+            while (index < to && buffer[index] != '=' && !isSeparator(buffer[index])) {
+                index++;
+            }
+            int nameEnd = index;
+            while (index < to && buffer[index] != '"' && buffer[index] != '\'') {
+                index++;
+            }
+            if (index >= to) {
+                return -1;
+            }
+            byte quote = buffer[index];
+            int valueStart = index + 1;
+            index = indexOf(valueStart, to, quote);
+            if (index < 0) {
+                return -1;
+            }
+            index++;
+            if (nameEnd - nameStart == name.length && startsWith(nameStart, nameEnd, name)) {
+                return valueStart;
+            }
+        }
+        return -1;
+    }
+
+    private int valueEnd(int valueStart, int to) {
+        byte quote = buffer[valueStart - 1];
+        return indexOf(valueStart, to, quote);
+    }
+
+    private LocalDate parseDate(int from, int to) throws IOException {
+        if (to - from != 10 || buffer[from + 4] != '-' || buffer[from + 7] != '-') {
+            throw new IOException("Invalid date: " + text(from, to));
+        }
+        return LocalDate.of(parseInt(from, from + 4), parseInt(from + 5, from + 7), parseInt(from + 8, to));
+    }
+
+    private int parseInt(int from, int to) throws IOException {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Invalid number: " + text(from, to));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the rate exactly, keeping its scale, and adds it to the current day.
+     */
+    private void addRate(CurrencyUnit term, int from, int to) throws IOException {
+        long unscaled = 0L;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b == '.' && !point) {
+                point = true;
+            } else if (b >= '0' && b <= '9') {
+                if (digits == MAX_LONG_DIGITS) {
+                    dayRates.add(term, parseBigDecimal(from, to));
+                    return;
+                }
+                unscaled = unscaled * 10L + (b - '0');
+                if (unscaled != 0L) {
+                    digits++;
+                }
+                if (point) {
+                    scale++;
+                }
+            } else {
+                dayRates.add(term, parseBigDecimal(from, to));
+                return;
+            }
+        }
+        if (to == from || (point && to - from == 1)) {
+            throw new IOException("Invalid rate: " + text(from, to));
+        }
+        dayRates.add(term, unscaled, scale);
+    }
+
+    private BigDecimal parseBigDecimal(int from, int to) throws IOException {
+        try {
+            return new BigDecimal(text(from, to).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid rate: " + text(from, to), e);
+        }
+    }
+
+    private CurrencyUnit getCurrency(int from, int to) {
+        if (to - from == 3 && isUpperCase(buffer[from]) && isUpperCase(buffer[from + 1])
+                && isUpperCase(buffer[from + 2])) {
+            int index = (buffer[from] - 'A') * 26 * 26 + (buffer[from + 1] - 'A') * 26 + (buffer[from + 2] - 'A');
+            CurrencyUnit currency = currencies[index];
+            if (Objects.isNull(currency)) {
+                currency = Monetary.getCurrency(text(from, to));
+                currencies[index] = currency;
+            }
+            return currency;
+        }
+        return Monetary.getCurrency(text(from, to));
+    }
+
+    private int indexOf(int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWith(int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String text(int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '/';
+    }
+
+    private static boolean isUpperCase(byte b) {
+        return b >= 'A' && b <= 'Z';
+    }
+
+    /**
+     * Parses a range of a feed, splitting it at the start of a day while it is larger than the minimal parallel
+     * size.
+     */
+    private static final class ParseTask extends RecursiveTask<Map<LocalDate, ECBDayRates>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+
+        private final int from;
+
+        private final int to;
+
+        private final int minParallelSize;
+
+        ParseTask(byte[] data, int from, int to, int minParallelSize) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.minParallelSize = minParallelSize;
+        }
+
+        @Override
+        protected Map<LocalDate, ECBDayRates> compute() {
+            if (to - from > minParallelSize) {
+                int split = findDay(data, from + (to - from) / 2, to);
+                if (split > from && split < to) {
+                    ParseTask right = new ParseTask(data, split, to, minParallelSize);
+                    right.fork();
+                    Map<LocalDate, ECBDayRates> rates = new ParseTask(data, from, split, minParallelSize).compute();
+                    for (Map.Entry<LocalDate, ECBDayRates> entry : right.join().entrySet()) {
+                        rates.merge(entry.getKey(), entry.getValue(), ECBDayRates::merge);
+                    }
+                    return rates;
+                }
+            }
+            ECBRateParser parser = new ECBRateParser();
+            parser.buffer = data;
+            try {
+                parser.parseTags(from, to);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return parser.build();
+        }
+
+        /**
+         * Finds the start of the first day tag at or after the given index.
+         *
+         * @return the index of the {@code <} of the tag, or -1.
+         */
+        private static int findDay(byte[] data, int from, int to) {
+            int last = to - DAY.length;
+            for (int i = from; i <= last; i++) {
+                if (data[i] == '<') {
+                    boolean match = true;
+                    for (int j = 1; j < DAY.length; j++) {
+                        if (data[i + j] != DAY[j]) {
+                            match = false;
+                            break;
+                        }
+                    }
+                    if (match) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
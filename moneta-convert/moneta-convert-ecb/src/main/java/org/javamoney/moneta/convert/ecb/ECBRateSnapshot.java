@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+
+import org.javamoney.moneta.convert.ExchangeRateSeries;
+import org.javamoney.moneta.convert.ExchangeRateStore;
+
+/**
+ * Immutable snapshot of the rates served by an ECB provider, a view of a version of the shared {@link ECBRateSource}
+ * with the provider's context and date window. A new snapshot is created when the source changes and published as a
+ * whole, so readers never see a partially loaded day. The rate matrices of recently accessed days, holding the
+ * direct and inverse rates of a day, are cached per snapshot and taken over by the next snapshot for the days not
+ * changed.
+ * <p>
+ * The rates are kept in a columnar {@link ExchangeRateStore}. An eager snapshot creates the {@link ExchangeRate}
+ * instances of all days of its window and caches the matrices of {@link #EAGER_CACHED_DAYS} days. A lazy snapshot
+ * creates the rates of a day on its first access and caches the matrices of the configured number of days.
+ */
+final class ECBRateSnapshot {
+
+    /**
+     * The number of days whose matrices are cached by an eager snapshot.
+     */
+    static final int EAGER_CACHED_DAYS = 32;
+
+    private final ProviderContext context;
+
+    /**
+     * The rates of the source, with the provider context.
+     */
+    private final ExchangeRateStore store;
+
+    /**
+     * The generation of the source version viewed.
+     */
+    private final int generation;
+
+    /**
+     * The first day of the window, or null, if the window is empty.
+     */
+    private final LocalDate firstDate;
+
+    /**
+     * The number of days with rates in the window.
+     */
+    private final int size;
+
+    /**
+     * The maximal number of days with cached rates, or 0 for an eager snapshot.
+     */
+    private final int cachedDays;
+
+    /**
+     * The rates of all days in the window, by day and term currency code, null for a lazy snapshot.
+     */
+    private final Map<LocalDate, Map<String, ExchangeRate>> rates;
+
+    private final Map<LocalDate, ECBRateMatrix> matrices;
+
+    private ECBRateSnapshot(ProviderContext context, ExchangeRateStore store, int generation, LocalDate firstDate,
+                            int size, int cachedDays, Map<LocalDate, Map<String, ExchangeRate>> rates) {
+        this.context = context;
+        this.store = store;
+        this.generation = generation;
+        this.firstDate = firstDate;
+        this.size = size;
+        this.cachedDays = cachedDays;
+        this.rates = rates;
+        int cachedMatrices = cachedDays > 0 ? cachedDays : EAGER_CACHED_DAYS;
+        this.matrices = Collections.synchronizedMap(new LinkedHashMap<LocalDate, ECBRateMatrix>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, ECBRateMatrix> eldest) {
+                return size() > cachedMatrices;
+            }
+        });
+    }
+
+    /**
+     * Creates a snapshot without any rates.
+     *
+     * @param context    the provider context of the rates, not null.
+     * @param cachedDays the maximal number of days whose rates are created and cached after their first access,
+     *                   or 0 to create the rates of all days of the window when updating.
+     * @return the new snapshot, never null.
+     */
+    static ECBRateSnapshot empty(ProviderContext context, int cachedDays) {
+        return new ECBRateSnapshot(context,
+                new ExchangeRateStore.Builder(context, ECBAbstractRateProvider.BASE_CURRENCY, true).build(), -1,
+                null, 0, Math.max(cachedDays, 0), cachedDays > 0 ? null : Collections.emptyMap());
+    }
+
+    /**
+     * Creates a snapshot of the current version of the given source. The rates and matrices of days not changed
+     * since this snapshot are taken over.
+     *
+     * @param source    the source, not null.
+     * @param firstDate the first day of the window, or null for an empty window.
+     * @return the new snapshot, never null.
+     */
+    ECBRateSnapshot update(ECBRateSource source, LocalDate firstDate) {
+        ECBRateSource.Version version = source.getVersion();
+        ExchangeRateStore view = version.getStore().withContext(context);
+        List<LocalDate> dates = new ArrayList<>();
+        if (Objects.nonNull(firstDate)) {
+            for (LocalDate date : view.getDates()) {
+                if (!date.isBefore(firstDate)) {
+                    dates.add(date);
+                }
+            }
+        }
+        Map<LocalDate, Map<String, ExchangeRate>> updatedRates = null;
+        if (Objects.nonNull(this.rates)) {
+            updatedRates = new HashMap<>(dates.size() * 2);
+            for (LocalDate date : dates) {
+                Map<String, ExchangeRate> dayRates = this.rates.get(date);
+                if (Objects.isNull(dayRates) || source.isChanged(date, generation)) {
+                    dayRates = Collections.unmodifiableMap(toMap(view.getRates(date)));
+                }
+                updatedRates.put(date, dayRates);
+            }
+        }
+        ECBRateSnapshot updated = new ECBRateSnapshot(context, view, version.getGeneration(), firstDate,
+                dates.size(), cachedDays, updatedRates);
+        synchronized (matrices) {
+            for (Map.Entry<LocalDate, ECBRateMatrix> entry : matrices.entrySet()) {
+                if (updated.contains(entry.getKey()) && !source.isChanged(entry.getKey(), generation)) {
+                    updated.matrices.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Checks if this snapshot views the current version of the given source.
+     *
+     * @param source the source, not null.
+     * @return true, if the source did not change since this snapshot was created.
+     */
+    boolean isCurrent(ECBRateSource source) {
+        return source.getVersion().getGeneration() == generation;
+    }
+
+    /**
+     * @return the first day of the window, or null, if the window is empty.
+     */
+    LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * @return true, if the snapshot contains no rates.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of days with rates.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the most recent day with rates, or null.
+     */
+    LocalDate getLatestDate() {
+        return size == 0 ? null : store.getLatestDate();
+    }
+
+    /**
+     * Checks if rates of the given day are available.
+     *
+     * @param date the day, not null.
+     * @return true, if rates are available.
+     */
+    boolean contains(LocalDate date) {
+        return isInWindow(date) && store.contains(date);
+    }
+
+    /**
+     * Access the given day, or the nearest preceding day with rates.
+     *
+     * @param date the day, not null.
+     * @return the day with rates, or null.
+     */
+    LocalDate getFloorDate(LocalDate date) {
+        LocalDate floor = store.getFloorDate(date);
+        return Objects.nonNull(floor) && isInWindow(floor) ? floor : null;
+    }
+
+    /**
+     * Access the rates of all days of the window, creating the rates of a lazy snapshot.
+     *
+     * @return the rates, by day and term currency code, sorted by day, never null.
+     */
+    SortedMap<LocalDate, Map<String, ExchangeRate>> getAllRates() {
+        SortedMap<LocalDate, Map<String, ExchangeRate>> all = new TreeMap<>();
+        if (Objects.isNull(firstDate)) {
+            return all;
+        }
+        for (LocalDate date : store.getDates()) {
+            if (isInWindow(date)) {
+                all.put(date, Objects.isNull(rates) ? Collections.unmodifiableMap(toMap(store.getRates(date)))
+                        : rates.get(date));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Access the rate matrix of the given day, creating it on first access.
+     *
+     * @param date         a day with rates, not null.
+     * @param crossContext the context of the identity and cross rates, not null.
+     * @return the rate matrix, or null, if no rates of the day are available.
+     */
+    ECBRateMatrix getMatrix(LocalDate date, ConversionContext crossContext) {
+        if (!contains(date)) {
+            return null;
+        }
+        ECBRateMatrix matrix = matrices.get(date);
+        if (Objects.isNull(matrix)) {
+            Map<String, ExchangeRate> targets = Objects.isNull(rates) ? toMap(store.getRates(date)) : rates.get(date);
+            matrix = new ECBRateMatrix(targets, crossContext);
+            ECBRateMatrix existing = matrices.putIfAbsent(date, matrix);
+            if (Objects.nonNull(existing)) {
+                matrix = existing;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Access the rates of the given currency pair on the days of the given range within the window, as cross rates
+     * via {@link ECBAbstractRateProvider#BASE_CURRENCY} if neither currency is the base currency.
+     *
+     * @param base the base currency, not null.
+     * @param term the term currency, not null.
+     * @param from the first day, inclusive, not null.
+     * @param to   the last day, inclusive, not null.
+     * @return the series, never null.
+     */
+    ExchangeRateSeries getSeries(CurrencyUnit base, CurrencyUnit term, LocalDate from, LocalDate to) {
+        if (Objects.isNull(firstDate)) {
+            return ExchangeRateSeries.of(base, term, new int[0], new double[0]);
+        }
+        LocalDate first = from.isBefore(firstDate) ? firstDate : from;
+        if (base.equals(term)) {
+            return ExchangeRateSeries.identity(base, getSeriesFromBase(base, first, to).getEpochDays());
+        }
+        return getSeriesFromBase(base, first, to).inverse().multiply(getSeriesFromBase(term, first, to));
+    }
+
+    private ExchangeRateSeries getSeriesFromBase(CurrencyUnit currency, LocalDate from, LocalDate to) {
+        if (!ECBAbstractRateProvider.BASE_CURRENCY.equals(currency)) {
+            return store.getSeries(currency, from, to);
+        }
+        return ExchangeRateSeries.identity(currency, store.getEpochDays(from, to));
+    }
+
+    private boolean isInWindow(LocalDate date) {
+        return Objects.nonNull(firstDate) && !date.isBefore(firstDate);
+    }
+
+    private static Map<String, ExchangeRate> toMap(List<ExchangeRate> rates) {
+        Map<String, ExchangeRate> map = new HashMap<>(rates.size() * 2);
+        for (ExchangeRate rate : rates) {
+            map.put(rate.getCurrency().getCurrencyCode(), rate);
+        }
+        return map;
+    }
+}
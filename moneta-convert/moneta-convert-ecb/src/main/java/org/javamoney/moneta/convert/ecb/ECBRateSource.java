@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateStore;
+
+/**
+ * The rates loaded from all ECB feeds. The daily, the 90 day and the full history feed overlap, so their providers
+ * merge what they load into one store by date and serve their own window of it, instead of keeping the same days
+ * several times. Each merge publishes a new {@link Version}, the providers use it to find the days changed since
+ * their last access.
+ */
+final class ECBRateSource {
+
+    /**
+     * The context of the stored rates, the providers replace it with their own.
+     */
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("ECB", RateType.HISTORIC,
+            RateType.DEFERRED).build();
+
+    /**
+     * The source shared by the ECB providers.
+     */
+    static final ECBRateSource INSTANCE = new ECBRateSource();
+
+    private volatile Version version = new Version(new ExchangeRateStore.Builder(CONTEXT,
+            ECBAbstractRateProvider.BASE_CURRENCY, true).build(), 0);
+
+    /**
+     * The generation of the last merge changing a day, by day.
+     */
+    private final Map<LocalDate, Integer> changes = new ConcurrentHashMap<>();
+
+    /**
+     * @return the current version of the rates, never null.
+     */
+    Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if the rates of the given day were changed after the given generation.
+     *
+     * @param date       the day, not null.
+     * @param generation the generation of a version.
+     * @return true, if the rates of the day were changed after the given generation.
+     */
+    boolean isChanged(LocalDate date, int generation) {
+        Integer changed = changes.get(date);
+        return Objects.nonNull(changed) && changed > generation;
+    }
+
+    /**
+     * Checks if rates are missing before the given day, i.e. if the last stored day before it is more than the
+     * given number of days earlier.
+     *
+     * @param date    the day, not null.
+     * @param maxDays the maximal number of days between two days with rates, e.g. over holidays.
+     * @return true, if there are no rates before the day, or the last rates are older than allowed.
+     */
+    boolean isMissingBefore(LocalDate date, int maxDays) {
+        LocalDate previous = version.getStore().getFloorDate(date.minusDays(1));
+        return Objects.isNull(previous) || date.isAfter(previous.plusDays(maxDays));
+    }
+
+    /**
+     * Merges the given rates into the store and publishes the new version. Rates of the given days replace stored
+     * rates of the same day and currency. Days after the latest stored day, as loaded by the daily feed, are
+     * appended without rebuilding the stored rates.
+     *
+     * @param loaded the loaded rates, by day, not null.
+     * @return the new version, never null.
+     */
+    synchronized Version merge(Map<LocalDate, ECBDayRates> loaded) {
+        ExchangeRateStore.Builder builder = new ExchangeRateStore.Builder(CONTEXT,
+                ECBAbstractRateProvider.BASE_CURRENCY, true);
+        for (ECBDayRates day : loaded.values()) {
+            day.addTo(builder);
+        }
+        return publish(version.getStore().merge(builder.build()), loaded.keySet());
+    }
+
+    /**
+     * Merges the rates of the given store into the store and publishes the new version. Rates of the given store
+     * replace stored rates of the same day and currency.
+     *
+     * @param loaded the loaded rates, from {@link ECBAbstractRateProvider#BASE_CURRENCY}, not null.
+     * @return the new version, never null.
+     */
+    synchronized Version merge(ExchangeRateStore loaded) {
+        return publish(version.getStore().merge(loaded), loaded.getDates());
+    }
+
+    private Version publish(ExchangeRateStore store, Collection<LocalDate> changed) {
+        int generation = version.getGeneration() + 1;
+        for (LocalDate date : changed) {
+            changes.put(date, generation);
+        }
+        this.version = new Version(store, generation);
+        return this.version;
+    }
+
+    /**
+     * Immutable state of the source after a merge.
+     */
+    static final class Version {
+
+        private final ExchangeRateStore store;
+
+        private final int generation;
+
+        private Version(ExchangeRateStore store, int generation) {
+            this.store = store;
+            this.generation = generation;
+        }
+
+        /**
+         * @return the rates of all feeds, never null.
+         */
+        ExchangeRateStore getStore() {
+            return store;
+        }
+
+        /**
+         * @return the number of merges up to this version.
+         */
+        int getGeneration() {
+            return generation;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateStoreFile;
+import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+public class ECBAbstractRateProviderTest {
+
+    private static final String DATA_ID = "ECBAbstractRateProviderTest";
+
+    private static final ConversionQuery FAIL_FAST_QUERY = ConversionQueryBuilder.of()
+            .setBaseCurrency(Monetary.getCurrency("EUR")).setTermCurrency(Monetary.getCurrency("USD"))
+            .set(AbstractRateProvider.KEY_FAIL_FAST, true).build();
+
+    @AfterClass
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(ExchangeRateStoreFile.getPath(DATA_ID));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void shouldFailFastBeforeFirstLoad() throws IOException {
+        createProvider().getExchangeRate(FAIL_FAST_QUERY);
+    }
+
+    @Test
+    public void shouldCompleteLoadAfterSuccessfulLoad() throws Exception {
+        TestRateProvider provider = createProvider();
+        assertFalse(provider.whenLoaded().isDone());
+
+        try (InputStream is = getClass().getResourceAsStream("/java-money/defaults/ECB/eurofxref-daily.xml")) {
+            provider.newDataLoaded(DATA_ID, is);
+        }
+
+        provider.whenLoaded().get(1, TimeUnit.SECONDS);
+        assertNotNull(provider.getExchangeRate(FAIL_FAST_QUERY));
+    }
+
+    @Test
+    public void shouldCompleteLoadFinishedAfterTimeout() throws Exception {
+        TestRateProvider provider = createProvider();
+        provider.loadTimeoutMillis = 10L;
+
+        ExecutionException e = expectThrows(ExecutionException.class,
+                () -> provider.whenLoaded().get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof MonetaryException);
+
+        try (InputStream is = getClass().getResourceAsStream("/java-money/defaults/ECB/eurofxref-daily.xml")) {
+            provider.newDataLoaded(DATA_ID, is);
+        }
+
+        provider.whenLoaded().get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldCompleteLoadAfterFailedLoad() throws Exception {
+        TestRateProvider provider = createProvider();
+
+        provider.newDataLoaded(DATA_ID, new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Offline");
+            }
+        });
+
+        provider.whenLoaded().get(1, TimeUnit.SECONDS);
+    }
+
+    private static TestRateProvider createProvider() throws IOException {
+        Files.deleteIfExists(ExchangeRateStoreFile.getPath(DATA_ID));
+        return new TestRateProvider();
+    }
+
+    /**
+     * Provider of a data id unknown to the loader, so it is only loaded by the tests, starting without a snapshot.
+     * Each provider merges its rates into its own source, leaving the source of the ECB providers unchanged.
+     */
+    private static final class TestRateProvider extends ECBAbstractRateProvider {
+
+        TestRateProvider() {
+            super(ProviderContextBuilder.of(DATA_ID, RateType.HISTORIC).build(), new ECBRateSource());
+        }
+
+        @Override
+        protected String getDataId() {
+            return DATA_ID;
+        }
+    }
+}
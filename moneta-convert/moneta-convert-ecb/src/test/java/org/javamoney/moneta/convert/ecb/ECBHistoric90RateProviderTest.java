@@ -44,6 +44,7 @@ import javax.money.convert.ExchangeRateProvider;
 import org.javamoney.moneta.Money;
 import org.javamoney.moneta.convert.ExchangeRateType;
 import org.javamoney.moneta.convert.ecb.ECBHistoric90RateProvider;
+import org.javamoney.moneta.spi.AbstractRateProvider;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
@@ -184,6 +185,27 @@ public class ECBHistoric90RateProviderTest {
 
 	}
 
+	@Test
+	public void shouldFallBackToPreviousBusinessDay() {
+
+		LocalDate sunday = LocalDate.now().minusDays(30)
+				.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
+
+		ConversionQuery conversionQuery = ConversionQueryBuilder.of()
+				.setTermCurrency(EURO).set(sunday)
+				.set(AbstractRateProvider.KEY_PREVIOUS_DAY_FALLBACK, true).build();
+		CurrencyConversion currencyConversion = provider
+				.getCurrencyConversion(conversionQuery);
+		assertNotNull(currencyConversion);
+		MonetaryAmount money = Money.of(BigDecimal.TEN, DOLLAR);
+		MonetaryAmount result = currencyConversion.apply(money);
+
+		assertEquals(result.getCurrency(), EURO);
+		assertTrue(result.getNumber().doubleValue() > 0);
+		assertTrue(currencyConversion.getExchangeRate(money).getContext()
+				.get(LocalDate.class).isBefore(sunday));
+	}
+
 	@Test(expectedExceptions = MonetaryException.class)
 	public void shouldReturnErrorWhenDoesNotFindTheExchangeRate() {
 
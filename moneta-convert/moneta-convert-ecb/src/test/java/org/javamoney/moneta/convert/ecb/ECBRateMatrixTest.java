@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.testng.annotations.Test;
+
+public class ECBRateMatrixTest {
+
+    private static final ConversionContext CONTEXT = ConversionContextBuilder.create(
+            ProviderContextBuilder.of("ECB", RateType.DEFERRED).build(), RateType.DEFERRED).build();
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit FRANC = Monetary.getCurrency("CHF");
+
+    private static final ExchangeRate EURO_DOLLAR = rate(EURO, DOLLAR, new BigDecimal("1.1305"));
+
+    private static final ExchangeRate EURO_FRANC = rate(EURO, FRANC, new BigDecimal("1.1357"));
+
+    private static final ECBRateMatrix MATRIX = new ECBRateMatrix(baseRates(), CONTEXT);
+
+    @Test
+    public void shouldAccessDirectRates() {
+        assertSame(MATRIX.get("EUR", "USD"), EURO_DOLLAR);
+        assertSame(MATRIX.get("EUR", "CHF"), EURO_FRANC);
+        assertEquals(MATRIX.get("EUR", "EUR").getFactor().numberValue(BigDecimal.class).compareTo(BigDecimal.ONE), 0);
+        assertTrue(MATRIX.contains("CHF"));
+        assertFalse(MATRIX.contains("GBP"));
+        assertNull(MATRIX.get("GBP", "EUR"));
+        assertNull(MATRIX.get("USD", "GBP"));
+    }
+
+    @Test
+    public void shouldCreateInverseRatesAsBefore() {
+        ExchangeRate rate = MATRIX.get("USD", "EUR");
+        assertEquals(rate.getBaseCurrency(), DOLLAR);
+        assertEquals(rate.getCurrency(), EURO);
+        assertEquals(rate.getFactor().numberValue(BigDecimal.class), reverse(EURO_DOLLAR));
+        assertSame(MATRIX.get("USD", "EUR"), rate);
+    }
+
+    @Test
+    public void shouldCreateCrossRatesAsBefore() {
+        ExchangeRate rate = MATRIX.get("USD", "CHF");
+        assertEquals(rate.getBaseCurrency(), DOLLAR);
+        assertEquals(rate.getCurrency(), FRANC);
+        assertEquals(rate.getContext(), CONTEXT);
+        assertEquals(rate.getFactor().numberValue(BigDecimal.class),
+                reverse(EURO_DOLLAR).multiply(EURO_FRANC.getFactor().numberValue(BigDecimal.class)));
+        assertEquals(rate.getExchangeRateChain(), Arrays.asList(MATRIX.get("USD", "EUR"), EURO_FRANC));
+        assertEquals(MATRIX.get("USD", "CHF"), rate);
+    }
+
+    /**
+     * The factor of the inverse rate, as calculated by the provider before the rates of a day were kept together.
+     */
+    private static BigDecimal reverse(ExchangeRate rate) {
+        return BigDecimal.ONE.divide(rate.getFactor().numberValue(BigDecimal.class), MathContext.DECIMAL64);
+    }
+
+    private static Map<String, ExchangeRate> baseRates() {
+        Map<String, ExchangeRate> rates = new HashMap<>();
+        rates.put("USD", EURO_DOLLAR);
+        rates.put("CHF", EURO_FRANC);
+        return rates;
+    }
+
+    private static ExchangeRate rate(CurrencyUnit base, CurrencyUnit term, BigDecimal factor) {
+        return new ExchangeRateBuilder(CONTEXT).setBase(base).setTerm(term)
+                .setFactor(new DefaultNumberValue(factor)).build();
+    }
+}
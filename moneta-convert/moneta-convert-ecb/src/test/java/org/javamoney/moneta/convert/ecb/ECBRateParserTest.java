@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateStore;
+import org.testng.annotations.Test;
+
+public class ECBRateParserTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("ECB", RateType.HISTORIC).build();
+
+    private static final String FEED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<gesmes:Envelope xmlns:gesmes=\"http://www.gesmes.org/xml/2002-08-01\" "
+            + "xmlns=\"http://www.ecb.int/vocabulary/2002-08-01/eurofxref\">"
+            + "<gesmes:subject>Reference rates</gesmes:subject><Cube>\n"
+            + "<Cube time='2019-03-08'>\n\t<Cube currency='USD' rate='1.1214'/>\n\t<Cube currency='DKK' rate='7.4600'/>"
+            + "</Cube><Cube time=\"2019-03-07\"><Cube currency=\"USD\" rate=\"1.1305\" /></Cube></Cube>"
+            + "</gesmes:Envelope>";
+
+    @Test
+    public void shouldParseRatesExactly() throws IOException {
+        Map<LocalDate, Map<String, ExchangeRate>> rates = parse(
+                new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(rates.size(), 2);
+        Map<String, ExchangeRate> friday = rates.get(LocalDate.of(2019, Month.MARCH, 8));
+        assertEquals(friday.get("USD").getFactor().numberValue(BigDecimal.class), new BigDecimal("1.1214"));
+        assertEquals(friday.get("DKK").getFactor().numberValue(BigDecimal.class).compareTo(new BigDecimal("7.46")), 0);
+        assertEquals(friday.get("USD").getBaseCurrency(), ECBAbstractRateProvider.BASE_CURRENCY);
+        assertEquals(friday.get("USD").getContext().get(LocalDate.class), LocalDate.of(2019, Month.MARCH, 8));
+        assertSame(friday.get("USD").getContext(), friday.get("DKK").getContext());
+        assertEquals(rates.get(LocalDate.of(2019, Month.MARCH, 7)).get("USD").getFactor().doubleValue(), 1.1305);
+    }
+
+    @Test
+    public void shouldParseTagsSplitAcrossReads() throws IOException {
+        InputStream slow = new FilterInputStream(new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        Map<LocalDate, Map<String, ExchangeRate>> rates = parse(slow);
+        assertEquals(rates.size(), 2);
+        assertTrue(rates.get(LocalDate.of(2019, Month.MARCH, 8)).containsKey("DKK"));
+    }
+
+    @Test
+    public void shouldParseDaysInParallel() throws IOException {
+        StringBuilder feed = new StringBuilder("<gesmes:Envelope><Cube>");
+        LocalDate date = LocalDate.of(2019, Month.MARCH, 8);
+        for (int i = 0; i < 200; i++) {
+            feed.append("<Cube time='").append(date.minusDays(i)).append("'><Cube currency='USD' rate='1.")
+                    .append(1000 + i).append("'/><Cube currency='CHF' rate='1.").append(2000 + i).append("'/></Cube>");
+        }
+        byte[] data = feed.append("</Cube></gesmes:Envelope>").toString().getBytes(StandardCharsets.UTF_8);
+        Map<LocalDate, Map<String, ExchangeRate>> sequential = parse(new ByteArrayInputStream(data));
+        Map<LocalDate, Map<String, ExchangeRate>> parallel = toRates(
+                ECBRateParser.parseAll(data, 256));
+        assertEquals(parallel.size(), 200);
+        assertEquals(parallel, sequential);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectInvalidParallelRate() throws IOException {
+        ECBRateParser.parseAll("<Cube time='2019-03-08'><Cube currency='USD' rate='N/A'/></Cube>"
+                .getBytes(StandardCharsets.UTF_8), 8);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectInvalidRate() throws IOException {
+        parse(new ByteArrayInputStream("<Cube time='2019-03-08'><Cube currency='USD' rate='N/A'/></Cube>"
+                .getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldKeepFactorsNotFittingLong() throws IOException {
+        Map<LocalDate, ECBDayRates> days = new ECBRateParser().parse(new ByteArrayInputStream(
+                "<Cube time='2019-03-08'><Cube currency='USD' rate='12345678901234567890.123'/></Cube>"
+                        .getBytes(StandardCharsets.UTF_8)));
+        ECBDayRates friday = days.get(LocalDate.of(2019, Month.MARCH, 8));
+        assertEquals(friday.size(), 1);
+        assertEquals(friday.getFactor(0), new BigDecimal("12345678901234567890.123"));
+    }
+
+    private static Map<LocalDate, Map<String, ExchangeRate>> parse(InputStream is) throws IOException {
+        return toRates(new ECBRateParser().parse(is));
+    }
+
+    private static Map<LocalDate, Map<String, ExchangeRate>> toRates(Map<LocalDate, ECBDayRates> days) {
+        ExchangeRateStore.Builder builder = new ExchangeRateStore.Builder(CONTEXT,
+                ECBAbstractRateProvider.BASE_CURRENCY, true);
+        days.values().forEach(day -> day.addTo(builder));
+        ExchangeRateStore store = builder.build();
+        Map<LocalDate, Map<String, ExchangeRate>> rates = new HashMap<>();
+        for (LocalDate date : days.keySet()) {
+            Map<String, ExchangeRate> day = new HashMap<>();
+            store.getRates(date).forEach(rate -> day.put(rate.getCurrency().getCurrencyCode(), rate));
+            rates.put(date, day);
+        }
+        return rates;
+    }
+}
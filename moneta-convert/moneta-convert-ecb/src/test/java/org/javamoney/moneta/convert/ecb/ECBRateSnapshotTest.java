@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateSeries;
+import org.testng.annotations.Test;
+
+public class ECBRateSnapshotTest {
+
+    private static final ProviderContext PROVIDER_CONTEXT = ProviderContextBuilder.of("ECB", RateType.HISTORIC).build();
+
+    private static final ConversionContext CONTEXT = ConversionContextBuilder.create(PROVIDER_CONTEXT,
+            RateType.HISTORIC).build();
+
+    private static final LocalDate MONDAY = LocalDate.of(2019, Month.MARCH, 4);
+
+    private static final LocalDate FRIDAY = LocalDate.of(2019, Month.MARCH, 8);
+
+    private static final LocalDate TUESDAY = LocalDate.of(2019, Month.MARCH, 5);
+
+    private static final ECBRateSnapshot EMPTY = ECBRateSnapshot.empty(PROVIDER_CONTEXT, 0);
+
+    @Test
+    public void shouldUpdateWithoutChangingPublishedSnapshot() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        ECBRateSnapshot first = EMPTY.update(source, MONDAY);
+        source.merge(rates(FRIDAY, "USD", 1.2));
+        ECBRateSnapshot second = first.update(source, MONDAY);
+        ECBRateMatrix friday = second.getMatrix(FRIDAY, CONTEXT);
+        source.merge(rates(MONDAY, "CHF", 1.3));
+        ECBRateSnapshot third = second.update(source, MONDAY);
+
+        assertTrue(EMPTY.isEmpty());
+        assertEquals(first.size(), 1);
+        assertFalse(first.contains(FRIDAY));
+        assertFalse(first.isCurrent(source));
+        assertTrue(third.isCurrent(source));
+        assertEquals(second.getLatestDate(), FRIDAY);
+        assertNull(second.getMatrix(MONDAY, CONTEXT).get("CHF", "EUR"));
+        assertSame(third.getMatrix(FRIDAY, CONTEXT), friday);
+        assertEquals(third.getMatrix(MONDAY, CONTEXT).get("EUR", "USD").getFactor().doubleValue(), 1.1);
+        assertEquals(third.getMatrix(MONDAY, CONTEXT).get("EUR", "CHF").getFactor().doubleValue(), 1.3);
+    }
+
+    @Test
+    public void shouldFindPreviousDate() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        ECBRateSnapshot snapshot = EMPTY.update(source, MONDAY);
+        assertEquals(snapshot.getFloorDate(FRIDAY), MONDAY);
+        assertNull(snapshot.getFloorDate(MONDAY.minusDays(1)));
+        assertNull(snapshot.getMatrix(FRIDAY, CONTEXT));
+        assertSame(snapshot.getMatrix(MONDAY, CONTEXT), snapshot.getMatrix(MONDAY, CONTEXT));
+    }
+
+    @Test
+    public void shouldViewRatesOfWindowOnly() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        source.merge(rates(FRIDAY, "USD", 1.2));
+        ECBRateSnapshot window = EMPTY.update(source, TUESDAY);
+        ECBRateSnapshot all = EMPTY.update(source, MONDAY);
+
+        assertEquals(window.size(), 1);
+        assertFalse(window.contains(MONDAY));
+        assertNull(window.getFloorDate(TUESDAY));
+        assertNull(window.getMatrix(MONDAY, CONTEXT));
+        assertEquals(window.getLatestDate(), FRIDAY);
+        assertEquals(all.size(), 2);
+        assertEquals(all.getFloorDate(TUESDAY), MONDAY);
+        assertTrue(EMPTY.update(source, null).isEmpty());
+    }
+
+    @Test
+    public void shouldAccessSeriesOfWindow() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        source.merge(rates(TUESDAY, "USD", 1.25));
+        source.merge(rates(TUESDAY, "CHF", 1.5));
+        source.merge(rates(FRIDAY, "USD", 1.2));
+        ECBRateSnapshot snapshot = EMPTY.update(source, TUESDAY);
+
+        ExchangeRateSeries series = snapshot.getSeries(Monetary.getCurrency("EUR"), Monetary.getCurrency("USD"),
+                MONDAY, FRIDAY);
+        assertEquals(series.getDates(), Arrays.asList(TUESDAY, FRIDAY));
+        assertEquals(series.getFactors(), new double[]{1.25, 1.2});
+        ExchangeRateSeries cross = snapshot.getSeries(Monetary.getCurrency("USD"), Monetary.getCurrency("CHF"),
+                MONDAY, FRIDAY);
+        assertEquals(cross.getDates(), Collections.singletonList(TUESDAY));
+        assertEquals(cross.getFactor(0), 1.2, 1e-12);
+        assertEquals(snapshot.getSeries(Monetary.getCurrency("EUR"), Monetary.getCurrency("EUR"), MONDAY, FRIDAY)
+                .size(), 2);
+        assertTrue(EMPTY.getSeries(Monetary.getCurrency("EUR"), Monetary.getCurrency("USD"), MONDAY, FRIDAY)
+                .isEmpty());
+    }
+
+    @Test
+    public void shouldCreateRatesOfCachedDaysOnly() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        source.merge(rates(FRIDAY, "USD", 1.2));
+        ECBRateSnapshot snapshot = ECBRateSnapshot.empty(PROVIDER_CONTEXT, 1).update(source, MONDAY);
+        ECBRateMatrix monday = snapshot.getMatrix(MONDAY, CONTEXT);
+        assertSame(snapshot.getMatrix(MONDAY, CONTEXT), monday);
+        ExchangeRate friday = snapshot.getMatrix(FRIDAY, CONTEXT).get("EUR", "USD");
+        assertEquals(friday.getFactor().doubleValue(), 1.2);
+        assertEquals(friday.getContext().get(LocalDate.class), FRIDAY);
+        assertNotSame(snapshot.getMatrix(MONDAY, CONTEXT), monday);
+        assertEquals(snapshot.getMatrix(MONDAY, CONTEXT).get("EUR", "USD"), monday.get("EUR", "USD"));
+    }
+
+    @Test
+    public void shouldAccessAllRatesOfWindow() {
+        ECBRateSource source = new ECBRateSource();
+        source.merge(rates(MONDAY, "USD", 1.1));
+        source.merge(rates(TUESDAY, "USD", 1.25));
+        source.merge(rates(FRIDAY, "USD", 1.2));
+        ECBRateSnapshot eager = EMPTY.update(source, TUESDAY);
+        ECBRateSnapshot lazy = ECBRateSnapshot.empty(PROVIDER_CONTEXT, 1).update(source, TUESDAY);
+
+        assertEquals(eager.getAllRates().keySet(), new TreeSet<>(Arrays.asList(TUESDAY, FRIDAY)));
+        assertEquals(eager.getAllRates().get(FRIDAY).get("USD").getFactor().doubleValue(), 1.2);
+        assertEquals(lazy.getAllRates(), eager.getAllRates());
+        assertTrue(EMPTY.getAllRates().isEmpty());
+    }
+
+    @Test
+    public void shouldBoundMatricesOfEagerSnapshot() {
+        ECBRateSource source = new ECBRateSource();
+        for (int day = 0; day <= ECBRateSnapshot.EAGER_CACHED_DAYS; day++) {
+            source.merge(rates(MONDAY.plusDays(day), "USD", 1.1));
+        }
+        ECBRateSnapshot snapshot = EMPTY.update(source, MONDAY);
+        ECBRateMatrix monday = snapshot.getMatrix(MONDAY, CONTEXT);
+        for (int day = 1; day <= ECBRateSnapshot.EAGER_CACHED_DAYS; day++) {
+            snapshot.getMatrix(MONDAY.plusDays(day), CONTEXT);
+        }
+        assertNotSame(snapshot.getMatrix(MONDAY, CONTEXT), monday);
+        assertEquals(snapshot.getMatrix(MONDAY, CONTEXT).get("EUR", "USD"), monday.get("EUR", "USD"));
+    }
+
+    private static Map<LocalDate, ECBDayRates> rates(LocalDate date, String currency, double factor) {
+        Map<LocalDate, ECBDayRates> rates = new HashMap<>();
+        rates.put(date, new ECBDayRates.Builder(date)
+                .add(Monetary.getCurrency(currency), BigDecimal.valueOf(factor)).build());
+        return rates;
+    }
+}
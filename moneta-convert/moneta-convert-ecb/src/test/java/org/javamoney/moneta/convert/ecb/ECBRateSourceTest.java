@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.ecb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.money.Monetary;
+
+import org.testng.annotations.Test;
+
+public class ECBRateSourceTest {
+
+    private static final LocalDate THURSDAY = LocalDate.of(2019, Month.APRIL, 18);
+
+    private static final LocalDate TUESDAY = LocalDate.of(2019, Month.APRIL, 23);
+
+    @Test
+    public void shouldMergeByDate() {
+        ECBRateSource source = new ECBRateSource();
+        int generation = source.getVersion().getGeneration();
+        source.merge(rates(THURSDAY, 1.1));
+        source.merge(rates(TUESDAY, 1.2));
+        source.merge(rates(THURSDAY, 1.3));
+
+        assertEquals(source.getVersion().getStore().getDayCount(), 2);
+        assertEquals(source.getVersion().getStore().getRate(Monetary.getCurrency("USD"), THURSDAY).getFactor()
+                .doubleValue(), 1.3);
+        assertTrue(source.isChanged(THURSDAY, generation + 2));
+        assertFalse(source.isChanged(TUESDAY, generation + 2));
+    }
+
+    @Test
+    public void shouldDetectMissingDays() {
+        ECBRateSource source = new ECBRateSource();
+        assertTrue(source.isMissingBefore(TUESDAY, 7));
+        source.merge(rates(THURSDAY, 1.1));
+        assertFalse(source.isMissingBefore(TUESDAY, 7));
+        assertTrue(source.isMissingBefore(TUESDAY, 4));
+        assertTrue(source.isMissingBefore(THURSDAY.plusDays(8), 7));
+    }
+
+    private static Map<LocalDate, ECBDayRates> rates(LocalDate date, double factor) {
+        return Collections.singletonMap(date, new ECBDayRates.Builder(date)
+                .add(Monetary.getCurrency("USD"), BigDecimal.valueOf(factor)).build());
+    }
+}
@@ -9,6 +9,8 @@ import javax.money.convert.CurrencyConversion;
 import javax.money.convert.ExchangeRateProvider;
 import javax.money.convert.MonetaryConversions;
 
+import static org.testng.Assert.assertSame;
+
 /**
  * Created by atsticks on 07.07.17.
  */
@@ -82,4 +84,12 @@ public class ProviderTest {
         }
 
     }
+
+    @Test
+    public void testCompoundProviderIsReused() {
+        final ExchangeRateProvider rateProvider = MonetaryConversions.getExchangeRateProvider("ECB", "ECB-HIST90");
+        assertSame(MonetaryConversions.getExchangeRateProvider("ECB", "ECB-HIST90"), rateProvider);
+        assertSame(MonetaryConversions.getExchangeRateProvider("ECB"),
+                MonetaryConversions.getExchangeRateProvider("ECB"));
+    }
 }
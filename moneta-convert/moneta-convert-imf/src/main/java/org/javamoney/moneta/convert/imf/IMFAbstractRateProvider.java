@@ -15,21 +15,23 @@
  */
 package org.javamoney.moneta.convert.imf;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Currency;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,18 +46,24 @@ import javax.money.convert.ExchangeRate;
 import javax.money.convert.ProviderContext;
 
 import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.javamoney.moneta.convert.AsyncExchangeRateProvider;
 import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.convert.ExchangeRateLoadTimeout;
+import org.javamoney.moneta.convert.ExchangeRateSeries;
+import org.javamoney.moneta.convert.ExchangeRateSeriesProvider;
+import org.javamoney.moneta.convert.ExchangeRateStore;
+import org.javamoney.moneta.convert.ExchangeRateStoreFile;
 import org.javamoney.moneta.convert.imf.IMFRateReadingHandler.RateIMFResult;
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ExchangeRateCache;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
 
-abstract class IMFAbstractRateProvider extends AbstractRateProvider implements LoaderListener {
+abstract class IMFAbstractRateProvider extends AbstractRateProvider implements LoaderListener,
+        ExchangeRateSeriesProvider, AsyncExchangeRateProvider {
 
 
     private static final Logger LOG = Logger.getLogger(IMFAbstractRateProvider.class.getName());
 
-    static final Comparator<ExchangeRate> COMPARATOR_EXCHANGE_BY_LOCAL_DATE = Comparator.comparing(c -> c.getContext().get(LocalDate.class));
-
     static final String DEFAULT_USER_AGENT = "Chrome/51.0.2704.103";
 
 	protected static final Map<String, CurrencyUnit> CURRENCIES_BY_NAME = new HashMap<>();
@@ -64,14 +72,35 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
             CurrencyUnitBuilder.of("SDR", CurrencyContextBuilder.of(IMFRateProvider.class.getSimpleName()).build())
                     .setDefaultFractionDigits(3).build(true);
 
-	protected Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr = Collections.emptyMap();
+	/**
+	 * The loaded rates, indexed by currency and date.
+	 */
+	volatile IMFRateIndex rateIndex;
+
+	/**
+	 * Guards updates of {@link #rateIndex}, reads are not locked.
+	 */
+	private final Object rateIndexLock = new Object();
 
-	protected Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency = Collections.emptyMap();
+    /**
+     * The checksum of the data last parsed or restored, -1 if none.
+     */
+    private volatile long parsedChecksum = -1L;
 
     protected volatile String loadState;
 
     protected volatile CountDownLatch loadLock = new CountDownLatch(1);
 
+    /**
+     * Completed together with {@link #loadLock}, for callers not blocking on the load.
+     */
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    /**
+     * The time callers wait for the first load, in milliseconds.
+     */
+    volatile long loadTimeoutMillis = TimeUnit.SECONDS.toMillis(30);
+
 	protected final IMFRateReadingHandler handler;
 
 	private final ProviderContext context;
@@ -80,6 +109,7 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
 		super(providerContext);
 		this.context = providerContext;
 		handler = new IMFRateReadingHandler(CURRENCIES_BY_NAME, context);
+		rateIndex = IMFRateIndex.empty(context);
 	}
 
 
@@ -110,81 +140,236 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
     @Override
     public void newDataLoaded(String resourceId, InputStream is) {
         try {
-            int oldSize = this.sdrToCurrency.size();
-        	RateIMFResult result = handler.read(is);
-        	this.sdrToCurrency = result.getSdrToCurrency();
-            this.currencyToSdr = result.getCurrencyToSdr();
-            int newSize = this.sdrToCurrency.size();
+            byte[] data = readAll(is);
+            long checksum = ExchangeRateStoreFile.checksum(data);
+            if (checksum == parsedChecksum) {
+                loadState = "Unchanged " + resourceId + " exchange rates";
+                LOG.fine(loadState);
+                loadFinished();
+                return;
+            }
+        	RateIMFResult result = handler.read(new ByteArrayInputStream(data));
+            int oldSize;
+            int newSize;
+            synchronized (rateIndexLock) {
+                oldSize = this.rateIndex.size();
+                this.rateIndex = createRateIndex(this.rateIndex, result);
+                this.parsedChecksum = checksum;
+                newSize = this.rateIndex.size();
+            }
+            ExchangeRateCache.invalidateAll();
             loadState = "Loaded " + resourceId + " exchange rates for days:" + (newSize - oldSize);
             LOG.info(loadState);
-            loadLock.countDown();
+            loadFinished();
+            storeRates(resourceId, checksum, result);
         } catch (Exception e) {
             loadState = "Last Error during data load: " + e.getMessage();
+            loadFinished();
             throw new IllegalArgumentException("Failed to load IMF data provided.", e);
         }
     }
 
-    @Override
-    public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+    /**
+     * Restores the rates of the data last parsed from its snapshot, so the provider is ready without parsing the
+     * data again.
+     *
+     * @param resourceId the id of the resource loaded, not null.
+     */
+    void restoreRates(String resourceId) {
+        Path file = ExchangeRateStoreFile.getPath(resourceId);
         try {
-            if (loadLock.await(30, TimeUnit.SECONDS)) {
-                if (currencyToSdr.isEmpty()) {
-                    return null;
-                }
-                if (!isAvailable(conversionQuery)) {
-                    return null;
-                }
-                CurrencyUnit base = conversionQuery.getBaseCurrency();
-                CurrencyUnit term = conversionQuery.getCurrency();
-                LocalDate[] times = getQueryDates(conversionQuery);
-                ExchangeRate rate1 = getExchangeRate(currencyToSdr.get(base), times);
-                ExchangeRate rate2 = getExchangeRate(sdrToCurrency.get(term), times);
-                if (base.equals(SDR)) {
-                    return rate2;
-                } else if (term.equals(SDR)) {
-                    return rate1;
-                }
-                if (Objects.isNull(rate1) || Objects.isNull(rate2)) {
-                    return null;
-                }
+            ExchangeRateStoreFile stored = ExchangeRateStoreFile.read(file, context,
+                    IMFAbstractRateProvider::findCurrency);
+            if (Objects.isNull(stored) || stored.getStores().size() != 2 || stored.getStores().get(0).isEmpty()) {
+                return;
+            }
+            RateIMFResult result = new RateIMFResult(stored.getStores().get(0), stored.getStores().get(1));
+            synchronized (rateIndexLock) {
+                this.rateIndex = createRateIndex(this.rateIndex, result);
+                this.parsedChecksum = stored.getDataChecksum();
+            }
+            loadState = "Restored " + resourceId + " exchange rates for days:" + this.rateIndex.size();
+            LOG.info(loadState);
+            loadFinished();
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring exchange rate snapshot " + file, e);
+        }
+    }
 
-                ConversionContext context = getExchangeContext("imf.digit.fraction");
+    /**
+     * Writes the snapshot of the given rates, restored on the next start.
+     */
+    private void storeRates(String resourceId, long checksum, RateIMFResult result) {
+        Path file = ExchangeRateStoreFile.getPath(resourceId);
+        try {
+            ExchangeRateStoreFile.write(file, checksum, result.getCurrencyToSdr(), result.getSdrToCurrency());
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Failed to write exchange rate snapshot " + file, e);
+        }
+    }
 
-                ExchangeRateBuilder builder =
-                        new ExchangeRateBuilder(context);
-                builder.setBase(base);
-                builder.setTerm(term);
-                builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
-                builder.setRateChain(rate1, rate2);
+    private static CurrencyUnit findCurrency(String code) {
+        if (SDR.getCurrencyCode().equals(code)) {
+            return SDR;
+        }
+        return Monetary.isCurrencyAvailable(code) ? Monetary.getCurrency(code) : null;
+    }
 
-                return builder.build();
-            }else{
-                // Lets wait for a successful load only once, then answer requests as data is present.
-                loadLock.countDown();
-                throw new MonetaryException("Failed to load currency conversion data: " + loadState);
+    private static byte[] readAll(InputStream is) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = is.read(chunk)) >= 0) {
+            bytes.write(chunk, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Creates the rate index after a data load. By default the loaded rates replace all current rates.
+     *
+     * @param current the current rate index, not null.
+     * @param result  the loaded rates, not null.
+     * @return the new rate index, never null.
+     */
+    IMFRateIndex createRateIndex(IMFRateIndex current, RateIMFResult result) {
+        return new IMFRateIndex(result.getCurrencyToSdr(), result.getSdrToCurrency());
+    }
+
+    /**
+     * Adds the given rates to the current rates and publishes them at once.
+     *
+     * @param results the rates to add, not null.
+     */
+    void mergeRates(List<RateIMFResult> results) {
+        synchronized (rateIndexLock) {
+            IMFRateIndex index = this.rateIndex;
+            for (RateIMFResult result : results) {
+                index = index.merge(result);
             }
+            this.rateIndex = index;
+        }
+        ExchangeRateCache.invalidateAll();
+    }
+
+    @Override
+    public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+        IMFRateIndex index = awaitRateIndex(isFailFast(conversionQuery));
+        if (index.isEmpty()) {
+            return null;
+        }
+        if (!isAvailable(conversionQuery)) {
+            return null;
+        }
+        CurrencyUnit base = conversionQuery.getBaseCurrency();
+        CurrencyUnit term = conversionQuery.getCurrency();
+        LocalDate[] times = getQueryDates(conversionQuery);
+        boolean fallback = isPreviousDayFallback(conversionQuery);
+        ExchangeRate rate1 = getExchangeRate(index.getCurrencyToSdr(), base, times, fallback);
+        ExchangeRate rate2 = getExchangeRate(index.getSdrToCurrency(), term, times, fallback);
+        if (base.equals(SDR)) {
+            return rate2;
+        } else if (term.equals(SDR)) {
+            return rate1;
+        }
+        if (Objects.isNull(rate1) || Objects.isNull(rate2)) {
+            return null;
+        }
+        return createCrossRate(rate1, rate2);
+    }
+
+    @Override
+    public ExchangeRateSeries getExchangeRateSeries(CurrencyUnit base, CurrencyUnit term, LocalDate from,
+                                                    LocalDate to) {
+        Objects.requireNonNull(base);
+        Objects.requireNonNull(term);
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        IMFRateIndex index = awaitRateIndex(false);
+        if (base.equals(SDR) && term.equals(SDR)) {
+            return ExchangeRateSeries.identity(SDR, index.getSdrToCurrency().getEpochDays(from, to));
+        }
+        ExchangeRateSeries toSdr = base.equals(SDR) ? null : index.getCurrencyToSdr().getSeries(base, from, to);
+        ExchangeRateSeries fromSdr = term.equals(SDR) ? null : index.getSdrToCurrency().getSeries(term, from, to);
+        if (Objects.isNull(toSdr)) {
+            return fromSdr;
+        } else if (Objects.isNull(fromSdr)) {
+            return toSdr;
+        } else if (base.equals(term)) {
+            return ExchangeRateSeries.identity(base, toSdr.getEpochDays());
+        }
+        return toSdr.multiply(fromSdr);
+    }
+
+    @Override
+    public CompletableFuture<Void> whenLoaded() {
+        return ExchangeRateLoadTimeout.within(loaded, loadTimeoutMillis, TimeUnit.MILLISECONDS,
+                () -> "Failed to load currency conversion data: " + loadState);
+    }
+
+    private void loadFinished() {
+        loadLock.countDown();
+        loaded.complete(null);
+    }
+
+    /**
+     * Access the loaded rates, waiting for the first load to finish, unless failing fast.
+     */
+    private IMFRateIndex awaitRateIndex(boolean failFast) {
+        if (failFast && loadLock.getCount() > 0) {
+            throw new MonetaryException("Currency conversion data not loaded yet: " + context.getProviderName());
         }
-        catch(InterruptedException e){
+        try {
+            if (loadLock.await(loadTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return this.rateIndex;
+            }
+            // Lets wait for a successful load only once, then answer requests as data is present.
+            loadFinished();
+            throw new MonetaryException("Failed to load currency conversion data: " + loadState);
+        } catch (InterruptedException e) {
             throw new MonetaryException("Failed to load currency conversion data: Load task has been interrupted.", e);
         }
     }
 
-    private ExchangeRate getExchangeRate(List<ExchangeRate> rates,final LocalDate[] dates) {
-        if (Objects.isNull(rates) ) {
+    private ExchangeRate createCrossRate(ExchangeRate rate1, ExchangeRate rate2) {
+        ConversionContext context = getExchangeContext("imf.digit.fraction");
+
+        ExchangeRateBuilder builder =
+                new ExchangeRateBuilder(context);
+        builder.setBase(rate1.getBaseCurrency());
+        builder.setTerm(rate2.getCurrency());
+        builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
+        builder.setRateChain(rate1, rate2);
+
+        return builder.build();
+    }
+
+    private ExchangeRate getExchangeRate(ExchangeRateStore rates, CurrencyUnit currency, final LocalDate[] dates,
+                                         boolean fallback) {
+        if (!rates.getCurrencies().contains(currency)) {
             return null;
         }
         if (Objects.isNull(dates)) {
-        	return rates.stream()
-                    .max(COMPARATOR_EXCHANGE_BY_LOCAL_DATE)
-                    .orElseThrow(() -> new MonetaryException("There is not more recent exchange rate to  rate on IMFRateProvider."));
+            ExchangeRate latest = rates.getLatestRate(currency);
+            if (Objects.isNull(latest)) {
+                throw new MonetaryException("There is not more recent exchange rate to  rate on IMFRateProvider.");
+            }
+            return latest;
         } else {
         	for (LocalDate localDate : dates) {
-        		Predicate<ExchangeRate> filter = rate -> rate.getContext().get(LocalDate.class).equals(localDate);
-        		Optional<ExchangeRate> exchangeRateOptional = rates.stream().filter(filter).findFirst();
-        		if(exchangeRateOptional.isPresent()) {
-        			return exchangeRateOptional.get();
+        		ExchangeRate rate = rates.getRate(currency, localDate);
+        		if(Objects.nonNull(rate)) {
+        			return rate;
         		}
 			}
+            if (fallback) {
+                for (LocalDate localDate : dates) {
+                    ExchangeRate rate = rates.getFloorRate(currency, localDate);
+                    if (Objects.nonNull(rate)) {
+                        return rate;
+                    }
+                }
+            }
           	String datesOnErros = Stream.of(dates).map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)).collect(Collectors.joining(","));
         	throw new MonetaryException("There is not exchange on day " + datesOnErros + " to rate to  rate on IFMRateProvider.");
         }
@@ -23,6 +23,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -36,6 +39,7 @@ import javax.money.convert.ProviderContextBuilder;
 import javax.money.convert.RateType;
 import javax.money.spi.Bootstrap;
 
+import org.javamoney.moneta.convert.ExchangeRateSeries;
 import org.javamoney.moneta.convert.imf.IMFRateReadingHandler.RateIMFResult;
 import org.javamoney.moneta.spi.LoaderService;
 
@@ -57,9 +61,14 @@ public class IMFHistoricRateProvider extends IMFAbstractRateProvider {
 			.build();
 
 
-	private final List<YearMonth> cachedHistoric = new ArrayList<>();
+	/**
+	 * The months loaded or being loaded, completed when the load has finished.
+	 */
+	private final ConcurrentMap<YearMonth, CompletableFuture<Void>> loadedMonths = new ConcurrentHashMap<>();
+
 	public IMFHistoricRateProvider() {
 		super(CONTEXT);
+		restoreRates(DATA_ID);
 		 LoaderService loader = Bootstrap.getService(LoaderService.class);
 	        loader.addLoaderListener(this, DATA_ID);
 	        try {
@@ -72,46 +81,73 @@ public class IMFHistoricRateProvider extends IMFAbstractRateProvider {
 	@Override
 	public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
 		LocalDate[] times = getQueryDates(conversionQuery);
-		if(Objects.isNull(times)) {
+		// failing fast does not block on fetching months, but answers from the rates loaded so far
+		if(Objects.isNull(times) || isFailFast(conversionQuery)) {
 			return super.getExchangeRate(conversionQuery);
 		}
 
 		for (YearMonth yearMonth : Stream.of(times).map(YearMonth::from)
 				.collect(Collectors.toSet())) {
+			loadMonth(yearMonth);
+		}
+		return super.getExchangeRate(conversionQuery);
+	}
+
+	@Override
+	public ExchangeRateSeries getExchangeRateSeries(CurrencyUnit base, CurrencyUnit term, LocalDate from,
+			LocalDate to) {
+		for (YearMonth yearMonth = YearMonth.from(from); !yearMonth.isAfter(YearMonth.from(to));
+				yearMonth = yearMonth.plusMonths(1)) {
+			loadMonth(yearMonth);
+		}
+		return super.getExchangeRateSeries(base, term, from, to);
+	}
 
-			if(!cachedHistoric.contains(yearMonth)){
-				Map<IMFHistoricalType, InputStream> resources = IMFRemoteSearch.INSTANCE.getResources(yearMonth,
-						getContext().get("User-Agent", String.class));
-				loadFromRemote(resources);
-				cachedHistoric.add(yearMonth);
+	@Override
+	IMFRateIndex createRateIndex(IMFRateIndex current, RateIMFResult result) {
+		// keep the months loaded on demand
+		return current.merge(result);
+	}
+
+	/**
+	 * Loads the rates of the given month, if not yet loaded. Only the first caller fetches the month, concurrent
+	 * callers for the same month wait for it. A failed load is retried by the next query for that month.
+	 *
+	 * @param yearMonth the month, not null.
+	 */
+	private void loadMonth(YearMonth yearMonth) {
+		CompletableFuture<Void> loading = new CompletableFuture<>();
+		CompletableFuture<Void> existing = loadedMonths.putIfAbsent(yearMonth, loading);
+		if (Objects.nonNull(existing)) {
+			existing.join();
+			return;
+		}
+		try {
+			Map<IMFHistoricalType, InputStream> resources = IMFRemoteSearch.INSTANCE.getResources(yearMonth,
+					getContext().get("User-Agent", String.class));
+			if (!loadFromRemote(resources)) {
+				loadedMonths.remove(yearMonth, loading);
 			}
+		} finally {
+			loading.complete(null);
 		}
-		return super.getExchangeRate(conversionQuery);
 	}
 
-	private void loadFromRemote(Map<IMFHistoricalType, InputStream> resources) {
+	private boolean loadFromRemote(Map<IMFHistoricalType, InputStream> resources) {
+		if (resources.size() != IMFHistoricalType.values().length) {
+			// retry months missing a direction of the rates
+			return false;
+		}
 		try {
-			for(IMFHistoricalType type: resources.keySet()) {
-				RateIMFResult result = handler.read(resources.get(type));
-				combine(result.getSdrToCurrency(), this.sdrToCurrency);
-				combine(result.getCurrencyToSdr(), this.currencyToSdr);
+			List<RateIMFResult> results = new ArrayList<>(resources.size());
+			for (InputStream resource : resources.values()) {
+				results.add(handler.read(resource));
 			}
+			mergeRates(results);
+			return true;
 	    } catch (Exception e) {
 	    	LOG.log(Level.SEVERE, "Error", e);
+	    	return false;
 	    }
 	}
-
-	private Map<CurrencyUnit, List<ExchangeRate>> combine(Map<CurrencyUnit, List<ExchangeRate>> source, Map<CurrencyUnit, List<ExchangeRate>> destination) {
-		for(CurrencyUnit currency: source.keySet()) {
-			destination.putIfAbsent(currency, new ArrayList<>());
-			List<ExchangeRate> rates = source.get(currency);
-			destination.merge(currency, rates, IMFHistoricRateProvider::merge);
-		}
-		return destination;
-	}
-	private static List<ExchangeRate> merge(List<ExchangeRate> ratesA, List<ExchangeRate> ratesB) {
-		ratesA.addAll(ratesB);
-		ratesA.sort(COMPARATOR_EXCHANGE_BY_LOCAL_DATE.reversed());
-		return ratesA;
-	}
 }
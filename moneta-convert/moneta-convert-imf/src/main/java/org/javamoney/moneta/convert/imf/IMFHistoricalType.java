@@ -23,7 +23,10 @@ enum IMFHistoricalType {
 
 	private final String type;
 
-	private static final String HOST = "https://www.imf.org/external/np/fin/data/rms_mth.aspx?SelectDate=%s&reportType=%s&tsvflag=Y";
+	/**
+	 * The default URL pattern of the monthly reports, with the month and the report type as arguments.
+	 */
+	static final String DEFAULT_URL_PATTERN = "https://www.imf.org/external/np/fin/data/rms_mth.aspx?SelectDate=%s&reportType=%s&tsvflag=Y";
 
 	IMFHistoricalType(String type) {
 		this.type = type;
@@ -34,6 +37,10 @@ enum IMFHistoricalType {
 	}
 
 	public String getUrl(YearMonth yearMonth) {
-		return String.format(HOST, Objects.requireNonNull(yearMonth), type);
+		return getUrl(DEFAULT_URL_PATTERN, yearMonth);
+	}
+
+	String getUrl(String urlPattern, YearMonth yearMonth) {
+		return String.format(urlPattern, Objects.requireNonNull(yearMonth), type);
 	}
 }
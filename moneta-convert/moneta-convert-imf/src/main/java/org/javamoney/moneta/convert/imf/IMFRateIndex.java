@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.imf;
+
+import java.util.Objects;
+
+import javax.money.convert.ProviderContext;
+
+import org.javamoney.moneta.convert.ExchangeRateStore;
+import org.javamoney.moneta.convert.imf.IMFRateReadingHandler.RateIMFResult;
+
+/**
+ * Immutable index of the IMF rates, kept in one columnar {@link ExchangeRateStore} per direction, so looking up the
+ * latest rate or the rate of a given date does not scan the rates. Cross rates pivoted over the SDR are created
+ * from the two indexed rates on each access.
+ */
+final class IMFRateIndex {
+
+    private final ExchangeRateStore currencyToSdr;
+
+    private final ExchangeRateStore sdrToCurrency;
+
+    /**
+     * Creates a new index.
+     *
+     * @param currencyToSdr the rates from the currencies to the SDR, not null.
+     * @param sdrToCurrency the rates from the SDR to the currencies, not null.
+     */
+    IMFRateIndex(ExchangeRateStore currencyToSdr, ExchangeRateStore sdrToCurrency) {
+        this.currencyToSdr = Objects.requireNonNull(currencyToSdr);
+        this.sdrToCurrency = Objects.requireNonNull(sdrToCurrency);
+    }
+
+    /**
+     * Creates an index without any rates.
+     *
+     * @param context the provider context of the rates, not null.
+     * @return the new index, never null.
+     */
+    static IMFRateIndex empty(ProviderContext context) {
+        return new IMFRateIndex(new ExchangeRateStore.Builder(context, IMFAbstractRateProvider.SDR, false).build(),
+                new ExchangeRateStore.Builder(context, IMFAbstractRateProvider.SDR, true).build());
+    }
+
+    /**
+     * Creates a new index containing the rates of this index and the given rates. Rates of the given result replace
+     * rates of this index for the same currency and date.
+     *
+     * @param result the rates to add, not null.
+     * @return the new index, never null.
+     */
+    IMFRateIndex merge(RateIMFResult result) {
+        return new IMFRateIndex(currencyToSdr.merge(result.getCurrencyToSdr()),
+                sdrToCurrency.merge(result.getSdrToCurrency()));
+    }
+
+    /**
+     * @return true, if the index contains no rates.
+     */
+    boolean isEmpty() {
+        return currencyToSdr.isEmpty();
+    }
+
+    /**
+     * @return the number of currencies with rates from the SDR.
+     */
+    int size() {
+        return sdrToCurrency.getCurrencies().size();
+    }
+
+    /**
+     * @return the rates from the currencies to the SDR, never null.
+     */
+    ExchangeRateStore getCurrencyToSdr() {
+        return currencyToSdr;
+    }
+
+    /**
+     * @return the rates from the SDR to the currencies, never null.
+     */
+    ExchangeRateStore getSdrToCurrency() {
+        return sdrToCurrency;
+    }
+}
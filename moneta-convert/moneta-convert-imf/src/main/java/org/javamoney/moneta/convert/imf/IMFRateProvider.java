@@ -56,6 +56,7 @@ public class IMFRateProvider extends IMFAbstractRateProvider {
 
     public IMFRateProvider() {
         super(CONTEXT);
+        restoreRates(DATA_ID);
         LoaderService loader = Bootstrap.getService(LoaderService.class);
         loader.addLoaderListener(this, DATA_ID);
         try {
@@ -23,8 +23,6 @@ import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -32,13 +30,9 @@ import java.util.Objects;
 import java.util.logging.Logger;
 
 import javax.money.CurrencyUnit;
-import javax.money.convert.ConversionContextBuilder;
-import javax.money.convert.ExchangeRate;
 import javax.money.convert.ProviderContext;
-import javax.money.convert.RateType;
 
-import org.javamoney.moneta.convert.ExchangeRateBuilder;
-import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.javamoney.moneta.convert.ExchangeRateStore;
 
 class IMFRateReadingHandler {
 
@@ -55,8 +49,10 @@ class IMFRateReadingHandler {
 
 	RateIMFResult read(InputStream inputStream) throws IOException,
 			ParseException {
-		Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr = new HashMap<>();
-		Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency = new HashMap<>();
+		ExchangeRateStore.Builder currencyToSdr = new ExchangeRateStore.Builder(context,
+				IMFAbstractRateProvider.SDR, false);
+		ExchangeRateStore.Builder sdrToCurrency = new ExchangeRateStore.Builder(context,
+				IMFAbstractRateProvider.SDR, true);
 
 		BufferedReader reader = new BufferedReader(new InputStreamReader(
 				inputStream));
@@ -108,24 +104,10 @@ class IMFRateReadingHandler {
 					timestamps, currency, parseValues(parts));
 			line = reader.readLine();
 		}
-		// Cast is save, since contained DefaultExchangeRate is Comparable!
-		sortResult(currencyToSdr, sdrToCurrency);
-		return new RateIMFResult(currencyToSdr, sdrToCurrency);
-	}
-
-	@SuppressWarnings("unchecked")
-	private void sortResult(
-			Map<CurrencyUnit, List<ExchangeRate>> newCurrencyToSdr,
-			Map<CurrencyUnit, List<ExchangeRate>> newSdrToCurrency) {
-
-		newSdrToCurrency.values().forEach(
-				(c) -> Collections.sort(List.class.cast(c)));
-		newCurrencyToSdr.values().forEach(
-				(c) -> Collections.sort(List.class.cast(c)));
-		newSdrToCurrency.forEach((c, l) -> LOG.finest(() -> "SDR -> "
-				+ c.getCurrencyCode() + ": " + l));
-		newCurrencyToSdr.forEach((c, l) -> LOG.finest(() -> c
-				.getCurrencyCode() + " -> SDR: " + l));
+		RateIMFResult result = new RateIMFResult(currencyToSdr.build(), sdrToCurrency.build());
+		LOG.finest(() -> "SDR -> currencies: " + result.getSdrToCurrency());
+		LOG.finest(() -> "Currencies -> SDR: " + result.getCurrencyToSdr());
+		return result;
 	}
 
 
@@ -144,8 +126,8 @@ class IMFRateReadingHandler {
 	}
 
 	private void saveExchangeRate(
-			Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr,
-			Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency,
+			ExchangeRateStore.Builder currencyToSdr,
+			ExchangeRateStore.Builder sdrToCurrency,
 			boolean isCurrencyToSdr, List<LocalDate> timestamps,
 			CurrencyUnit currency, Double[] values) {
 
@@ -157,28 +139,11 @@ class IMFRateReadingHandler {
 			}
 
 			LocalDate fromTS = getLocalDateFromTS(timestamps, index);
-			RateType rateType = getRateType(fromTS);
 
 			if (isCurrencyToSdr) {
-				ExchangeRate rate = new ExchangeRateBuilder(
-						ConversionContextBuilder.create(context, rateType)
-								.set(fromTS).build()).setBase(currency)
-						.setTerm(IMFAbstractRateProvider.SDR)
-						.setFactor(new DefaultNumberValue(1D / values[index]))
-						.build();
-				List<ExchangeRate> rates = currencyToSdr.computeIfAbsent(
-						currency, c -> new ArrayList<>(5));
-				rates.add(rate);
+				currencyToSdr.add(fromTS, currency, 1D / values[index]);
 			} else {
-				ExchangeRate rate = new ExchangeRateBuilder(
-						ConversionContextBuilder.create(context, rateType)
-								.set(fromTS).build()).setBase(IMFAbstractRateProvider.SDR)
-						.setTerm(currency)
-						.setFactor(DefaultNumberValue.of(1D / values[index]))
-						.build();
-				List<ExchangeRate> rates = sdrToCurrency.computeIfAbsent(
-						currency, (c) -> new ArrayList<>(5));
-				rates.add(rate);
+				sdrToCurrency.add(fromTS, currency, 1D / values[index]);
 			}
 		}
 	}
@@ -206,29 +171,20 @@ class IMFRateReadingHandler {
 		return timestamps != null ? timestamps.get(index) : null;
 	}
 
-	private RateType getRateType(LocalDate fromTS) {
-		RateType rateType = RateType.HISTORIC;
-		if (fromTS.equals(LocalDate.now())) {
-			rateType = RateType.DEFERRED;
-		}
-		return rateType;
-	}
-
-	class RateIMFResult {
-		private final Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr;
-		private final Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency;
+	static class RateIMFResult {
+		private final ExchangeRateStore currencyToSdr;
+		private final ExchangeRateStore sdrToCurrency;
 
-		RateIMFResult(Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr,
-				Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency) {
+		RateIMFResult(ExchangeRateStore currencyToSdr, ExchangeRateStore sdrToCurrency) {
 			this.currencyToSdr = currencyToSdr;
 			this.sdrToCurrency = sdrToCurrency;
 		}
 
-		public Map<CurrencyUnit, List<ExchangeRate>> getCurrencyToSdr() {
+		public ExchangeRateStore getCurrencyToSdr() {
 			return currencyToSdr;
 		}
 
-		public Map<CurrencyUnit, List<ExchangeRate>> getSdrToCurrency() {
+		public ExchangeRateStore getSdrToCurrency() {
 			return sdrToCurrency;
 		}
 
@@ -29,13 +29,44 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.javamoney.moneta.convert.imf.IMFRemoteSearchCallable.IMFRemoteSearchResult;
+import org.javamoney.moneta.spi.MonetaryConfig;
 
 public enum IMFRemoteSearch {
 	INSTANCE;
 
 	private static final Logger LOG = Logger.getLogger(IMFRemoteSearch.class.getName());
 
-	private final ExecutorService executor = Executors.newCachedThreadPool();
+	/**
+	 * Config key of the number of threads fetching the monthly reports, by default one per report type.
+	 */
+	static final String KEY_THREADS = "imf.remote.threads";
+
+	/**
+	 * Config key of the URL pattern of the monthly reports, see {@link IMFHistoricalType#DEFAULT_URL_PATTERN}.
+	 */
+	static final String KEY_URL_PATTERN = "imf.remote.url";
+
+	private volatile ExecutorService executor;
+
+	private volatile String urlPattern;
+
+	/**
+	 * Sets the executor fetching the monthly reports. The executor is not shut down, when replaced.
+	 *
+	 * @param executor the executor, not null.
+	 */
+	public void setExecutorService(ExecutorService executor) {
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	/**
+	 * Sets the URL pattern of the monthly reports, with the month and the report type as arguments.
+	 *
+	 * @param urlPattern the URL pattern, not null.
+	 */
+	void setUrlPattern(String urlPattern) {
+		this.urlPattern = Objects.requireNonNull(urlPattern);
+	}
 
 	public Map<IMFHistoricalType, InputStream> getResources(YearMonth yearMonth, String userAgent) {
 		Objects.requireNonNull(yearMonth);
@@ -46,9 +77,11 @@ public enum IMFRemoteSearch {
 		Map<IMFHistoricalType, InputStream> map = new EnumMap<>(IMFHistoricalType.class);
 				try {
 			List<Future<IMFRemoteSearchResult>> results = new ArrayList<>(2);
+			ExecutorService executorService = getExecutorService();
+			String pattern = getUrlPattern();
 			for (IMFHistoricalType type : IMFHistoricalType.values()) {
-				results.add(executor.submit(new IMFRemoteSearchCallable(type,
-						yearMonth, userAgent)));
+				results.add(executorService.submit(new IMFRemoteSearchCallable(type,
+						yearMonth, userAgent, pattern)));
 			}
 
 			for (Future<IMFRemoteSearchResult> result : results) {
@@ -64,6 +97,48 @@ public enum IMFRemoteSearch {
 		return map;
 	}
 
+	private ExecutorService getExecutorService() {
+		ExecutorService executorService = this.executor;
+		if (Objects.isNull(executorService)) {
+			synchronized (this) {
+				if (Objects.isNull(this.executor)) {
+					this.executor = createExecutorService();
+				}
+				executorService = this.executor;
+			}
+		}
+		return executorService;
+	}
+
+	private static ExecutorService createExecutorService() {
+		int threads = IMFHistoricalType.values().length;
+		String value = MonetaryConfig.getConfig().get(KEY_THREADS);
+		if (Objects.nonNull(value) && !value.isEmpty()) {
+			try {
+				threads = Math.max(1, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				LOG.log(Level.WARNING, "Invalid " + KEY_THREADS + ": " + value, e);
+			}
+		}
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "IMFRemoteSearch");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private String getUrlPattern() {
+		String pattern = this.urlPattern;
+		if (Objects.isNull(pattern)) {
+			pattern = MonetaryConfig.getConfig().get(KEY_URL_PATTERN);
+			if (Objects.isNull(pattern) || pattern.isEmpty()) {
+				pattern = IMFHistoricalType.DEFAULT_URL_PATTERN;
+			}
+			this.urlPattern = pattern;
+		}
+		return pattern;
+	}
+
 
 
 }
@@ -37,11 +37,17 @@ class IMFRemoteSearchCallable implements Callable<IMFRemoteSearchResult>{
 
 	private final YearMonth yearMonth;
 	private final String userAgent;
+	private final String url;
 
 	IMFRemoteSearchCallable(IMFHistoricalType type, YearMonth yearMonth, String userAgent) {
+		this(type, yearMonth, userAgent, IMFHistoricalType.DEFAULT_URL_PATTERN);
+	}
+
+	IMFRemoteSearchCallable(IMFHistoricalType type, YearMonth yearMonth, String userAgent, String urlPattern) {
 		this.type = Objects.requireNonNull(type);
 		this.yearMonth = Objects.requireNonNull(yearMonth);
 		this.userAgent = Objects.requireNonNull(userAgent);
+		this.url = type.getUrl(Objects.requireNonNull(urlPattern), yearMonth);
 	}
 
 
@@ -62,7 +68,7 @@ class IMFRemoteSearchCallable implements Callable<IMFRemoteSearchResult>{
             }
             return new IMFRemoteSearchResult(type, new ByteArrayInputStream(stream.toByteArray()));
         } catch (Exception e) {
-            LOG.log(Level.INFO, "Failed to load resource from url " + type.getUrl(yearMonth), e);
+            LOG.log(Level.INFO, "Failed to load resource from url " + url, e);
         }
 		return null;
 	}
@@ -70,10 +76,10 @@ class IMFRemoteSearchCallable implements Callable<IMFRemoteSearchResult>{
 
 	private URLConnection getConnection() {
 		try {
-			return new URL(type.getUrl(yearMonth)).openConnection();
+			return new URL(url).openConnection();
 		} catch (Exception e) {
 			LOG.log(Level.INFO, "Failed to load resource from url "
-					+ type.getUrl(yearMonth), e);
+					+ url, e);
 		}
 		return null;
 	}
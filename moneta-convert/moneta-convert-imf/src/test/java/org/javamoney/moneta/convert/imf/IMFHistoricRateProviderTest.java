@@ -21,7 +21,10 @@ import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
@@ -31,6 +34,11 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
@@ -39,6 +47,7 @@ import javax.money.MonetaryException;
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.ConversionQueryBuilder;
 import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
 import javax.money.convert.ExchangeRateProvider;
 
 import org.javamoney.moneta.Money;
@@ -46,6 +55,8 @@ import org.javamoney.moneta.convert.ExchangeRateType;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
+import com.sun.net.httpserver.HttpServer;
+
 public class IMFHistoricRateProviderTest {
 	  private static final CurrencyUnit EURO = Monetary
 	            .getCurrency("EUR");
@@ -229,6 +240,49 @@ public class IMFHistoricRateProviderTest {
 			assertTrue(result.getNumber().doubleValue() > 0);
 		}
 
+		@Test
+		public void shouldLoadMonthOnceForConcurrentQueries() throws Exception {
+			AtomicInteger requests = new AtomicInteger();
+			byte[] body = ("SDRs per Currency unit (2)\n\nCurrency\tMay 04, 2015\nEuro\t0.8\nU.S. dollar\t0.7\n\n"
+					+ "Currency units per SDR(3)\n\nCurrency\tMay 04, 2015\nEuro\t1.25\nU.S. dollar\t1.4\n")
+					.getBytes(StandardCharsets.UTF_8);
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/rms_mth", exchange -> {
+				requests.incrementAndGet();
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			ExecutorService clients = Executors.newFixedThreadPool(8);
+			try {
+				IMFRemoteSearch.INSTANCE.setUrlPattern("http://localhost:" + server.getAddress().getPort()
+						+ "/rms_mth?SelectDate=%s&reportType=%s");
+				IMFHistoricRateProvider historicProvider = new IMFHistoricRateProvider();
+				ConversionQuery conversionQuery = ConversionQueryBuilder.of().setBaseCurrency(DOLLAR)
+						.setTermCurrency(EURO).set(LocalDate.of(2015, Month.MAY, 4)).build();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<ExchangeRate>> results = new ArrayList<>();
+				for (int i = 0; i < 8; i++) {
+					results.add(clients.submit(() -> {
+						start.await();
+						return historicProvider.getExchangeRate(conversionQuery);
+					}));
+				}
+				start.countDown();
+				for (Future<ExchangeRate> result : results) {
+					assertNotNull(result.get());
+				}
+				assertEquals(requests.get(), IMFHistoricalType.values().length);
+			} finally {
+				IMFRemoteSearch.INSTANCE.setUrlPattern(IMFHistoricalType.DEFAULT_URL_PATTERN);
+				clients.shutdown();
+				server.stop(0);
+			}
+		}
+
 		public final LocalDate[] withDaysBetween(LocalDate begin, LocalDate end) {
 
 			int days = (int) ChronoUnit.DAYS.between(begin, end);
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.imf;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateStore;
+import org.javamoney.moneta.convert.imf.IMFRateReadingHandler.RateIMFResult;
+import org.testng.annotations.Test;
+
+public class IMFRateIndexTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("IMF", RateType.HISTORIC).build();
+
+    private static final CurrencyUnit DOLLAR = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+    private static final LocalDate MONDAY = LocalDate.of(2019, Month.MARCH, 4);
+
+    private static final LocalDate FRIDAY = LocalDate.of(2019, Month.MARCH, 8);
+
+    private static final LocalDate SUNDAY = LocalDate.of(2019, Month.MARCH, 10);
+
+    @Test
+    public void shouldReturnLatestRate() {
+        IMFRateIndex index = createIndex(DOLLAR, FRIDAY, MONDAY);
+        ExchangeRate rate = index.getCurrencyToSdr().getLatestRate(DOLLAR);
+        assertEquals(rate.getContext().get(LocalDate.class), FRIDAY);
+    }
+
+    @Test
+    public void shouldReturnRateOfDate() {
+        IMFRateIndex index = createIndex(DOLLAR, FRIDAY, MONDAY);
+        assertEquals(index.getCurrencyToSdr().getRate(DOLLAR, MONDAY).getContext().get(LocalDate.class), MONDAY);
+        assertNull(index.getCurrencyToSdr().getRate(DOLLAR, SUNDAY));
+        assertNull(index.getCurrencyToSdr().getLatestRate(EURO));
+    }
+
+    @Test
+    public void shouldReturnRateOfPreviousDate() {
+        IMFRateIndex index = createIndex(DOLLAR, FRIDAY, MONDAY);
+        assertEquals(index.getCurrencyToSdr().getFloorRate(DOLLAR, SUNDAY).getContext().get(LocalDate.class), FRIDAY);
+        assertEquals(index.getCurrencyToSdr().getFloorRate(DOLLAR, MONDAY).getContext().get(LocalDate.class), MONDAY);
+        assertNull(index.getCurrencyToSdr().getFloorRate(DOLLAR, MONDAY.minusDays(1)));
+    }
+
+    @Test
+    public void shouldMergeRates() {
+        IMFRateIndex index = createIndex(DOLLAR, MONDAY);
+        ExchangeRateStore currencyToSdr = new ExchangeRateStore.Builder(CONTEXT, IMFAbstractRateProvider.SDR, false)
+                .add(FRIDAY, EURO, 0.8).add(FRIDAY, DOLLAR, 0.8).build();
+        RateIMFResult result = new RateIMFResult(currencyToSdr, IMFRateIndex.empty(CONTEXT).getSdrToCurrency());
+
+        IMFRateIndex merged = index.merge(result);
+        assertEquals(merged.getCurrencyToSdr().getLatestRate(DOLLAR).getContext().get(LocalDate.class), FRIDAY);
+        assertEquals(merged.getCurrencyToSdr().getRate(DOLLAR, MONDAY).getContext().get(LocalDate.class), MONDAY);
+        assertEquals(merged.getCurrencyToSdr().getLatestRate(EURO).getContext().get(LocalDate.class), FRIDAY);
+        assertNull(index.getCurrencyToSdr().getLatestRate(EURO));
+    }
+
+    private static IMFRateIndex createIndex(CurrencyUnit currency, LocalDate... dates) {
+        ExchangeRateStore.Builder currencyToSdr = new ExchangeRateStore.Builder(CONTEXT, IMFAbstractRateProvider.SDR,
+                false);
+        for (LocalDate date : dates) {
+            currencyToSdr.add(date, currency, 0.8);
+        }
+        return new IMFRateIndex(currencyToSdr.build(), IMFRateIndex.empty(CONTEXT).getSdrToCurrency());
+    }
+}
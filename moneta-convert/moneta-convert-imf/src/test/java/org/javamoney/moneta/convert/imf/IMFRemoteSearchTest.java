@@ -15,15 +15,23 @@
  */
 package org.javamoney.moneta.convert.imf;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.Month;
 import java.time.YearMonth;
 import java.util.Map;
+import java.util.Scanner;
 
 import org.testng.annotations.Test;
 
+import com.sun.net.httpserver.HttpServer;
+
 public class IMFRemoteSearchTest {
 
 	@Test(expectedExceptions = NullPointerException.class)
@@ -38,4 +46,34 @@ public class IMFRemoteSearchTest {
 		assertNotNull(resources.get(IMFHistoricalType.SDR_Currency));
 	}
 
+	@Test
+	public void shouldReturnStreamFromUrlPattern() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/rms_mth", exchange -> {
+			byte[] body = exchange.getRequestURI().getQuery().getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		try {
+			IMFRemoteSearch.INSTANCE.setUrlPattern("http://localhost:" + server.getAddress().getPort()
+					+ "/rms_mth?SelectDate=%s&reportType=%s");
+			Map<IMFHistoricalType, InputStream> resources = IMFRemoteSearch.INSTANCE
+					.getResources(YearMonth.of(2015, Month.MAY), null);
+			assertEquals(read(resources.get(IMFHistoricalType.Currency_SDR)), "SelectDate=2015-05&reportType=CVSDR");
+			assertEquals(read(resources.get(IMFHistoricalType.SDR_Currency)), "SelectDate=2015-05&reportType=SDRCV");
+		} finally {
+			IMFRemoteSearch.INSTANCE.setUrlPattern(IMFHistoricalType.DEFAULT_URL_PATTERN);
+			server.stop(0);
+		}
+	}
+
+	private static String read(InputStream stream) {
+		try (Scanner scanner = new Scanner(stream, StandardCharsets.UTF_8.name())) {
+			return scanner.useDelimiter("\\A").next();
+		}
+	}
+
 }
@@ -24,11 +24,9 @@ import org.javamoney.moneta.spi.MoneyUtils;
 import javax.money.*;
 import javax.money.format.AmountFormatQuery;
 import javax.money.format.MonetaryAmountFormat;
-import javax.money.format.MonetaryFormats;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -106,7 +104,21 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     /**
      * The current scale represented by the number.
      */
-    private static final int SCALE = 5;
+    static final int SCALE = 5;
+
+    /**
+     * The factors for moving a value with {@code n} fraction digits to the internal {@link #SCALE}, indexed by
+     * {@code SCALE - n}.
+     */
+    private static final long[] SCALE_FACTORS = {1L, 10L, 100L, 1000L, 10000L, 100000L};
+
+    /**
+     * The powers of ten supported as divisors by {@link #multiplyScaled(long, int, CurrencyUnit)}.
+     */
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L};
+
+    private static final long LOW_32_BITS = 0xFFFFFFFFL;
 
     /**
      * the {@link MonetaryContext} used by this instance, e.g. on division.
@@ -194,6 +206,15 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         return MONETARY_CONTEXT;
     }
 
+    /**
+     * Access the internal value, which is the numeric value scaled by {@link #SCALE}.
+     *
+     * @return the internal value.
+     */
+    long getScaledNumber() {
+        return number;
+    }
+
     private long getInternalNumber(Number number) {
         BigDecimal bd = MoneyUtils.getBigDecimal(number);
         if (bd.scale() > SCALE) {
@@ -284,6 +305,9 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     	if(factionDigits < 0) {
     		throw new IllegalArgumentException("The factionDigits cannot be negative");
     	}
+    	if (factionDigits <= SCALE) {
+    		return new FastMoney(Math.multiplyExact(amountMinor, SCALE_FACTORS[SCALE - factionDigits]), currency);
+    	}
     	return of(BigDecimal.valueOf(amountMinor, factionDigits), currency);
     }
 
@@ -401,6 +425,75 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         }
     }
 
+    /**
+     * Multiplies this amount with the fixed-point factor {@code unscaledFactor * 10^-factorScale} and returns the
+     * result in the given currency. The result is truncated to {@link #SCALE} fraction digits like
+     * {@link #multiply(Number)}, but it is calculated on longs only, using a 128 bit intermediate product.
+     *
+     * @param unscaledFactor the unscaled value of the factor.
+     * @param factorScale    the scale of the factor, 0 to 9.
+     * @param currency       the currency of the result, not null.
+     * @return the result, never null.
+     * @throws ArithmeticException if the result exceeds the numeric capabilities of this class.
+     * @throws IllegalArgumentException if the factor scale is not supported.
+     */
+    public FastMoney multiplyScaled(long unscaledFactor, int factorScale, CurrencyUnit currency) {
+        Objects.requireNonNull(currency, "Currency is required.");
+        if (factorScale < 0 || factorScale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported factor scale: " + factorScale);
+        }
+        long divisor = POWERS_OF_TEN[factorScale];
+        try {
+            return new FastMoney(Math.multiplyExact(this.number, unscaledFactor) / divisor, currency);
+        } catch (ArithmeticException e) {
+            return new FastMoney(multiplyDivide(this.number, unscaledFactor, divisor), currency);
+        }
+    }
+
+    /**
+     * Calculates {@code a * b / divisor} truncated towards zero, with a 128 bit intermediate product.
+     *
+     * @param a       the multiplicand.
+     * @param b       the multiplier.
+     * @param divisor the divisor, positive and less than {@code 2^32}.
+     * @return the result.
+     * @throws ArithmeticException if the result does not fit into a long.
+     */
+    private static long multiplyDivide(long a, long b, long divisor) {
+        boolean negative = (a < 0) != (b < 0);
+        // Math.abs(Long.MIN_VALUE) is Long.MIN_VALUE, which is 2^63 as unsigned value
+        long x = Math.abs(a);
+        long y = Math.abs(b);
+        long x0 = x & LOW_32_BITS;
+        long x1 = x >>> 32;
+        long y0 = y & LOW_32_BITS;
+        long y1 = y >>> 32;
+        long p00 = x0 * y0;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p11 = x1 * y1;
+        long middle = (p00 >>> 32) + (p01 & LOW_32_BITS) + (p10 & LOW_32_BITS);
+        long low = (middle << 32) | (p00 & LOW_32_BITS);
+        long high = p11 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+        if (Long.compareUnsigned(high, divisor) >= 0) {
+            throw new ArithmeticException("Overflow: " + a + " * " + b + " / " + divisor);
+        }
+        long current = (high << 32) | (low >>> 32);
+        long quotientHigh = Long.divideUnsigned(current, divisor);
+        current = (Long.remainderUnsigned(current, divisor) << 32) | (low & LOW_32_BITS);
+        long quotient = (quotientHigh << 32) | Long.divideUnsigned(current, divisor);
+        if (negative) {
+            if (quotient < 0 && quotient != Long.MIN_VALUE) {
+                throw new ArithmeticException("Overflow: " + a + " * " + b + " / " + divisor);
+            }
+            return -quotient;
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("Overflow: " + a + " * " + b + " / " + divisor);
+        }
+        return quotient;
+    }
+
     @Override
     public FastMoney negate() {
         return new FastMoney(Math.negateExact(this.number), getCurrency());
@@ -560,13 +653,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
 
     @Override
     public String toString() {
-        try {
-            MonetaryAmount amount = Monetary.getDefaultRounding().apply(this);
-            MonetaryAmountFormat fmt = MonetaryFormats.getAmountFormat(Locale.getDefault());
-            return fmt.format(amount);
-        }catch(Exception e) {
-            return currency.toString() + ' ' + getBigDecimal();
-        }
+        return MonetaryAmountToString.toString(this, () -> currency.toString() + ' ' + getBigDecimal());
     }
 
     // Internal helper methods
@@ -769,4 +856,13 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         return new FastMoneyAmountFactory().setAmount(this);
     }
 
+    /**
+     * Replaces this instance on serialization by a compact {@link MonetaryAmountSerializationProxy}.
+     *
+     * @return the serialization proxy.
+     */
+    private Object writeReplace() {
+        return new MonetaryAmountSerializationProxy(this);
+    }
+
 }
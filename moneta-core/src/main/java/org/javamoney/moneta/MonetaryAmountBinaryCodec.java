@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.CurrencyCodeTable;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryContextBuilder;
+import javax.money.MonetaryException;
+import javax.money.MonetaryOperator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compact binary encoding of {@link Money}, {@link FastMoney} and {@link RoundedMoney} instances. This encoding
+ * is used by the Java serialization of these classes and can also be used directly for transports not based on
+ * Java serialization.
+ * <p>
+ * An encoded amount consists of
+ * <ul>
+ * <li>a header byte, containing the format version, the amount type and flags,</li>
+ * <li>the currency, either as two byte {@link CurrencyCodeTable} index or, for other codes, as
+ * {@link DataOutput#writeUTF(String) UTF string},</li>
+ * <li>the number: the internal value of {@link FastMoney} as zig-zag encoded variable length integer, for the
+ * other types the scale and the unscaled value as variable length integers, falling back to the bytes of
+ * {@link BigInteger#toByteArray()} for large unscaled values,</li>
+ * <li>the {@link MonetaryContext}, only if it is not the default context of the type, as its attributes with
+ * their values: numbers, flags, strings, {@link MathContext}, {@link RoundingMode} and the amount type are encoded
+ * explicitly. Other values, e.g. the {@link MonetaryOperator} rounding of a {@link RoundedMoney}, are only kept
+ * when writing to an {@link ObjectOutput}, as serialized objects on that stream, so the filter of the stream
+ * applies to them, and values not {@link Serializable} fail with a {@link NotSerializableException}. Otherwise
+ * they are dropped, and a {@link RoundedMoney} is read with the default rounding of its context.</li>
+ * </ul>
+ * So {@code EUR 123.45} as {@link Money} with the default context is encoded in 7 bytes.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 1.4
+ */
+public final class MonetaryAmountBinaryCodec {
+
+    private static final int VERSION = 1;
+    private static final int VERSION_SHIFT = 5;
+
+    private static final int TYPE_MASK = 0x03;
+    private static final int TYPE_MONEY = 1;
+    private static final int TYPE_FAST_MONEY = 2;
+    private static final int TYPE_ROUNDED_MONEY = 3;
+
+    private static final int FLAG_CURRENCY_CODE = 0x04;
+    private static final int FLAG_BIG_UNSCALED = 0x08;
+    private static final int FLAG_CONTEXT = 0x10;
+
+    private static final String ROUNDING_KEY = "MonetaryRounding";
+
+    private static final int VALUE_INTEGER = 1;
+    private static final int VALUE_LONG = 2;
+    private static final int VALUE_BOOLEAN = 3;
+    private static final int VALUE_STRING = 4;
+    private static final int VALUE_ROUNDING_MODE = 5;
+    private static final int VALUE_MATH_CONTEXT = 6;
+    private static final int VALUE_AMOUNT_TYPE = 7;
+    private static final int VALUE_OBJECT = 8;
+
+    private static final List<Class<? extends MonetaryAmount>> AMOUNT_TYPES = Arrays.asList(
+            MonetaryAmount.class, Money.class, FastMoney.class, RoundedMoney.class);
+
+    private MonetaryAmountBinaryCodec() {
+    }
+
+    /**
+     * Writes the given amount to the {@link DataOutput}.
+     *
+     * @param amount the amount, a {@link Money}, {@link FastMoney} or {@link RoundedMoney}, not null.
+     * @param out    the target, not null.
+     * @throws IOException              if writing fails.
+     * @throws IllegalArgumentException if the amount type is not supported.
+     */
+    public static void write(MonetaryAmount amount, DataOutput out) throws IOException {
+        requireNonNull(amount, "amount required.");
+        requireNonNull(out, "out required.");
+        int type;
+        BigDecimal number = null;
+        MonetaryContext context = null;
+        if (amount instanceof FastMoney) {
+            type = TYPE_FAST_MONEY;
+        } else if (amount instanceof Money) {
+            type = TYPE_MONEY;
+            number = amount.getNumber().numberValue(BigDecimal.class);
+            if (!Money.DEFAULT_MONETARY_CONTEXT.equals(amount.getContext())) {
+                context = amount.getContext();
+            }
+        } else if (amount instanceof RoundedMoney) {
+            type = TYPE_ROUNDED_MONEY;
+            number = amount.getNumber().numberValue(BigDecimal.class);
+            if (!RoundedMoney.DEFAULT_MONETARY_CONTEXT.equals(amount.getContext())) {
+                context = amount.getContext();
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported amount type: " + amount.getClass().getName());
+        }
+        String currencyCode = amount.getCurrency().getCurrencyCode();
+        int currencyIndex = CurrencyCodeTable.indexOf(currencyCode);
+        int header = (VERSION << VERSION_SHIFT) | type;
+        if (currencyIndex < 0) {
+            header |= FLAG_CURRENCY_CODE;
+        }
+        BigInteger unscaled = number == null ? null : number.unscaledValue();
+        if (unscaled != null && unscaled.bitLength() >= Long.SIZE) {
+            header |= FLAG_BIG_UNSCALED;
+        }
+        if (context != null) {
+            header |= FLAG_CONTEXT;
+        }
+        out.writeByte(header);
+        if (currencyIndex < 0) {
+            out.writeUTF(currencyCode);
+        } else {
+            out.writeShort(currencyIndex);
+        }
+        if (type == TYPE_FAST_MONEY) {
+            writeVarLong(out, zigZag(((FastMoney) amount).getScaledNumber()));
+        } else {
+            writeVarLong(out, zigZag(number.scale()));
+            if ((header & FLAG_BIG_UNSCALED) != 0) {
+                byte[] bytes = unscaled.toByteArray();
+                writeVarLong(out, bytes.length);
+                out.write(bytes);
+            } else {
+                writeVarLong(out, zigZag(unscaled.longValue()));
+            }
+        }
+        if (context != null) {
+            writeContext(context, out);
+        }
+    }
+
+    /**
+     * Reads an amount from the given {@link DataInput}.
+     *
+     * @param in the source, not null.
+     * @return the amount read, never null.
+     * @throws IOException if reading fails or the data is not a valid encoded amount.
+     */
+    public static MonetaryAmount read(DataInput in) throws IOException {
+        requireNonNull(in, "in required.");
+        try {
+            return readAmount(in);
+        } catch (MonetaryException | ArithmeticException | ClassCastException e) {
+            InvalidObjectException exception = new InvalidObjectException("Invalid encoded amount: " + e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private static MonetaryAmount readAmount(DataInput in) throws IOException {
+        int header = in.readUnsignedByte();
+        if ((header >>> VERSION_SHIFT) != VERSION) {
+            throw new InvalidObjectException("Unsupported encoding version: " + (header >>> VERSION_SHIFT));
+        }
+        CurrencyUnit currency;
+        if ((header & FLAG_CURRENCY_CODE) != 0) {
+            currency = CurrencyCodeTable.getCurrency(in.readUTF());
+        } else {
+            currency = CurrencyCodeTable.getCurrency(in.readUnsignedShort());
+        }
+        int type = header & TYPE_MASK;
+        if (type == TYPE_FAST_MONEY) {
+            return FastMoney.ofMinor(currency, unZigZag(readVarLong(in)), FastMoney.SCALE);
+        }
+        int scale = (int) unZigZag(readVarLong(in));
+        BigDecimal number;
+        if ((header & FLAG_BIG_UNSCALED) != 0) {
+            byte[] unscaled = new byte[(int) readVarLong(in)];
+            in.readFully(unscaled);
+            number = new BigDecimal(new BigInteger(unscaled), scale);
+        } else {
+            number = BigDecimal.valueOf(unZigZag(readVarLong(in)), scale);
+        }
+        MonetaryContext context = null;
+        if ((header & FLAG_CONTEXT) != 0) {
+            context = readContext(in);
+        }
+        switch (type) {
+            case TYPE_MONEY:
+                return context == null ? Money.of(number, currency) : Money.of(number, currency, context);
+            case TYPE_ROUNDED_MONEY:
+                if (context == null) {
+                    return RoundedMoney.of(number, currency);
+                }
+                return new RoundedMoney(number, currency, context, context.get(ROUNDING_KEY, MonetaryOperator.class));
+            default:
+                throw new InvalidObjectException("Unsupported amount type: " + type);
+        }
+    }
+
+    /**
+     * Encodes the given amount into a new array.
+     *
+     * @param amount the amount, a {@link Money}, {@link FastMoney} or {@link RoundedMoney}, not null.
+     * @return the encoded amount, never null.
+     * @throws IllegalArgumentException if the amount type is not supported.
+     */
+    public static byte[] encode(MonetaryAmount amount) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(amount, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the given amount at the current position of the buffer, advancing its position.
+     *
+     * @param amount the amount, a {@link Money}, {@link FastMoney} or {@link RoundedMoney}, not null.
+     * @param target the target buffer, not null.
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining space.
+     * @throws IllegalArgumentException          if the amount type is not supported.
+     */
+    public static void encode(MonetaryAmount amount, ByteBuffer target) {
+        target.put(encode(amount));
+    }
+
+    /**
+     * Decodes the amount starting at the given offset of the array.
+     *
+     * @param bytes  the encoded data, not null.
+     * @param offset the offset of the encoded amount.
+     * @param length the number of bytes available.
+     * @return the decoded amount, never null.
+     * @throws IllegalArgumentException if the data is not a valid encoded amount.
+     */
+    public static MonetaryAmount decode(byte[] bytes, int offset, int length) {
+        return decode(new ByteArrayInputStream(bytes, offset, length));
+    }
+
+    /**
+     * Decodes the amount at the current position of the buffer, advancing its position behind the amount.
+     *
+     * @param source the source buffer, not null.
+     * @return the decoded amount, never null.
+     * @throws IllegalArgumentException if the data is not a valid encoded amount.
+     */
+    public static MonetaryAmount decode(ByteBuffer source) {
+        byte[] bytes;
+        int offset;
+        if (source.hasArray()) {
+            bytes = source.array();
+            offset = source.arrayOffset() + source.position();
+        } else {
+            bytes = new byte[source.remaining()];
+            source.duplicate().get(bytes);
+            offset = 0;
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes, offset, source.remaining());
+        MonetaryAmount amount = decode(in);
+        source.position(source.limit() - in.available());
+        return amount;
+    }
+
+    private static MonetaryAmount decode(ByteArrayInputStream bytes) {
+        try {
+            return read(new DataInputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid encoded amount.", e);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new InvalidObjectException("Malformed variable length number.");
+    }
+
+    private static void writeContext(MonetaryContext context, DataOutput out) throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (String key : context.getKeys(Object.class)) {
+            if (isWritable(context.get(key, Object.class), out)) {
+                keys.add(key);
+            }
+        }
+        writeVarLong(out, keys.size());
+        for (String key : keys) {
+            out.writeUTF(key);
+            writeValue(context.get(key, Object.class), out);
+        }
+    }
+
+    private static boolean isWritable(Object value, DataOutput out) throws NotSerializableException {
+        if (value instanceof Integer || value instanceof Long || value instanceof Boolean
+                || value instanceof String || value instanceof RoundingMode || value instanceof MathContext
+                || AMOUNT_TYPES.contains(value)) {
+            return true;
+        }
+        if (!(out instanceof ObjectOutput)) {
+            return false;
+        }
+        if (!(value instanceof Serializable)) {
+            // do not read the amount with another context than it was written with
+            throw new NotSerializableException(value.getClass().getName());
+        }
+        return true;
+    }
+
+    private static void writeValue(Object value, DataOutput out) throws IOException {
+        if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            writeVarLong(out, zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            writeVarLong(out, zigZag((Long) value));
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof RoundingMode) {
+            out.writeByte(VALUE_ROUNDING_MODE);
+            out.writeByte(((RoundingMode) value).ordinal());
+        } else if (value instanceof MathContext) {
+            MathContext mathContext = (MathContext) value;
+            out.writeByte(VALUE_MATH_CONTEXT);
+            writeVarLong(out, mathContext.getPrecision());
+            out.writeByte(mathContext.getRoundingMode().ordinal());
+        } else if (AMOUNT_TYPES.contains(value)) {
+            out.writeByte(VALUE_AMOUNT_TYPE);
+            out.writeByte(AMOUNT_TYPES.indexOf(value));
+        } else {
+            out.writeByte(VALUE_OBJECT);
+            ((ObjectOutput) out).writeObject(value);
+        }
+    }
+
+    private static MonetaryContext readContext(DataInput in) throws IOException {
+        long size = readVarLong(in);
+        MonetaryContextBuilder builder = null;
+        List<Object> attributes = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            String key = in.readUTF();
+            Object value = readValue(in);
+            if (AMOUNT_TYPES.contains(value)) {
+                builder = MonetaryContextBuilder.of(AMOUNT_TYPES.get(AMOUNT_TYPES.indexOf(value)));
+            } else {
+                attributes.add(key);
+                attributes.add(value);
+            }
+        }
+        if (builder == null) {
+            throw new InvalidObjectException("Monetary context without amount type.");
+        }
+        for (int i = 0; i < attributes.size(); i += 2) {
+            builder.set((String) attributes.get(i), attributes.get(i + 1));
+        }
+        return builder.build();
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case VALUE_INTEGER:
+                return (int) unZigZag(readVarLong(in));
+            case VALUE_LONG:
+                return unZigZag(readVarLong(in));
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_STRING:
+                return in.readUTF();
+            case VALUE_ROUNDING_MODE:
+                return readRoundingMode(in);
+            case VALUE_MATH_CONTEXT:
+                int precision = (int) readVarLong(in);
+                try {
+                    return new MathContext(precision, readRoundingMode(in));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidObjectException("Invalid math context precision: " + precision);
+                }
+            case VALUE_AMOUNT_TYPE:
+                int index = in.readUnsignedByte();
+                if (index >= AMOUNT_TYPES.size()) {
+                    throw new InvalidObjectException("Unsupported amount type index: " + index);
+                }
+                return AMOUNT_TYPES.get(index);
+            case VALUE_OBJECT:
+                if (!(in instanceof ObjectInput)) {
+                    throw new InvalidObjectException("Serialized context value requires an ObjectInput.");
+                }
+                try {
+                    return ((ObjectInput) in).readObject();
+                } catch (ClassNotFoundException e) {
+                    InvalidObjectException exception = new InvalidObjectException("Invalid monetary context value.");
+                    exception.initCause(e);
+                    throw exception;
+                }
+            default:
+                throw new InvalidObjectException("Unsupported context value type: " + type);
+        }
+    }
+
+    private static RoundingMode readRoundingMode(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= RoundingMode.values().length) {
+            throw new InvalidObjectException("Unsupported rounding mode: " + ordinal);
+        }
+        return RoundingMode.values()[ordinal];
+    }
+}
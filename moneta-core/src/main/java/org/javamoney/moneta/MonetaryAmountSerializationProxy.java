@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import javax.money.MonetaryAmount;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Serialization proxy written instead of {@link Money}, {@link FastMoney} and {@link RoundedMoney} instances,
+ * using the compact encoding of {@link MonetaryAmountBinaryCodec}. Streams containing the default serialized
+ * form written by earlier versions can still be read.
+ */
+final class MonetaryAmountSerializationProxy implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private MonetaryAmount amount;
+
+    /**
+     * Constructor used by the serialization.
+     */
+    public MonetaryAmountSerializationProxy() {
+    }
+
+    MonetaryAmountSerializationProxy(MonetaryAmount amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        MonetaryAmountBinaryCodec.write(amount, out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        amount = MonetaryAmountBinaryCodec.read(in);
+    }
+
+    private Object readResolve() {
+        return amount;
+    }
+}
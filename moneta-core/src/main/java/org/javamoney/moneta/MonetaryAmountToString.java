@@ -0,0 +1,76 @@
+/*
+  Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+
+  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+  use this file except in compliance with the License. You may obtain a copy of
+  the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+  License for the specific language governing permissions and limitations under
+  the License.
+ */
+package org.javamoney.moneta;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryOperator;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+
+/**
+ * The {@code toString()} representation of {@link Money}, {@link FastMoney} and {@link RoundedMoney}: the amount
+ * rounded with the default rounding, formatted with the amount format of the default locale. Instances resolve the
+ * rounding and the format once, so {@link ToStringMonetaryAmountFormat} can print many amounts with them.
+ */
+final class MonetaryAmountToString {
+
+    private final MonetaryOperator rounding;
+
+    private final MonetaryAmountFormat format;
+
+    private MonetaryAmountToString() {
+        rounding = Monetary.getDefaultRounding();
+        format = MonetaryFormats.getAmountFormat(Locale.getDefault());
+    }
+
+    /**
+     * Resolves the current default rounding and format.
+     *
+     * @return the new instance, never null.
+     * @throws javax.money.MonetaryException if the rounding or the format is not available.
+     */
+    static MonetaryAmountToString ofDefaults() {
+        return new MonetaryAmountToString();
+    }
+
+    /**
+     * Formats the given amount, as {@code toString()} does, or returns the fallback if the amount can not be formatted.
+     *
+     * @param amount   the amount, not null.
+     * @param fallback the representation used if formatting fails, not null.
+     * @return the representation, never null.
+     */
+    static String toString(MonetaryAmount amount, Supplier<String> fallback) {
+        try {
+            return ofDefaults().format(amount);
+        } catch (Exception e) {
+            return fallback.get();
+        }
+    }
+
+    String format(MonetaryAmount amount) {
+        return format.format(rounding.apply(amount));
+    }
+
+    void print(Appendable appendable, MonetaryAmount amount) throws IOException {
+        format.print(appendable, rounding.apply(amount));
+    }
+}
@@ -22,12 +22,10 @@ import org.javamoney.moneta.spi.MoneyUtils;
 
 import javax.money.*;
 import javax.money.format.MonetaryAmountFormat;
-import javax.money.format.MonetaryFormats;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -669,13 +667,8 @@ public final class Money implements MonetaryAmount, Comparable<MonetaryAmount>,
      */
     @Override
     public String toString() {
-        try {
-            MonetaryAmount amount = Monetary.getDefaultRounding().apply(this);
-            MonetaryAmountFormat fmt = MonetaryFormats.getAmountFormat(Locale.getDefault());
-            return fmt.format(amount);
-        }catch(Exception e) {
-            return getCurrency().getCurrencyCode() + ' ' + number.toPlainString();
-        }
+        return MonetaryAmountToString.toString(this,
+                () -> getCurrency().getCurrencyCode() + ' ' + number.toPlainString());
     }
 
     /*
@@ -915,4 +908,13 @@ public final class Money implements MonetaryAmount, Comparable<MonetaryAmount>,
         NumberVerifier.checkNoInfinityOrNaN(number);
     }
 
+    /**
+     * Replaces this instance on serialization by a compact {@link MonetaryAmountSerializationProxy}.
+     *
+     * @return the serialization proxy.
+     */
+    private Object writeReplace() {
+        return new MonetaryAmountSerializationProxy(this);
+    }
+
 }
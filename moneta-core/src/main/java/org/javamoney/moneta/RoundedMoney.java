@@ -22,14 +22,12 @@ import org.javamoney.moneta.spi.MoneyUtils;
 
 import javax.money.*;
 import javax.money.format.MonetaryAmountFormat;
-import javax.money.format.MonetaryFormats;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -758,13 +756,7 @@ public final class RoundedMoney implements MonetaryAmount, Comparable<MonetaryAm
      */
     @Override
     public String toString() {
-        try {
-            MonetaryAmount amount = Monetary.getDefaultRounding().apply(this);
-            MonetaryAmountFormat fmt = MonetaryFormats.getAmountFormat(Locale.getDefault());
-            return fmt.format(amount);
-        }catch(Exception e) {
-            return currency.getCurrencyCode() + ' ' + number;
-        }
+        return MonetaryAmountToString.toString(this, () -> currency.getCurrencyCode() + ' ' + number);
     }
 
     /*
@@ -936,4 +928,14 @@ public final class RoundedMoney implements MonetaryAmount, Comparable<MonetaryAm
             return false;
         }
     }
+
+    /**
+     * Replaces this instance on serialization by a compact {@link MonetaryAmountSerializationProxy}.
+     *
+     * @return the serialization proxy.
+     */
+    private Object writeReplace() {
+        return new MonetaryAmountSerializationProxy(this);
+    }
+
 }
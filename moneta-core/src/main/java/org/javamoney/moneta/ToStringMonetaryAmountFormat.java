@@ -25,9 +25,10 @@ import javax.money.MonetaryAmount;
 import javax.money.Monetary;
 import javax.money.format.AmountFormatContext;
 import javax.money.format.AmountFormatContextBuilder;
-import javax.money.format.MonetaryAmountFormat;
 import javax.money.format.MonetaryParseException;
 
+import org.javamoney.moneta.format.MonetaryAmountBulkFormat;
+
 /**
  * class to format and parse a text string such as 'EUR 25.25' or vice versa.
  * This class will used to toString and parse in all implementation on Moneta.
@@ -39,7 +40,7 @@ import javax.money.format.MonetaryParseException;
  * {@link RoundedMoney#parse(CharSequence)}
  * @author Otavio Santana
  */
-public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat {
+public final class ToStringMonetaryAmountFormat implements MonetaryAmountBulkFormat {
 
     private static final String CONTEXT_PREFIX = "ToString_";
 
@@ -75,6 +76,46 @@ public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat
 
     }
 
+    /**
+     * Prints all amounts as their {@code toString()} representation would. The default rounding and
+     * the default locale's amount format used by {@link Money}, {@link FastMoney} and
+     * {@link RoundedMoney} are only resolved once per call, instead of once per amount.
+     */
+    @Override
+    public void printAll(Appendable appendable, Iterable<? extends MonetaryAmount> amounts, CharSequence separator)
+            throws IOException {
+        Objects.requireNonNull(appendable);
+        Objects.requireNonNull(separator);
+        StringBuilder buffer = new StringBuilder();
+        MonetaryAmountToString toString = null;
+        boolean first = true;
+        for (MonetaryAmount amount : Objects.requireNonNull(amounts)) {
+            if (!first) {
+                appendable.append(separator);
+            }
+            first = false;
+            if (!isMonetaAmount(amount)) {
+                appendable.append(queryFrom(amount));
+                continue;
+            }
+            buffer.setLength(0);
+            try {
+                if (toString == null) {
+                    toString = MonetaryAmountToString.ofDefaults();
+                }
+                toString.print(buffer, amount);
+            } catch (Exception e) {
+                buffer.setLength(0);
+                buffer.append(amount);
+            }
+            appendable.append(buffer);
+        }
+    }
+
+    private static boolean isMonetaAmount(MonetaryAmount amount) {
+        return amount instanceof Money || amount instanceof FastMoney || amount instanceof RoundedMoney;
+    }
+
     @Override
     public MonetaryAmount parse(CharSequence text)
             throws MonetaryParseException {
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.FastMoneyProducer;
+import org.javamoney.moneta.function.MonetaryAmountProducer;
+import org.javamoney.moneta.function.MoneyProducer;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+
+/**
+ * Parser for the amounts printed by a {@link DecimalFormat}, working directly on the given
+ * {@link CharSequence}. Prefixes, suffixes and symbols are captured from the {@link DecimalFormat} when the
+ * parser is created, so the parser is immutable and can be shared between threads. Digits are accumulated into
+ * an unscaled {@code long}; only numbers with more than 18 digits are collected into a {@link BigDecimal}.
+ * Failures are reported through the {@link ParsePosition} error index, no exceptions are thrown.
+ * <p>
+ * As {@link DecimalFormat#parse(String)}, the parser accepts grouping separators anywhere in the integer part
+ * and stops at the first character not being part of the number. Exponents are not supported.
+ */
+final class DecimalAmountParser {
+
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final char CURRENCY_SIGN = '\u00A4';
+
+    private static final int FAST_MONEY_SCALE = 5;
+
+    private final String positivePrefix;
+
+    private final String positiveSuffix;
+
+    private final String negativePrefix;
+
+    private final String negativeSuffix;
+
+    private final char zeroDigit;
+
+    private final char decimalSeparator;
+
+    private final char groupingSeparator;
+
+    private final boolean groupingUsed;
+
+    private final boolean integerOnly;
+
+    private final int multiplier;
+
+    DecimalAmountParser(DecimalFormat format) {
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        this.positivePrefix = format.getPositivePrefix();
+        this.positiveSuffix = format.getPositiveSuffix();
+        this.negativePrefix = format.getNegativePrefix();
+        this.negativeSuffix = format.getNegativeSuffix();
+        this.zeroDigit = symbols.getZeroDigit();
+        this.decimalSeparator = format.toPattern().indexOf(CURRENCY_SIGN) >= 0 ?
+                symbols.getMonetaryDecimalSeparator() : symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.groupingUsed = format.isGroupingUsed();
+        this.integerOnly = format.isParseIntegerOnly();
+        this.multiplier = format.getMultiplier();
+    }
+
+    /**
+     * Parses the amount starting at the index of the given position. On success the index is set behind the
+     * last character parsed, otherwise the error index is set and {@code null} is returned. Failures creating
+     * the amount, e.g. of the producer, are reported the same way.
+     *
+     * @param text     the text, not null.
+     * @param position the position, not null.
+     * @param currency the currency of the amount created, not null.
+     * @param producer the producer used for amount types other than {@link Money} and {@link FastMoney}.
+     * @return the amount parsed, or {@code null}.
+     */
+    MonetaryAmount parse(CharSequence text, ParsePosition position, CurrencyUnit currency,
+                         MonetaryAmountProducer producer) {
+        int start = position.getIndex();
+        int positiveEnd = matchAffix(text, start, positivePrefix);
+        int negativeEnd = matchAffix(text, start, negativePrefix);
+        boolean negative;
+        int index;
+        if (negativeEnd > positiveEnd || (negativeEnd == positiveEnd && negativeEnd >= 0
+                && negativePrefix.length() > positivePrefix.length())) {
+            negative = true;
+            index = negativeEnd;
+        } else if (positiveEnd >= 0) {
+            negative = false;
+            index = positiveEnd;
+        } else {
+            position.setErrorIndex(start);
+            return null;
+        }
+        int length = text.length();
+        long unscaled = 0L;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        boolean digitFound = false;
+        int numberEnd = index;
+        StringBuilder big = null;
+        for (; index < length; index++) {
+            char ch = text.charAt(index);
+            int digit = digit(ch);
+            if (digit >= 0) {
+                digitFound = true;
+                if (big != null) {
+                    big.append((char) ('0' + digit));
+                } else if (unscaled != 0 || digit != 0) {
+                    if (++digits > MAX_LONG_DIGITS) {
+                        big = new StringBuilder(32).append(unscaled).append((char) ('0' + digit));
+                    } else {
+                        unscaled = unscaled * 10 + digit;
+                    }
+                }
+                if (point) {
+                    scale++;
+                }
+                numberEnd = index + 1;
+            } else if (ch == decimalSeparator && !point && !integerOnly) {
+                point = true;
+                numberEnd = index + 1;
+            } else if (point || !groupingUsed || !isSeparator(ch, groupingSeparator)) {
+                break;
+            }
+        }
+        if (!digitFound) {
+            position.setErrorIndex(numberEnd);
+            return null;
+        }
+        int end = matchAffix(text, numberEnd, negative ? negativeSuffix : positiveSuffix);
+        if (end < 0) {
+            position.setErrorIndex(numberEnd);
+            return null;
+        }
+        MonetaryAmount amount;
+        try {
+            amount = create(currency, producer, negative, unscaled, big, scale);
+        } catch (RuntimeException e) {
+            // e.g. an amount exceeding FastMoney, or a failing custom producer
+            position.setErrorIndex(start);
+            return null;
+        }
+        position.setIndex(end);
+        return amount;
+    }
+
+    private MonetaryAmount create(CurrencyUnit currency, MonetaryAmountProducer producer, boolean negative,
+                                  long unscaled, StringBuilder big, int scale) {
+        if (big == null && multiplier == 1) {
+            return create(currency, producer, negative ? -unscaled : unscaled, scale);
+        }
+        BigDecimal number = big == null ? BigDecimal.valueOf(unscaled, scale) : new BigDecimal(big.toString())
+                .movePointLeft(scale);
+        if (negative) {
+            number = number.negate();
+        }
+        if (multiplier != 1) {
+            number = number.divide(BigDecimal.valueOf(multiplier), MathContext.DECIMAL128);
+        }
+        return producer.create(currency, number);
+    }
+
+    private static MonetaryAmount create(CurrencyUnit currency, MonetaryAmountProducer producer, long unscaled,
+                                         int scale) {
+        if (producer instanceof FastMoneyProducer) {
+            while (scale > FAST_MONEY_SCALE && unscaled % 10 == 0) {
+                unscaled /= 10;
+                scale--;
+            }
+            if (scale <= FAST_MONEY_SCALE) {
+                return FastMoney.ofMinor(currency, unscaled, scale);
+            }
+        } else if (producer instanceof MoneyProducer) {
+            return Money.of(BigDecimal.valueOf(unscaled, scale), currency);
+        }
+        return producer.create(currency, BigDecimal.valueOf(unscaled, scale));
+    }
+
+    private int digit(char ch) {
+        int digit = ch - zeroDigit;
+        if (digit >= 0 && digit <= 9) {
+            return digit;
+        }
+        return Character.digit(ch, 10);
+    }
+
+    /**
+     * Matches the affix at the given index, treating all kinds of spaces as equal.
+     *
+     * @return the index behind the affix, or {@code -1}.
+     */
+    private static int matchAffix(CharSequence text, int index, String affix) {
+        if (text.length() - index < affix.length()) {
+            return -1;
+        }
+        for (int i = 0; i < affix.length(); i++) {
+            char expected = affix.charAt(i);
+            char ch = text.charAt(index + i);
+            if (ch != expected && !(isSpace(ch) && isSpace(expected))) {
+                return -1;
+            }
+        }
+        return index + affix.length();
+    }
+
+    private static boolean isSeparator(char ch, char separator) {
+        return ch == separator || (isSpace(ch) && isSpace(separator));
+    }
+
+    private static boolean isSpace(char ch) {
+        return ch == ' ' || ch == '\u00A0' || ch == '\u202F';
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.javamoney.moneta.ToStringMonetaryAmountFormat.ToStringMonetaryAmountFormatStyle;
+import org.javamoney.moneta.spi.CurrencyCodeTable;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryParseException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Byte level codec for the {@code 'CUR 123.45'} representation of amounts, as parsed by
+ * {@link org.javamoney.moneta.ToStringMonetaryAmountFormat}: an US-ASCII currency code, a single blank and the
+ * plain number as returned by {@link BigDecimal#toPlainString()}.
+ * <p>
+ * Amounts are decoded directly from a {@link ByteBuffer} or a {@code byte[]} slice without creating
+ * intermediate {@link String} instances: currency codes are resolved through the {@link CurrencyCodeTable} and
+ * numbers with up to 18 digits are accumulated into an unscaled {@code long}. Only longer numbers, or numbers in
+ * exponential notation, are parsed using {@link BigDecimal#BigDecimal(String)}.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @see org.javamoney.moneta.ToStringMonetaryAmountFormat
+ * @since 1.4
+ */
+public final class MonetaryAmountAsciiCodec {
+
+    /**
+     * The maximal number of digits that always fit into a {@code long}.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final byte BLANK = ' ';
+
+    private static final byte MINUS = '-';
+
+    private static final byte PLUS = '+';
+
+    private static final byte POINT = '.';
+
+    private final ToStringMonetaryAmountFormatStyle style;
+
+    private MonetaryAmountAsciiCodec(ToStringMonetaryAmountFormatStyle style) {
+        this.style = requireNonNull(style);
+    }
+
+    /**
+     * Creates a new codec decoding amounts into the type defined by the given style.
+     *
+     * @param style the style defining the amount type created on decoding, not null.
+     * @return a new codec instance, never null.
+     */
+    public static MonetaryAmountAsciiCodec of(ToStringMonetaryAmountFormatStyle style) {
+        return new MonetaryAmountAsciiCodec(style);
+    }
+
+    /**
+     * Encodes the amount at the current position of the given buffer, advancing its position.
+     *
+     * @param amount the amount, not null.
+     * @param target the target buffer, not null.
+     * @throws BufferOverflowException if the buffer has not enough remaining space.
+     * @throws IllegalArgumentException          if the currency code is not US-ASCII.
+     */
+    public void encode(MonetaryAmount amount, ByteBuffer target) {
+        requireNonNull(amount);
+        requireNonNull(target);
+        String code = amount.getCurrency().getCurrencyCode();
+        for (int i = 0; i < code.length(); i++) {
+            char ch = code.charAt(i);
+            if (ch > 0x7F) {
+                throw new IllegalArgumentException("Currency code is not US-ASCII: " + code);
+            }
+            target.put((byte) ch);
+        }
+        target.put(BLANK);
+        encodeNumber(amount.getNumber().numberValue(BigDecimal.class), target);
+    }
+
+    /**
+     * Encodes the amount into the given array.
+     *
+     * @param amount the amount, not null.
+     * @param target the target array, not null.
+     * @param offset the offset where to start writing.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the array has not enough space.
+     * @throws IllegalArgumentException          if the currency code is not US-ASCII.
+     */
+    public int encode(MonetaryAmount amount, byte[] target, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(target, offset, target.length - offset);
+        encode(amount, buffer);
+        return buffer.position() - offset;
+    }
+
+    /**
+     * Encodes the amount into a new array.
+     *
+     * @param amount the amount, not null.
+     * @return the encoded amount, never null.
+     */
+    public byte[] encode(MonetaryAmount amount) {
+        requireNonNull(amount);
+        String code = amount.getCurrency().getCurrencyCode();
+        byte[] target = new byte[code.length() + 2 + encodedNumberLength(
+                amount.getNumber().numberValue(BigDecimal.class))];
+        int length = encode(amount, target, 0);
+        if (length == target.length) {
+            return target;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(target, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Decodes the amount contained in the bytes between the buffer's position and its limit. The position is
+     * advanced to the limit.
+     *
+     * @param source the source buffer, not null.
+     * @return the decoded amount, never null.
+     * @throws MonetaryParseException if the bytes do not contain a valid amount.
+     */
+    public MonetaryAmount decode(ByteBuffer source) throws MonetaryParseException {
+        MonetaryAmount amount = decode(source, source.position(), source.remaining());
+        source.position(source.limit());
+        return amount;
+    }
+
+    /**
+     * Decodes the amount contained in the given slice of the buffer, without changing the buffer's position.
+     *
+     * @param source the source buffer, not null.
+     * @param offset the absolute index of the first byte.
+     * @param length the number of bytes.
+     * @return the decoded amount, never null.
+     * @throws MonetaryParseException if the bytes do not contain a valid amount.
+     */
+    public MonetaryAmount decode(ByteBuffer source, int offset, int length) throws MonetaryParseException {
+        requireNonNull(source);
+        int end = offset + length;
+        int blank = offset;
+        while (blank < end && source.get(blank) != BLANK) {
+            blank++;
+        }
+        if (blank == offset || blank >= end - 1) {
+            throw parseError("An error happened when try to parse the Monetary Amount.", source, offset, length,
+                    blank - offset);
+        }
+        CurrencyUnit currency;
+        try {
+            currency = resolveCurrency(source, offset, blank - offset);
+        } catch (RuntimeException e) {
+            throw parseError(e.getMessage(), source, offset, length, 0);
+        }
+        try {
+            return decodeNumber(currency, source, blank + 1, end);
+        } catch (RuntimeException e) {
+            throw parseError(e.getMessage(), source, offset, length, blank + 1 - offset);
+        }
+    }
+
+    /**
+     * Decodes the amount contained in the given slice of the array.
+     *
+     * @param source the source array, not null.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return the decoded amount, never null.
+     * @throws MonetaryParseException if the bytes do not contain a valid amount.
+     */
+    public MonetaryAmount decode(byte[] source, int offset, int length) throws MonetaryParseException {
+        return decode(ByteBuffer.wrap(requireNonNull(source)), offset, length);
+    }
+
+    private CurrencyUnit resolveCurrency(ByteBuffer source, int offset, int length) {
+        if (length == 3) {
+            return CurrencyCodeTable.getCurrency(source.get(offset), source.get(offset + 1), source.get(offset + 2));
+        }
+        return CurrencyCodeTable.getCurrency(asString(source, offset, length));
+    }
+
+    private MonetaryAmount decodeNumber(CurrencyUnit currency, ByteBuffer source, int start, int end) {
+        int index = start;
+        boolean negative = false;
+        byte first = source.get(index);
+        if (first == MINUS || first == PLUS) {
+            negative = first == MINUS;
+            index++;
+        }
+        long unscaled = 0L;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        for (; index < end; index++) {
+            byte ch = source.get(index);
+            if (ch >= '0' && ch <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return decodeBigDecimal(currency, source, start, end);
+                }
+                unscaled = unscaled * 10 + (ch - '0');
+                if (point) {
+                    scale++;
+                }
+            } else if (ch == POINT && !point) {
+                point = true;
+            } else {
+                return decodeBigDecimal(currency, source, start, end);
+            }
+        }
+        if (digits == 0) {
+            return decodeBigDecimal(currency, source, start, end);
+        }
+        return create(currency, negative ? -unscaled : unscaled, scale);
+    }
+
+    private MonetaryAmount decodeBigDecimal(CurrencyUnit currency, ByteBuffer source, int start, int end) {
+        return create(currency, new BigDecimal(asString(source, start, end - start)));
+    }
+
+    private MonetaryAmount create(CurrencyUnit currency, long unscaled, int scale) {
+        if (style == ToStringMonetaryAmountFormatStyle.FAST_MONEY) {
+            return FastMoney.ofMinor(currency, unscaled, scale);
+        }
+        return create(currency, BigDecimal.valueOf(unscaled, scale));
+    }
+
+    private MonetaryAmount create(CurrencyUnit currency, BigDecimal number) {
+        switch (style) {
+            case FAST_MONEY:
+                return FastMoney.of(number, currency);
+            case ROUNDED_MONEY:
+                return RoundedMoney.of(number, currency);
+            case MONEY:
+            default:
+                return Money.of(number, currency);
+        }
+    }
+
+    private static void encodeNumber(BigDecimal number, ByteBuffer target) {
+        BigInteger unscaledValue = number.unscaledValue();
+        if (unscaledValue.bitLength() >= Long.SIZE - 1 || number.scale() < 0) {
+            String plain = number.toPlainString();
+            for (int i = 0; i < plain.length(); i++) {
+                target.put((byte) plain.charAt(i));
+            }
+            return;
+        }
+        long unscaled = unscaledValue.longValue();
+        if (unscaled < 0) {
+            target.put(MINUS);
+            unscaled = -unscaled;
+        }
+        int scale = number.scale();
+        int digits = digitCount(unscaled);
+        if (digits <= scale) {
+            target.put((byte) '0').put(POINT);
+            for (int i = digits; i < scale; i++) {
+                target.put((byte) '0');
+            }
+            putDigits(unscaled, digits, target);
+        } else if (scale == 0) {
+            putDigits(unscaled, digits, target);
+        } else {
+            long divisor = pow10(scale);
+            putDigits(unscaled / divisor, digits - scale, target);
+            target.put(POINT);
+            putDigits(unscaled % divisor, scale, target);
+        }
+    }
+
+    private static int encodedNumberLength(BigDecimal number) {
+        // sign, leading zero and point, digits and trailing zeros
+        return 3 + Math.max(number.precision(), Math.max(number.scale(), 0)) + Math.max(-number.scale(), 0);
+    }
+
+    /**
+     * Writes the given number of digits of the non negative value, padding with leading zeros.
+     */
+    private static void putDigits(long value, int digits, ByteBuffer target) {
+        if (target.remaining() < digits) {
+            throw new BufferOverflowException();
+        }
+        int start = target.position();
+        for (int i = digits - 1; i >= 0; i--) {
+            target.put(start + i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        target.position(start + digits);
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1L;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static String asString(ByteBuffer source, int offset, int length) {
+        if (source.hasArray()) {
+            return new String(source.array(), source.arrayOffset() + offset, length, StandardCharsets.US_ASCII);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = source.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static MonetaryParseException parseError(String message, ByteBuffer source, int offset, int length,
+                                                     int errorIndex) {
+        return new MonetaryParseException(String.valueOf(message), asString(source, offset, length), errorIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountAsciiCodec [style=" + style + ']';
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryAmountFormat;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link MonetaryAmountFormat} that can print many amounts in one call into a single
+ * {@link Appendable}, such as a {@link StringBuilder}, a {@link java.io.Writer} or a
+ * {@link java.nio.CharBuffer}. Implementations resolve their formatting state once per call and
+ * reuse their scratch buffers for all amounts printed, instead of creating a new {@link String}
+ * per amount as {@link #format(MonetaryAmount)} does.
+ * <p>
+ * When printing into a {@link java.nio.CharBuffer} the caller is responsible for providing
+ * enough remaining capacity, otherwise a {@link java.nio.BufferOverflowException} is thrown.
+ *
+ * @see org.javamoney.moneta.ToStringMonetaryAmountFormat
+ * @see MonetaryAmountDecimalFormat
+ * @since 1.4
+ */
+public interface MonetaryAmountBulkFormat extends MonetaryAmountFormat {
+
+    /**
+     * Prints all amounts to the given {@link Appendable}, writing the separator between two
+     * subsequent amounts.
+     *
+     * @param appendable the appendable to add to, not null
+     * @param amounts    the amounts to print, not null
+     * @param separator  the separator written between two amounts, not null
+     * @throws IOException if an IO error occurs
+     */
+    default void printAll(Appendable appendable, Iterable<? extends MonetaryAmount> amounts, CharSequence separator)
+            throws IOException {
+        requireNonNull(appendable);
+        requireNonNull(separator);
+        boolean first = true;
+        for (MonetaryAmount amount : requireNonNull(amounts)) {
+            if (!first) {
+                appendable.append(separator);
+            }
+            print(appendable, amount);
+            first = false;
+        }
+    }
+
+    /**
+     * Prints all amounts of the given array to the given {@link Appendable}, writing the
+     * separator between two subsequent amounts.
+     *
+     * @param appendable the appendable to add to, not null
+     * @param amounts    the amounts to print, not null
+     * @param separator  the separator written between two amounts, not null
+     * @throws IOException if an IO error occurs
+     */
+    default void printAll(Appendable appendable, MonetaryAmount[] amounts, CharSequence separator)
+            throws IOException {
+        printAll(appendable, Arrays.asList(amounts), separator);
+    }
+
+    /**
+     * Prints a column slice of the given array to the given {@link Appendable}, writing the
+     * separator between two subsequent amounts. The array is not copied.
+     *
+     * @param appendable the appendable to add to, not null
+     * @param amounts    the amounts, not null
+     * @param offset     the index of the first amount to print
+     * @param length     the number of amounts to print
+     * @param separator  the separator written between two amounts, not null
+     * @throws IOException               if an IO error occurs
+     * @throws IndexOutOfBoundsException if offset and length do not denote a valid slice
+     */
+    default void printAll(Appendable appendable, MonetaryAmount[] amounts, int offset, int length,
+                          CharSequence separator) throws IOException {
+        printAll(appendable, Arrays.asList(amounts).subList(offset, offset + length), separator);
+    }
+
+    /**
+     * Formats all amounts into one {@link String}, using the separator between two subsequent
+     * amounts.
+     *
+     * @param amounts   the amounts to format, not null
+     * @param separator the separator written between two amounts, not null
+     * @return the formatted amounts, never null
+     */
+    default String formatAll(Iterable<? extends MonetaryAmount> amounts, CharSequence separator) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            printAll(builder, amounts, separator);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error formatting of " + amounts, e);
+        }
+        return builder.toString();
+    }
+}
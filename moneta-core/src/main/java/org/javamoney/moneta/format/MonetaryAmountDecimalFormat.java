@@ -21,11 +21,13 @@ import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.format.AmountFormatContext;
 import javax.money.format.AmountFormatContextBuilder;
-import javax.money.format.MonetaryAmountFormat;
 import javax.money.format.MonetaryParseException;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -33,11 +35,18 @@ import org.javamoney.moneta.function.MonetaryAmountProducer;
 
 /**
  * The implementation that uses the {@link DecimalFormat} as formatter.
+ * <p>
+ * Parsing does not use the {@link DecimalFormat}: prefixes, suffixes and symbols are captured when the format is
+ * created and the text is parsed in place, creating {@link org.javamoney.moneta.Money} and
+ * {@link org.javamoney.moneta.FastMoney} instances directly from the digits read. Parsing is therefore always
+ * thread-safe. Formatting is thread-safe only for instances created with
+ * {@link MonetaryAmountDecimalFormatBuilder#withThreadSafety(boolean)}, which use a copy of the
+ * {@link DecimalFormat} per thread.
  *
  * @author Otavio Santana
  * @since 1.0.1
  */
-public class MonetaryAmountDecimalFormat implements MonetaryAmountFormat {
+public class MonetaryAmountDecimalFormat implements MonetaryAmountBulkFormat {
 
     static final String STYLE = "MonetaryAmountFormatSymbols";
 
@@ -49,10 +58,22 @@ public class MonetaryAmountDecimalFormat implements MonetaryAmountFormat {
 
     private final CurrencyUnit currencyUnit;
 
+    private final DecimalAmountParser parser;
+
+    private final ThreadLocal<DecimalFormat> threadFormats;
+
     public MonetaryAmountDecimalFormat(DecimalFormat decimalFormat, MonetaryAmountProducer producer, CurrencyUnit currencyUnit) {
+        this(decimalFormat, producer, currencyUnit, false);
+    }
+
+    MonetaryAmountDecimalFormat(DecimalFormat decimalFormat, MonetaryAmountProducer producer, CurrencyUnit currencyUnit,
+                                boolean threadSafe) {
         this.decimalFormat = decimalFormat;
         this.producer = producer;
         this.currencyUnit = currencyUnit;
+        this.parser = new DecimalAmountParser(decimalFormat);
+        this.threadFormats = threadSafe ?
+                ThreadLocal.withInitial(() -> (DecimalFormat) decimalFormat.clone()) : null;
     }
 
 
@@ -68,13 +89,21 @@ public class MonetaryAmountDecimalFormat implements MonetaryAmountFormat {
         return currencyUnit;
     }
 
+    boolean isThreadSafe() {
+        return threadFormats != null;
+    }
+
+    private DecimalFormat format() {
+        return threadFormats == null ? decimalFormat : threadFormats.get();
+    }
+
 
     public String toLocalizedPattern() {
-        return decimalFormat.toLocalizedPattern();
+        return format().toLocalizedPattern();
     }
 
     public String toPattern() {
-        return decimalFormat.toPattern();
+        return format().toPattern();
     }
 
     @Override
@@ -87,22 +116,66 @@ public class MonetaryAmountDecimalFormat implements MonetaryAmountFormat {
         requireNonNull(appendable).append(queryFrom(amount));
     }
 
+    @Override
+    public void printAll(Appendable appendable, Iterable<? extends MonetaryAmount> amounts, CharSequence separator)
+            throws IOException {
+        requireNonNull(appendable);
+        requireNonNull(separator);
+        StringBuffer buffer = new StringBuffer();
+        FieldPosition position = new FieldPosition(NumberFormat.INTEGER_FIELD);
+        DecimalFormat format = format();
+        boolean first = true;
+        for (MonetaryAmount amount : requireNonNull(amounts)) {
+            if (!first) {
+                appendable.append(separator);
+            }
+            first = false;
+            if (amount == null) {
+                appendable.append("null");
+                continue;
+            }
+            buffer.setLength(0);
+            format.format(amount.getNumber().numberValue(BigDecimal.class), buffer, position);
+            appendable.append(buffer);
+        }
+    }
+
     @Override
     public MonetaryAmount parse(CharSequence text) throws MonetaryParseException {
         requireNonNull(text);
-        try {
-            Number number = decimalFormat.parse(text.toString());
-            return producer.create(currencyUnit, number);
-        } catch (Exception exception) {
-            throw new MonetaryParseException(exception.getMessage(), text, 0);
+        ParsePosition position = new ParsePosition(0);
+        MonetaryAmount amount = parse(text, position);
+        if (amount == null) {
+            throw new MonetaryParseException("Unparseable amount", text, position.getErrorIndex());
         }
+        return amount;
+    }
+
+    /**
+     * Parses an amount starting at the index of the given {@link ParsePosition}, without throwing an exception
+     * on invalid input. On success the index of the position is set behind the last character parsed. On failure
+     * the index is not changed, the error index is set to the index where the error was detected and
+     * {@code null} is returned.
+     * <p>
+     * The text is not copied, so any {@link CharSequence} such as a {@link java.nio.CharBuffer} or a
+     * {@link StringBuilder} can be parsed without allocating an intermediate {@link String}.
+     *
+     * @param text     the text to parse, not null
+     * @param position the parse position, not null
+     * @return the amount parsed, or {@code null} if the text could not be parsed
+     * @since 1.4
+     */
+    public MonetaryAmount parse(CharSequence text, ParsePosition position) {
+        requireNonNull(text);
+        requireNonNull(position);
+        return parser.parse(text, position, currencyUnit, producer);
     }
 
     @Override
     public String queryFrom(MonetaryAmount amount) {
         return Optional
                 .ofNullable(amount)
-                .map(m -> decimalFormat.format(amount.getNumber().numberValue(
+                .map(m -> format().format(amount.getNumber().numberValue(
                         BigDecimal.class))).orElse("null");
     }
 
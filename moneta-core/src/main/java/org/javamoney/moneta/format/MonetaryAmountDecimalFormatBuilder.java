@@ -44,6 +44,8 @@ public class MonetaryAmountDecimalFormatBuilder {
 
     private MonetaryAmountProducer producer;
 
+    private boolean threadSafe;
+
     private MonetaryAmountDecimalFormatBuilder() {
     }
 
@@ -119,6 +121,18 @@ public class MonetaryAmountDecimalFormatBuilder {
         return this;
     }
 
+    /**
+     * Defines if the {@link MonetaryAmountFormat} created can be shared between threads. A thread-safe format
+     * uses a copy of the {@link DecimalFormat} per thread for formatting, parsing is always thread-safe.
+     * @param threadSafe true, for creating a thread-safe format
+     * @return the {@link MonetaryAmountDecimalFormatBuilder}
+     * @since 1.4
+     */
+    public MonetaryAmountDecimalFormatBuilder withThreadSafety(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+        return this;
+    }
+
     /**
      * Creates the {@link MonetaryAmountFormat}
      * If @{link Locale} didn't set the default value is {@link Locale#getDefault()}
@@ -140,6 +154,9 @@ public class MonetaryAmountDecimalFormatBuilder {
             producer = new MoneyProducer();
         }
         decimalFormat.setCurrency(Currency.getInstance(currencyUnit.getCurrencyCode()));
+        if (threadSafe) {
+            return new MonetaryAmountDecimalFormat((DecimalFormat) decimalFormat.clone(), producer, currencyUnit, true);
+        }
         return new MonetaryAmountDecimalFormat(decimalFormat, producer, currencyUnit);
     }
 
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.Objects;
@@ -47,6 +49,13 @@ final class AmountNumberToken implements FormatToken {
     private DecimalFormat parseFormat;
     private DecimalFormat formatFormat;
     private StringGrouper numberGroup;
+    private int[] groupSizes;
+    private char decimalSeparator;
+    /**
+     * Scratch buffer reused for every amount printed, see {@link #print(Appendable, MonetaryAmount)}.
+     */
+    private final StringBuffer scratch = new StringBuffer();
+    private final FieldPosition fieldPosition = new FieldPosition(NumberFormat.INTEGER_FIELD);
 
     AmountNumberToken(AmountFormatContext amountFormatContext, String partialNumberPattern) {
         requireNonNull(amountFormatContext, "amountFormatContext is required.");
@@ -67,11 +76,16 @@ final class AmountNumberToken implements FormatToken {
             syms = formatFormat.getDecimalFormatSymbols();
         }
         fixThousandsSeparatorWithSpace(syms);
+        decimalSeparator = syms.getDecimalSeparator();
         formatFormat.setDecimalFormatSymbols(syms);
         parseFormat.setDecimalFormatSymbols(syms);
 
         formatFormat.applyPattern(partialNumberPattern);
         parseFormat.applyPattern(partialNumberPattern.trim());
+        groupSizes = amountFormatContext.get(GROUPING_SIZES, int[].class);
+        if (groupSizes != null && groupSizes.length > 0) {
+            formatFormat.setGroupingUsed(false);
+        }
     }
 
     private void fixThousandsSeparatorWithSpace(DecimalFormatSymbols syms) {
@@ -102,17 +116,17 @@ final class AmountNumberToken implements FormatToken {
     @Override
     public void print(Appendable appendable, MonetaryAmount amount)
             throws IOException {
-        int[] groupSizes = amountFormatContext.get(GROUPING_SIZES, int[].class);
+        BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+        scratch.setLength(0);
         if (groupSizes == null || groupSizes.length == 0) {
-            String preformattedValue = formatFormat.format(amount.getNumber().numberValue(BigDecimal.class));
-            appendable.append(preformattedValue);
+            formatFormat.format(number, scratch, fieldPosition);
+            appendable.append(scratch);
             return;
         }
-        formatFormat.setGroupingUsed(false);
-        String preformattedValue = formatFormat.format(amount.getNumber().numberValue(BigDecimal.class));
-        String[] numberParts = splitNumberParts(formatFormat, preformattedValue);
-        if (numberParts.length != 2) {
-            appendable.append(preformattedValue);
+        formatFormat.format(number, scratch, fieldPosition);
+        int index = indexOfDecimalSeparator();
+        if (index < 0) {
+            appendable.append(scratch);
         } else {
             if (Objects.isNull(numberGroup)) {
                 char[] groupChars = amountFormatContext.get(GROUPING_GROUPING_SEPARATORS, char[].class);
@@ -122,23 +136,19 @@ final class AmountNumberToken implements FormatToken {
                 }
                 numberGroup = new StringGrouper(groupChars, groupSizes);
             }
-            preformattedValue = numberGroup.group(numberParts[0])
-                    + formatFormat.getDecimalFormatSymbols()
-                    .getDecimalSeparator() + numberParts[1];
-            appendable.append(preformattedValue);
+            appendable.append(numberGroup.group(scratch.substring(0, index)))
+                    .append(decimalSeparator)
+                    .append(scratch, index + 1, scratch.length());
         }
     }
 
-    private String[] splitNumberParts(DecimalFormat format,
-                                      String preformattedValue) {
-        char decimalSeparator = format.getDecimalFormatSymbols().getDecimalSeparator();
-        int index = preformattedValue.indexOf(decimalSeparator);
-        if (index < 0) {
-            return new String[]{preformattedValue};
+    private int indexOfDecimalSeparator() {
+        for (int i = 0; i < scratch.length(); i++) {
+            if (scratch.charAt(i) == decimalSeparator) {
+                return i;
+            }
         }
-        String beforeSeparator = preformattedValue.substring(0, index);
-        String afterSeparator = preformattedValue.substring(index + 1);
-        return new String[]{beforeSeparator, afterSeparator};
+        return -1;
     }
 
     @Override
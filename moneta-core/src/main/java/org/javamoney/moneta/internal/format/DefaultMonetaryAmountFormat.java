@@ -30,6 +30,7 @@ import javax.money.format.MonetaryParseException;
 
 import org.javamoney.moneta.format.AmountFormatParams;
 import org.javamoney.moneta.format.CurrencyStyle;
+import org.javamoney.moneta.format.MonetaryAmountBulkFormat;
 
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
@@ -47,7 +48,7 @@ import static org.javamoney.moneta.format.AmountFormatParams.PATTERN;
  * @author Anatole Tresch
  * @author Werner Keil
  */
-final class DefaultMonetaryAmountFormat implements MonetaryAmountFormat {
+final class DefaultMonetaryAmountFormat implements MonetaryAmountBulkFormat {
 
     /**
      * The international Unicode currency sign.
@@ -133,6 +134,35 @@ final class DefaultMonetaryAmountFormat implements MonetaryAmountFormat {
         }
     }
 
+    /**
+     * Prints all amounts to an {@code Appendable}, separated by the given separator. The tokens are
+     * resolved once for the whole call and their number formatting buffers are reused for all
+     * amounts.
+     *
+     * @param appendable the appendable to add to, not null
+     * @param amounts    the amounts to print, not null
+     * @param separator  the separator written between two amounts, not null
+     * @throws IOException if an IO error occurs
+     */
+    @Override
+    public void printAll(Appendable appendable, Iterable<? extends MonetaryAmount> amounts, CharSequence separator)
+            throws IOException {
+        requireNonNull(appendable);
+        requireNonNull(separator);
+        FormatToken[] positive = this.positiveTokens.toArray(new FormatToken[0]);
+        FormatToken[] negative = this.negativeTokens.toArray(new FormatToken[0]);
+        boolean first = true;
+        for (MonetaryAmount amount : requireNonNull(amounts)) {
+            if (!first) {
+                appendable.append(separator);
+            }
+            first = false;
+            for (FormatToken token : amount.isNegative() ? negative : positive) {
+                token.print(appendable, amount);
+            }
+        }
+    }
+
     /**
      * Fully parses the text into an instance of {@code MonetaryAmount}.
      * <p>
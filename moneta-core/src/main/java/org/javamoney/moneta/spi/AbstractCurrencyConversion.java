@@ -17,6 +17,7 @@ package org.javamoney.moneta.spi;
 
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
 import javax.money.MonetaryOperator;
 import javax.money.NumberValue;
 import javax.money.convert.ConversionContext;
@@ -24,10 +25,17 @@ import javax.money.convert.CurrencyConversion;
 import javax.money.convert.CurrencyConversionException;
 import javax.money.convert.ExchangeRate;
 
+import org.javamoney.moneta.FastMoney;
 import org.javamoney.moneta.function.MonetaryOperators;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -43,6 +51,39 @@ public abstract class AbstractCurrencyConversion implements CurrencyConversion {
 
     public static final String KEY_SCALE = "exchangeRateScale";
 
+    /**
+     * Marks that a rate has no fixed-point factor usable for {@link FastMoney}.
+     */
+    private static final long NO_FAST_MONEY_FACTOR = Long.MIN_VALUE;
+
+    private static final int FAST_MONEY_SCALE = FastMoney.MAX_VALUE.getScale();
+
+    /**
+     * Marks that a rate defines no {@link #KEY_SCALE}.
+     */
+    private static final int NO_SCALE = -1;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    /**
+     * True, if {@link #roundFactor(MonetaryAmount, NumberValue)} is not overridden, so {@link FastMoney} amounts
+     * can be converted with the fixed-point factor of a {@link FixedPointExchangeRate}.
+     */
+    private final boolean defaultRoundFactor = isDefaultRoundFactor(getClass());
+
+    /**
+     * The step of the last conversion, reused as long as the same rate is returned for amounts of the same
+     * currency and context. Only used if {@link #roundFactor(MonetaryAmount, NumberValue)} is not overridden.
+     */
+    private volatile ConversionStep lastStep;
+
     public AbstractCurrencyConversion(CurrencyUnit termCurrency, ConversionContext conversionContext) {
         Objects.requireNonNull(termCurrency);
         Objects.requireNonNull(conversionContext);
@@ -107,16 +148,151 @@ public abstract class AbstractCurrencyConversion implements CurrencyConversion {
             throw new CurrencyConversionException(amount.getCurrency(),
                     this.termCurrency, null);
         }
+        ConversionStep step = this.lastStep;
+        if (Objects.isNull(step) || step.rate != rate || !step.matches(amount)) {
+            step = createStep(amount, rate);
+            if (defaultRoundFactor) {
+                this.lastStep = step;
+            }
+        }
+        return step.convert(amount);
+    }
 
-        NumberValue factor = rate.getFactor();
-        factor = roundFactor(amount, factor);
+    /**
+     * Converts all given amounts, see {@link #apply(MonetaryAmount)}. The {@link ExchangeRate} and the rounded
+     * factor are resolved only once per source currency (and amount context), instead of once per amount.
+     *
+     * @param amounts The source amounts, not null.
+     * @return The converted amounts, in the order of the source amounts, never null.
+     * @throws CurrencyConversionException if conversion failed, or the required data is not available.
+     */
+    public List<MonetaryAmount> applyAll(Collection<? extends MonetaryAmount> amounts) {
+        return Arrays.asList(applyAll(amounts.toArray(new MonetaryAmount[0]), null));
+    }
 
+    /**
+     * Converts all given amounts, see {@link #apply(MonetaryAmount)}. The {@link ExchangeRate} and the rounded
+     * factor are resolved only once per source currency (and amount context), instead of once per amount.
+     *
+     * @param amounts The source amounts, not null.
+     * @param target  The array the converted amounts are written to, at the index of the source amount, or null
+     *                to create a new array. May be the source array.
+     * @return The array containing the converted amounts, never null.
+     * @throws CurrencyConversionException if conversion failed, or the required data is not available.
+     * @throws IllegalArgumentException    if the target array is shorter than the source array.
+     */
+    public MonetaryAmount[] applyAll(MonetaryAmount[] amounts, MonetaryAmount[] target) {
+        Objects.requireNonNull(amounts);
+        if (Objects.isNull(target)) {
+            target = new MonetaryAmount[amounts.length];
+        } else if (target.length < amounts.length) {
+            throw new IllegalArgumentException("Target array too short: " + target.length + " < " + amounts.length);
+        }
+        Map<CurrencyUnit, ConversionStep> steps = new HashMap<>();
+        ConversionStep step = null;
+        for (int i = 0; i < amounts.length; i++) {
+            MonetaryAmount amount = Objects.requireNonNull(amounts[i]);
+            CurrencyUnit currency = amount.getCurrency();
+            if (termCurrency.equals(currency)) {
+                target[i] = amount;
+                continue;
+            }
+            if (Objects.isNull(step) || !step.matches(amount)) {
+                step = steps.get(currency);
+                if (Objects.isNull(step)) {
+                    step = createStep(amount, null);
+                    steps.put(currency, step);
+                } else if (!step.matches(amount)) {
+                    step = createStep(amount, step.rate);
+                    steps.put(currency, step);
+                }
+            }
+            target[i] = step.convert(amount);
+        }
+        return target;
+    }
+
+    private ConversionStep createStep(MonetaryAmount amount, ExchangeRate rate) {
+        if (Objects.isNull(rate)) {
+            rate = getExchangeRate(amount);
+            if (Objects.isNull(rate) || !amount.getCurrency().equals(rate.getBaseCurrency())) {
+                throw new CurrencyConversionException(amount.getCurrency(),
+                        this.termCurrency, null);
+            }
+        }
         Integer scale = rate.getContext().get(KEY_SCALE, Integer.class);
-        if(Objects.isNull(scale) || scale < 0) {
-        	return amount.multiply(factor).getFactory().setCurrency(rate.getCurrency()).create();
-        } else {
-        	return amount.multiply(factor).getFactory().setCurrency(rate.getCurrency()).create().with(MonetaryOperators.rounding(scale));
+        if (Objects.isNull(scale) || scale < 0) {
+            scale = NO_SCALE;
         }
+        if (amount instanceof FastMoney) {
+            long fastMoneyFactor = getFastMoneyFactor(rate);
+            if (fastMoneyFactor != NO_FAST_MONEY_FACTOR) {
+                return new ConversionStep(amount, rate, null, fastMoneyFactor, scale);
+            }
+        }
+        return new ConversionStep(amount, rate, roundFactor(amount, rate.getFactor()), NO_FAST_MONEY_FACTOR, scale);
+    }
+
+    /**
+     * Evaluates the factor of the given rate scaled by {@link FastMoney}'s scale, rounded the same way as
+     * {@link #roundFactor(MonetaryAmount, NumberValue)} rounds it for a {@link FastMoney} amount.
+     *
+     * @param rate the rate, not null.
+     * @return the scaled factor, or {@link #NO_FAST_MONEY_FACTOR}, if the rate has no fixed-point factor, or the
+     * factor can not be used by {@link FastMoney}.
+     */
+    private long getFastMoneyFactor(ExchangeRate rate) {
+        if (!defaultRoundFactor || !(rate instanceof FixedPointExchangeRate)) {
+            return NO_FAST_MONEY_FACTOR;
+        }
+        int scale = ((FixedPointExchangeRate) rate).getFactorScale();
+        long unscaled = ((FixedPointExchangeRate) rate).getUnscaledFactor();
+        if (scale < 0 || unscaled == Long.MIN_VALUE) {
+            return NO_FAST_MONEY_FACTOR;
+        }
+        // the factor's scale, limited to the amount's max scale, is used as precision, see roundFactor
+        int precision = Math.min(scale, FAST_MONEY_SCALE);
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && Math.abs(unscaled) >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        if (precision > 0 && digits > precision) {
+            long divisor = POWERS_OF_TEN[digits - precision];
+            long quotient = unscaled / divisor;
+            long twiceRemainder = Math.abs(unscaled % divisor) * 2L;
+            if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1L) != 0L)) {
+                quotient += Long.signum(unscaled);
+            }
+            scale -= digits - precision;
+            unscaled = quotient;
+        }
+        // FastMoney strips trailing zeros before checking the scale of a factor
+        while (scale > FAST_MONEY_SCALE && unscaled % 10L == 0L) {
+            unscaled /= 10L;
+            scale--;
+        }
+        if (scale > FAST_MONEY_SCALE || FAST_MONEY_SCALE - scale >= POWERS_OF_TEN.length) {
+            return NO_FAST_MONEY_FACTOR;
+        }
+        try {
+            return Math.multiplyExact(unscaled, POWERS_OF_TEN[FAST_MONEY_SCALE - scale]);
+        } catch (ArithmeticException e) {
+            return NO_FAST_MONEY_FACTOR;
+        }
+    }
+
+    private static boolean isDefaultRoundFactor(Class<?> type) {
+        for (Class<?> current = type; current != AbstractCurrencyConversion.class; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod("roundFactor", MonetaryAmount.class, NumberValue.class);
+                return false;
+            } catch (NoSuchMethodException e) {
+                // not overridden by this class
+            } catch (SecurityException e) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -165,4 +341,66 @@ public abstract class AbstractCurrencyConversion implements CurrencyConversion {
         return getClass().getName() + " [MonetaryAmount -> MonetaryAmount" + ']';
     }
 
+    /**
+     * The resolved rate, rounded factor and rounding scale for the amounts of one currency and amount context, so
+     * an amount is converted and rounded without evaluating the rate again.
+     */
+    private static final class ConversionStep {
+
+        private final CurrencyUnit currency;
+
+        private final MonetaryContext context;
+
+        private final ExchangeRate rate;
+
+        private final NumberValue factor;
+
+        private final long fastMoneyFactor;
+
+        private final int scale;
+
+        ConversionStep(MonetaryAmount amount, ExchangeRate rate, NumberValue factor, long fastMoneyFactor,
+                       int scale) {
+            this.currency = amount.getCurrency();
+            this.context = amount.getContext();
+            this.rate = rate;
+            this.factor = factor;
+            this.fastMoneyFactor = fastMoneyFactor;
+            this.scale = scale;
+        }
+
+        boolean matches(MonetaryAmount amount) {
+            MonetaryContext amountContext = amount.getContext();
+            return currency.equals(amount.getCurrency())
+                    && (context == amountContext || context.equals(amountContext));
+        }
+
+        /**
+         * Converts the given amount, rounding the result to the scale of the rate in the same step, which gives
+         * the same result as applying {@link MonetaryOperators#rounding(int)} to the converted amount.
+         *
+         * @param amount the amount, matching this step.
+         * @return the converted amount, never null.
+         */
+        MonetaryAmount convert(MonetaryAmount amount) {
+            if (fastMoneyFactor != NO_FAST_MONEY_FACTOR) {
+                FastMoney result = ((FastMoney) amount).multiplyScaled(fastMoneyFactor, FAST_MONEY_SCALE,
+                        rate.getCurrency());
+                if (scale == NO_SCALE || scale >= FAST_MONEY_SCALE) {
+                    return result;
+                }
+                return result.getFactory().setNumber(
+                        result.getNumber().numberValue(BigDecimal.class).setScale(scale, RoundingMode.HALF_EVEN))
+                        .create();
+            }
+            MonetaryAmount product = amount.multiply(factor);
+            if (scale == NO_SCALE) {
+                return product.getFactory().setCurrency(rate.getCurrency()).create();
+            }
+            return product.getFactory().setCurrency(rate.getCurrency()).setNumber(
+                    product.getNumber().numberValue(BigDecimal.class).setScale(scale, RoundingMode.HALF_EVEN))
+                    .create();
+        }
+    }
+
 }
@@ -42,6 +42,19 @@ import javax.money.convert.RateType;
  */
 public abstract class AbstractRateProvider implements ExchangeRateProvider {
 
+    /**
+     * Boolean {@link ConversionQuery} key. If set to {@code true}, providers with date based rates that have no rate
+     * for the requested date use the rate of the nearest preceding date, e.g. the previous business day for a
+     * weekend date, instead of failing.
+     */
+    public static final String KEY_PREVIOUS_DAY_FALLBACK = "previousDayFallback";
+
+    /**
+     * Boolean {@link ConversionQuery} key. If set to {@code true}, providers loading their rates fail immediately
+     * while the rates are not loaded yet, instead of waiting for the load.
+     */
+    public static final String KEY_FAIL_FAST = "failFast";
+
     /**
      * The {@link ConversionContext} of this provider.
      */
@@ -165,6 +178,26 @@ public abstract class AbstractRateProvider implements ExchangeRateProvider {
         }
 	}
 
+    /**
+     * Checks if the query allows to fall back to the nearest preceding date, see {@link #KEY_PREVIOUS_DAY_FALLBACK}.
+     *
+     * @param query the query, not null.
+     * @return true, if the previous day fallback is enabled.
+     */
+    protected boolean isPreviousDayFallback(ConversionQuery query) {
+        return Boolean.TRUE.equals(query.getBoolean(KEY_PREVIOUS_DAY_FALLBACK));
+    }
+
+    /**
+     * Checks if the query should fail immediately while the rates are not loaded yet, see {@link #KEY_FAIL_FAST}.
+     *
+     * @param query the query, not null.
+     * @return true, if fail fast is enabled.
+     */
+    protected boolean isFailFast(ConversionQuery query) {
+        return Boolean.TRUE.equals(query.getBoolean(KEY_FAIL_FAST));
+    }
+
     protected LocalDate[] getQueryDates(ConversionQuery query) {
 
         if (Objects.nonNull(query.get(LocalDate.class)) || Objects.nonNull(query.get(LocalDateTime.class))) {
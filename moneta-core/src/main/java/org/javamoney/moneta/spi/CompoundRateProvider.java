@@ -25,9 +25,22 @@ import javax.money.convert.RateType;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This class implements a {@link ExchangeRateProvider} that delegates calls to
@@ -43,22 +56,106 @@ public class CompoundRateProvider extends AbstractRateProvider {
      */
     @Deprecated
     public static final String CHILD_PROVIDER_CONTEXTS_KEY = "childProviderContexts";
+
+    /**
+     * Config key of the default {@link QueryMode}.
+     */
+    static final String KEY_QUERY_MODE = "conversion.compound.mode";
+
+    /**
+     * Config key of the delay in milliseconds, after which the next child provider is queried in
+     * {@link QueryMode#HEDGED} mode.
+     */
+    static final String KEY_HEDGE_DELAY = "conversion.compound.hedgeDelay";
+
+    /**
+     * Config key of the time in milliseconds a child provider may take in the concurrent modes, before it is
+     * skipped.
+     */
+    static final String KEY_TIMEOUT = "conversion.compound.timeout";
+
+    /**
+     * Config key of the number of threads querying child providers in the concurrent modes.
+     */
+    static final String KEY_THREADS = "conversion.compound.threads";
+
+    private static final Logger LOG = Logger.getLogger(CompoundRateProvider.class.getName());
+
+    /**
+     * Defines how the child providers are queried.
+     */
+    public enum QueryMode {
+        /**
+         * The child providers are queried one after the other, the first rate returned is used.
+         */
+        SEQUENTIAL,
+        /**
+         * All child providers are queried at once, the rate of the first provider in the given order returning a
+         * rate within the timeout is used.
+         */
+        PARALLEL,
+        /**
+         * The next child provider is queried, if the previous ones have not returned within the hedge delay. The
+         * rate of a provider is used, when all providers before it have returned no rate or have timed out, so a
+         * backup provider answering first does not win over the providers before it.
+         */
+        HEDGED
+    }
+
     /**
      * The {@link ExchangeRateProvider} instances.
      */
     private final List<ExchangeRateProvider> providers = new ArrayList<>();
 
+    private final QueryMode queryMode;
+
+    private final long hedgeDelayNanos;
+
+    private final long timeoutNanos;
+
     /**
-     * Constructor.
+     * Constructor, the {@link QueryMode} is read from the {@code conversion.compound.mode} config entry, by default
+     * {@link QueryMode#SEQUENTIAL}.
      *
      * @param providers The collection of child {@link ExchangeRateProvider}
      *                  instances this class delegates calls to.
      */
     public CompoundRateProvider(Iterable<ExchangeRateProvider> providers) {
+        this(providers, readQueryMode());
+    }
+
+    /**
+     * Constructor. The hedge delay ({@code conversion.compound.hedgeDelay}, default 500 ms) and the timeout per
+     * child provider ({@code conversion.compound.timeout}, default 30000 ms) are read from the config.
+     *
+     * @param providers The collection of child {@link ExchangeRateProvider}
+     *                  instances this class delegates calls to.
+     * @param queryMode the mode of querying the child providers, not null.
+     */
+    public CompoundRateProvider(Iterable<ExchangeRateProvider> providers, QueryMode queryMode) {
+        this(providers, queryMode, readLong(KEY_HEDGE_DELAY, 500L), readLong(KEY_TIMEOUT, 30_000L));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param providers       The collection of child {@link ExchangeRateProvider}
+     *                        instances this class delegates calls to.
+     * @param queryMode       the mode of querying the child providers, not null.
+     * @param hedgeDelayMillis the delay in milliseconds, after which the next child provider is queried in
+     *                        {@link QueryMode#HEDGED} mode.
+     * @param timeoutMillis   the time in milliseconds a child provider may take in the concurrent modes, before
+     *                        it is skipped.
+     */
+    public CompoundRateProvider(Iterable<ExchangeRateProvider> providers, QueryMode queryMode,
+                                long hedgeDelayMillis, long timeoutMillis) {
         super(createContext(providers));
         for (ExchangeRateProvider exchangeRateProvider : providers) {
             addProvider(exchangeRateProvider);
         }
+        this.queryMode = Objects.requireNonNull(queryMode);
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
     }
 
     private static ProviderContext createContext(Iterable<ExchangeRateProvider> providers) {
@@ -102,6 +199,9 @@ public class CompoundRateProvider extends AbstractRateProvider {
      */
     @Override
     public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+        if (queryMode != QueryMode.SEQUENTIAL && this.providers.size() > 1) {
+            return getExchangeRateConcurrently(conversionQuery);
+        }
         for (ExchangeRateProvider prov : this.providers) {
             try {
                 if (prov.isAvailable(conversionQuery)) {
@@ -121,5 +221,191 @@ public class CompoundRateProvider extends AbstractRateProvider {
                         ", query=" + conversionQuery);
     }
 
+    /**
+     * Queries the child providers on the shared executor. The rate of a child provider is used, when all providers
+     * before it have returned no rate or have timed out. In {@link QueryMode#PARALLEL} mode all providers are started
+     * at once, in {@link QueryMode#HEDGED} mode one after the other, each after the hedge delay. A provider not
+     * accepted by the executor, because its queue is full, is skipped.
+     */
+    private ExchangeRate getExchangeRateConcurrently(ConversionQuery conversionQuery) {
+        List<Future<ExchangeRate>> futures = new ArrayList<>(this.providers.size());
+        try {
+            if (queryMode == QueryMode.HEDGED) {
+                return getExchangeRateHedged(conversionQuery, futures);
+            }
+            return getExchangeRateParallel(conversionQuery, futures);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CurrencyConversionException(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency(), null,
+                    "Interrupted while waiting for delegate providers, query=" + conversionQuery, e);
+        } finally {
+            for (Future<ExchangeRate> future : futures) {
+                if (Objects.nonNull(future)) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private ExchangeRate getExchangeRateParallel(ConversionQuery conversionQuery, List<Future<ExchangeRate>> futures)
+            throws InterruptedException {
+        for (ExchangeRateProvider prov : this.providers) {
+            futures.add(submit(ExecutorHolder.EXECUTOR, prov, conversionQuery));
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int index = 0; index < futures.size(); index++) {
+            ExchangeRateProvider prov = this.providers.get(index);
+            if (Objects.isNull(futures.get(index))) {
+                continue;
+            }
+            try {
+                ExchangeRate rate = futures.get(index).get(Math.max(0L, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                if (Objects.nonNull(rate)) {
+                    return rate;
+                }
+            } catch (TimeoutException e) {
+                LOG.fine(() -> "Rate provider timed out, provider=" + prov.getContext().getProviderName());
+            } catch (ExecutionException e) {
+                throw createProviderFailure(conversionQuery, prov, e.getCause());
+            }
+        }
+        throw createAllFailed(conversionQuery);
+    }
+
+    private ExchangeRate getExchangeRateHedged(ConversionQuery conversionQuery, List<Future<ExchangeRate>> futures)
+            throws InterruptedException {
+        CompletionService<ExchangeRate> completionService = new ExecutorCompletionService<>(ExecutorHolder.EXECUTOR);
+        int size = this.providers.size();
+        ExchangeRate[] rates = new ExchangeRate[size];
+        Throwable[] failures = new Throwable[size];
+        boolean[] done = new boolean[size];
+        long[] deadlines = new long[size];
+        long nextStart = 0L;
+        // the first provider, whose result is still awaited
+        int head = 0;
+        while (head < size) {
+            long now = System.nanoTime();
+            int started = futures.size();
+            if (started < size && (started == head || now - nextStart >= 0)) {
+                Future<ExchangeRate> future = submit(completionService, this.providers.get(started), conversionQuery);
+                futures.add(future);
+                deadlines[started] = now + timeoutNanos;
+                nextStart = now + hedgeDelayNanos;
+                done[started] = Objects.isNull(future);
+            } else {
+                long wait = deadlines[head] - now;
+                if (started < size) {
+                    wait = Math.min(wait, nextStart - now);
+                }
+                Future<ExchangeRate> future = completionService.poll(Math.max(0L, wait), TimeUnit.NANOSECONDS);
+                if (Objects.nonNull(future)) {
+                    int index = futures.indexOf(future);
+                    done[index] = true;
+                    try {
+                        rates[index] = future.get();
+                    } catch (ExecutionException e) {
+                        failures[index] = e.getCause();
+                    }
+                } else if (System.nanoTime() - deadlines[head] >= 0) {
+                    ExchangeRateProvider prov = this.providers.get(head);
+                    LOG.fine(() -> "Rate provider timed out, provider=" + prov.getContext().getProviderName());
+                    done[head] = true;
+                }
+            }
+            while (head < futures.size() && done[head]) {
+                if (Objects.nonNull(failures[head])) {
+                    throw createProviderFailure(conversionQuery, this.providers.get(head), failures[head]);
+                }
+                if (Objects.nonNull(rates[head])) {
+                    return rates[head];
+                }
+                head++;
+            }
+        }
+        throw createAllFailed(conversionQuery);
+    }
+
+    private static Future<ExchangeRate> submit(ExecutorService executor, ExchangeRateProvider prov,
+                                               ConversionQuery conversionQuery) {
+        try {
+            return executor.submit(
+                    () -> prov.isAvailable(conversionQuery) ? prov.getExchangeRate(conversionQuery) : null);
+        } catch (RejectedExecutionException e) {
+            LOG.fine(() -> "Rate provider skipped, executor busy, provider=" + prov.getContext().getProviderName());
+            return null;
+        }
+    }
+
+    private static Future<ExchangeRate> submit(CompletionService<ExchangeRate> completionService,
+                                               ExchangeRateProvider prov, ConversionQuery conversionQuery) {
+        try {
+            return completionService.submit(
+                    () -> prov.isAvailable(conversionQuery) ? prov.getExchangeRate(conversionQuery) : null);
+        } catch (RejectedExecutionException e) {
+            LOG.fine(() -> "Rate provider skipped, executor busy, provider=" + prov.getContext().getProviderName());
+            return null;
+        }
+    }
+
+    private static CurrencyConversionException createProviderFailure(ConversionQuery conversionQuery,
+                                                                     ExchangeRateProvider prov, Throwable cause) {
+        return new CurrencyConversionException(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency(), null,
+                "Rate Provider did not return data though at check before data was flagged as available," +
+                        " provider=" + prov.getContext().getProviderName() + ", query=" + conversionQuery, cause);
+    }
+
+    private CurrencyConversionException createAllFailed(ConversionQuery conversionQuery) {
+        return new CurrencyConversionException(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency(), null,
+                "All delegate prov iders failed to deliver rate, providers=" + this.providers +
+                        ", query=" + conversionQuery);
+    }
+
+    private static QueryMode readQueryMode() {
+        String value = MonetaryConfig.getConfig().get(KEY_QUERY_MODE);
+        if (Objects.isNull(value) || value.isEmpty()) {
+            return QueryMode.SEQUENTIAL;
+        }
+        try {
+            return QueryMode.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "Invalid " + KEY_QUERY_MODE + ": " + value, e);
+            return QueryMode.SEQUENTIAL;
+        }
+    }
+
+    private static long readLong(String key, long defaultValue) {
+        String value = MonetaryConfig.getConfig().get(key);
+        if (Objects.isNull(value) || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid " + key + ": " + value, e);
+            return defaultValue;
+        }
+    }
 
-}
\ No newline at end of file
+    /**
+     * Holds the executor of the concurrent modes, created on first use. The executor is bounded by
+     * {@code conversion.compound.threads} (default 4) threads and a queue of 1000 tasks; when the queue is full,
+     * the child provider is skipped, instead of querying it in the calling thread without a timeout.
+     */
+    private static final class ExecutorHolder {
+
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            int threads = (int) Math.max(1L, readLong(KEY_THREADS, 4L));
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(1000), runnable -> {
+                        Thread thread = new Thread(runnable, "CompoundRateProvider");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
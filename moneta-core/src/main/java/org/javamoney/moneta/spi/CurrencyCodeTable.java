@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.UnknownCurrencyException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Platform RI: Lookup table for {@link CurrencyUnit} instances with three letter, upper case ISO
+ * codes. Each code is mapped to a slot of a fixed array, so parsers reading currency codes from
+ * bytes or characters can resolve a currency without creating a {@link String} and without going
+ * through the {@link Monetary} singleton for every lookup. Slots are filled on first access using
+ * {@link Monetary#getCurrency(String, String...)}; all other codes are always delegated to
+ * {@link Monetary}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class CurrencyCodeTable {
+
+    private static final int LETTERS = 26;
+
+    private static final AtomicReferenceArray<CurrencyUnit> TABLE =
+            new AtomicReferenceArray<>(LETTERS * LETTERS * LETTERS);
+
+    private CurrencyCodeTable() {
+    }
+
+    /**
+     * Access the {@link CurrencyUnit} for the currency code given by its three characters.
+     *
+     * @param c0 the first character of the code.
+     * @param c1 the second character of the code.
+     * @param c2 the third character of the code.
+     * @return the corresponding {@link CurrencyUnit}, never null.
+     * @throws UnknownCurrencyException if no such currency exists.
+     */
+    public static CurrencyUnit getCurrency(int c0, int c1, int c2) {
+        int index = index(c0, c1, c2);
+        if (index < 0) {
+            return Monetary.getCurrency(new String(new char[]{(char) c0, (char) c1, (char) c2}));
+        }
+        CurrencyUnit currency = TABLE.get(index);
+        if (currency == null) {
+            currency = Monetary.getCurrency(new String(new char[]{(char) c0, (char) c1, (char) c2}));
+            TABLE.lazySet(index, currency);
+        }
+        return currency;
+    }
+
+    /**
+     * Access the {@link CurrencyUnit} for the given currency code.
+     *
+     * @param currencyCode the currency code, not null.
+     * @return the corresponding {@link CurrencyUnit}, never null.
+     * @throws UnknownCurrencyException if no such currency exists.
+     */
+    public static CurrencyUnit getCurrency(CharSequence currencyCode) {
+        requireNonNull(currencyCode, "currencyCode required.");
+        if (currencyCode.length() == 3) {
+            return getCurrency(currencyCode.charAt(0), currencyCode.charAt(1), currencyCode.charAt(2));
+        }
+        return Monetary.getCurrency(currencyCode.toString());
+    }
+
+    /**
+     * Access the {@link CurrencyUnit} for the US-ASCII encoded currency code in the given byte range.
+     *
+     * @param bytes  the bytes, not null.
+     * @param offset the offset of the code.
+     * @param length the length of the code.
+     * @return the corresponding {@link CurrencyUnit}, never null.
+     * @throws UnknownCurrencyException if no such currency exists.
+     */
+    public static CurrencyUnit getCurrency(byte[] bytes, int offset, int length) {
+        if (length == 3) {
+            return getCurrency(bytes[offset], bytes[offset + 1], bytes[offset + 2]);
+        }
+        return Monetary.getCurrency(new String(bytes, offset, length, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Evaluates the table index of the given currency code, which can be used as a compact
+     * identifier of the currency, see {@link #getCurrency(int)}.
+     *
+     * @param currencyCode the currency code, not null.
+     * @return the index, or {@code -1} if the code is not a three letter, upper case code.
+     */
+    public static int indexOf(CharSequence currencyCode) {
+        if (currencyCode.length() != 3) {
+            return -1;
+        }
+        return index(currencyCode.charAt(0), currencyCode.charAt(1), currencyCode.charAt(2));
+    }
+
+    /**
+     * Access the {@link CurrencyUnit} for the given table index.
+     *
+     * @param index the index as returned by {@link #indexOf(CharSequence)}.
+     * @return the corresponding {@link CurrencyUnit}, never null.
+     * @throws IllegalArgumentException if the index is invalid.
+     * @throws UnknownCurrencyException if no such currency exists.
+     */
+    public static CurrencyUnit getCurrency(int index) {
+        if (index < 0 || index >= TABLE.length()) {
+            throw new IllegalArgumentException("Invalid currency index: " + index);
+        }
+        int c2 = index % LETTERS;
+        int c1 = (index / LETTERS) % LETTERS;
+        int c0 = index / (LETTERS * LETTERS);
+        return getCurrency('A' + c0, 'A' + c1, 'A' + c2);
+    }
+
+    private static int index(int c0, int c1, int c2) {
+        if (isUpperCaseLetter(c0) && isUpperCaseLetter(c1) && isUpperCaseLetter(c2)) {
+            return ((c0 - 'A') * LETTERS + (c1 - 'A')) * LETTERS + (c2 - 'A');
+        }
+        return -1;
+    }
+
+    private static boolean isUpperCaseLetter(int ch) {
+        return ch >= 'A' && ch <= 'Z';
+    }
+}
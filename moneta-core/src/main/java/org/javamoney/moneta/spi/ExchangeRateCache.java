@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ExchangeRate;
+
+/**
+ * Small cache of the {@link ExchangeRate}s resolved by a {@link LazyBoundCurrencyConversion}, keyed by base
+ * currency. The term currency, the dates and the rate types are fixed by the conversion query.
+ * <p>
+ * Entries expire after a time to live and the number of entries is bounded. All caches are invalidated by
+ * {@link #invalidateAll()}, which rate providers call after new rate data has been loaded, see
+ * {@link LoaderService.LoaderListener#newDataLoaded(String, java.io.InputStream)}.
+ * <p>
+ * The cache is configured with {@code conversion.rateCache.size} (default 256, 0 disables caching) and
+ * {@code conversion.rateCache.ttl} in milliseconds (default 60000).
+ */
+public final class ExchangeRateCache {
+
+    private static final Logger LOG = Logger.getLogger(ExchangeRateCache.class.getName());
+
+    static final String KEY_SIZE = "conversion.rateCache.size";
+
+    static final String KEY_TTL = "conversion.rateCache.ttl";
+
+    private static final int DEFAULT_SIZE = 256;
+
+    private static final long DEFAULT_TTL = 60_000L;
+
+    /**
+     * Incremented on every invalidation, entries of older generations are stale.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private static final int CONFIGURED_SIZE = (int) getConfigValue(KEY_SIZE, DEFAULT_SIZE);
+
+    private static final long CONFIGURED_TTL = getConfigValue(KEY_TTL, DEFAULT_TTL);
+
+    private final Map<CurrencyUnit, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize   the maximal number of entries, 0 disables caching.
+     * @param ttlMillis the time to live of an entry in milliseconds.
+     */
+    ExchangeRateCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Creates a cache configured by {@link MonetaryConfig}.
+     *
+     * @return the new cache, never null.
+     */
+    static ExchangeRateCache create() {
+        return new ExchangeRateCache(CONFIGURED_SIZE, CONFIGURED_TTL);
+    }
+
+    /**
+     * Invalidates the rates cached by all conversions. Rate providers call this method, when new rate data has
+     * been loaded.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Access the current generation, which must be passed to {@link #put(CurrencyUnit, ExchangeRate, long)} for a
+     * rate resolved afterwards.
+     *
+     * @return the current generation.
+     */
+    static long generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Access a cached rate.
+     *
+     * @param base the base currency, not null.
+     * @return the rate, or null, if not cached, expired or invalidated.
+     */
+    ExchangeRate get(CurrencyUnit base) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        Entry entry = entries.get(base);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+        if (entry.generation != GENERATION.get() || System.nanoTime() - entry.created > ttlNanos) {
+            entries.remove(base, entry);
+            return null;
+        }
+        return entry.rate;
+    }
+
+    /**
+     * Caches a rate.
+     *
+     * @param base       the base currency, not null.
+     * @param rate       the rate, not null.
+     * @param generation the generation read before the rate was resolved.
+     */
+    void put(CurrencyUnit base, ExchangeRate rate, long generation) {
+        if (maxSize <= 0 || generation != GENERATION.get()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(base)) {
+            entries.clear();
+        }
+        entries.put(base, new Entry(rate, generation));
+    }
+
+    private static long getConfigValue(String key, long defaultValue) {
+        String value = MonetaryConfig.getConfig().get(key);
+        if (Objects.isNull(value) || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid " + key + ": " + value + ", using " + defaultValue, e);
+            return defaultValue;
+        }
+    }
+
+    private static final class Entry {
+
+        private final ExchangeRate rate;
+
+        private final long generation;
+
+        private final long created = System.nanoTime();
+
+        Entry(ExchangeRate rate, long generation) {
+            this.rate = rate;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import javax.money.NumberValue;
+import javax.money.convert.ExchangeRate;
+
+/**
+ * An {@link ExchangeRate} that additionally provides its factor as a fixed-point value
+ * {@code unscaledFactor * 10^-factorScale}. {@link AbstractCurrencyConversion} uses it to convert
+ * {@link org.javamoney.moneta.FastMoney} amounts on longs only, without creating {@link BigDecimal}s.
+ */
+public interface FixedPointExchangeRate extends ExchangeRate {
+
+    /**
+     * The largest scale of a fixed-point factor.
+     */
+    int MAX_FACTOR_SCALE = 18;
+
+    /**
+     * Access the unscaled value of the factor.
+     *
+     * @return the unscaled value, only valid if {@link #getFactorScale()} is not negative.
+     */
+    long getUnscaledFactor();
+
+    /**
+     * Access the scale of the factor, which equals {@code getFactor().getScale()}.
+     *
+     * @return the scale, 0 to {@link #MAX_FACTOR_SCALE}, or -1, if the factor can not be represented as a
+     * fixed-point value.
+     */
+    int getFactorScale();
+
+    /**
+     * Evaluates the fixed-point representation of the given factor, see {@link #getFactorScale()}.
+     *
+     * @param factor the factor, not null.
+     * @return the scale of the factor, or -1, if the factor can not be represented as a fixed-point value.
+     */
+    static int getFactorScale(NumberValue factor) {
+        BigDecimal value = Objects.requireNonNull(factor).numberValue(BigDecimal.class);
+        int scale = value.scale();
+        if (scale < 0 || scale > MAX_FACTOR_SCALE || scale != factor.getScale()
+                || value.unscaledValue().bitLength() > 63) {
+            return -1;
+        }
+        return scale;
+    }
+
+    /**
+     * Evaluates the unscaled value of the given factor, see {@link #getUnscaledFactor()}.
+     *
+     * @param factor the factor, not null.
+     * @return the unscaled value, only valid if {@link #getFactorScale(NumberValue)} is not negative.
+     */
+    static long getUnscaledFactor(NumberValue factor) {
+        return Objects.requireNonNull(factor).numberValue(BigDecimal.class).unscaledValue().longValue();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.javamoney.moneta.spi;
 
+import java.util.Objects;
+
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.convert.ConversionContext;
@@ -38,6 +40,11 @@ public class LazyBoundCurrencyConversion extends AbstractCurrencyConversion impl
 
     private final ConversionQuery conversionQuery;
 
+    /**
+     * The rates resolved so far, by base currency.
+     */
+    private final ExchangeRateCache rateCache = ExchangeRateCache.create();
+
     public LazyBoundCurrencyConversion(ConversionQuery conversionQuery, ExchangeRateProvider rateProvider,
                                        ConversionContext conversionContext) {
 
@@ -48,17 +55,25 @@ public class LazyBoundCurrencyConversion extends AbstractCurrencyConversion impl
 
     /**
      * Get the exchange rate type that this provider instance is providing data
-     * for.
+     * for. Resolved rates are cached by base currency, see {@link ExchangeRateCache}.
      *
      * @return the exchange rate type if this instance.
      */
     @Override
     public ExchangeRate getExchangeRate(MonetaryAmount amount) {
-        return this.rateProvider.getExchangeRate(ConversionQueryBuilder
-                .of(conversionQuery).setBaseCurrency(amount.getCurrency())
+        CurrencyUnit base = amount.getCurrency();
+        ExchangeRate rate = rateCache.get(base);
+        if (Objects.nonNull(rate)) {
+            return rate;
+        }
+        long generation = ExchangeRateCache.generation();
+        rate = this.rateProvider.getExchangeRate(ConversionQueryBuilder
+                .of(conversionQuery).setBaseCurrency(base)
                 .build());
-        // return this.rateProvider.getExchangeRate(amount.getCurrency(),
-        // getCurrency());
+        if (Objects.nonNull(rate)) {
+            rateCache.put(base, rate, generation);
+        }
+        return rate;
     }
 
     @Override
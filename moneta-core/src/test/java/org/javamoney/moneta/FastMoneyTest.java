@@ -471,6 +471,32 @@ public class FastMoneyTest {
         assertEquals(FastMoney.of(expectedValue, "CHF"), m.multiply(multiplicand));
     }
 
+    /**
+     * Test method for {@link org.javamoney.moneta.FastMoney#multiplyScaled(long, int, CurrencyUnit)}.
+     */
+    @Test
+    public void testMultiplyScaled() {
+        CurrencyUnit euro = Monetary.getCurrency("EUR");
+        FastMoney m = FastMoney.of(new BigDecimal("100.5"), "CHF");
+        assertEquals(m.multiplyScaled(11234, 4, euro), FastMoney.of(new BigDecimal("112.90170"), "EUR"));
+        assertEquals(m.multiplyScaled(11234, 4, euro), m.multiply(new BigDecimal("1.1234")).getFactory()
+                .setCurrency(euro).create());
+        assertEquals(m.negate().multiplyScaled(3, 0, euro), FastMoney.of(new BigDecimal("-301.5"), "EUR"));
+        // truncated like multiply(Number)
+        assertEquals(FastMoney.of(new BigDecimal("0.00001"), "CHF").multiplyScaled(5, 1, euro),
+                FastMoney.of(0, "EUR"));
+
+        // the intermediate product exceeds a long
+        m = FastMoney.of(new BigDecimal("90000000000000"), "CHF");
+        assertEquals(m.multiplyScaled(5, 1, euro), FastMoney.of(new BigDecimal("45000000000000"), "EUR"));
+        assertEquals(m.negate().multiplyScaled(5, 1, euro), FastMoney.of(new BigDecimal("-45000000000000"), "EUR"));
+        assertEquals(FastMoney.MIN_VALUE.multiplyScaled(1, 0, euro).getNumber(), FastMoney.MIN_VALUE.getNumber());
+
+        assertThrows(ArithmeticException.class, () -> FastMoney.of(new BigDecimal("90000000000000"), "CHF")
+                .multiplyScaled(2, 0, euro));
+        assertThrows(IllegalArgumentException.class, () -> FastMoney.of(1, "CHF").multiplyScaled(1, 10, euro));
+    }
+
     /**
      * Test method for {@link org.javamoney.moneta.FastMoney#multiply(long)}.
      */
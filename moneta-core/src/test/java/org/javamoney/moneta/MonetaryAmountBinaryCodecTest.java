@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryContextBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class MonetaryAmountBinaryCodecTest {
+
+    @Test
+    public void testEncodeDecodeMoney() {
+        Money money = Money.of(new BigDecimal("123.45"), "EUR");
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        assertEquals(encoded.length, 7);
+        MonetaryAmount decoded = MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length);
+        assertEquals(decoded, money);
+        assertEquals(decoded.getContext(), money.getContext());
+    }
+
+    @Test
+    public void testEncodeDecodeFastMoney() {
+        FastMoney money = FastMoney.of(new BigDecimal("-92233720368547.75808"), "CHF");
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        assertEquals(MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length), money);
+        encoded = MonetaryAmountBinaryCodec.encode(FastMoney.of(1, "USD"));
+        assertEquals(encoded.length, 6);
+        assertEquals(MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length), FastMoney.of(1, "USD"));
+    }
+
+    @Test
+    public void testEncodeDecodeRoundedMoney() {
+        RoundedMoney money = RoundedMoney.of(new BigDecimal("1.2345"), "XXX");
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        MonetaryAmount decoded = MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length);
+        assertEquals(decoded, money);
+        assertEquals(decoded.getContext(), money.getContext());
+    }
+
+    @Test
+    public void testEncodeDecodeLargeNumberAndCustomContext() {
+        Money money = Money.of(new BigDecimal("123456789012345678901234567890.123"), "EUR",
+                MonetaryContextBuilder.of(Money.class).set(MathContext.UNLIMITED).build());
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        MonetaryAmount decoded = MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length);
+        assertEquals(decoded, money);
+        assertEquals(decoded.getContext(), money.getContext());
+    }
+
+    @Test
+    public void testEncodeDecodeCustomCurrency() {
+        CurrencyUnit currency = CurrencyUnitBuilder.of("BinaryCodecTest", "MonetaryAmountBinaryCodecTest").build(true);
+        Money money = Money.of(10, currency);
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        assertEquals(MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length), money);
+    }
+
+    @Test
+    public void testByteBufferSequence() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        MonetaryAmountBinaryCodec.encode(Money.of(1, "USD"), buffer);
+        MonetaryAmountBinaryCodec.encode(FastMoney.of(2, "EUR"), buffer);
+        buffer.flip();
+        assertEquals(MonetaryAmountBinaryCodec.decode(buffer), Money.of(1, "USD"));
+        assertEquals(MonetaryAmountBinaryCodec.decode(buffer), FastMoney.of(2, "EUR"));
+        assertEquals(buffer.remaining(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeInvalid() {
+        MonetaryAmountBinaryCodec.decode(new byte[]{(byte) 0xFF, 1}, 0, 2);
+    }
+
+    @Test
+    public void testJavaSerializationIsCompact() throws IOException, ClassNotFoundException {
+        Money money = Money.of(new BigDecimal("123.45"), "EUR");
+        byte[] serialized = serialize(money);
+        assertTrue(serialized.length < 150, "Serialized form too large: " + serialized.length);
+        assertEquals(deserialize(serialized), money);
+        RoundedMoney rounded = RoundedMoney.of(new BigDecimal("123.45"), "EUR");
+        assertEquals(deserialize(serialize(rounded)), rounded);
+        FastMoney fast = FastMoney.of(new BigDecimal("123.45"), "EUR");
+        assertEquals(deserialize(serialize(fast)), fast);
+    }
+
+    @Test
+    public void testEncodeDropsContextObjects() {
+        Money money = Money.of(BigDecimal.ONE, "EUR", MonetaryContextBuilder.of(Money.class)
+                .set(MathContext.DECIMAL32).set("created", new Date(0)).build());
+        byte[] encoded = MonetaryAmountBinaryCodec.encode(money);
+        MonetaryContext context = MonetaryAmountBinaryCodec.decode(encoded, 0, encoded.length).getContext();
+        assertEquals(context.get(MathContext.class), MathContext.DECIMAL32);
+        assertNull(context.get("created", Date.class));
+    }
+
+    @Test
+    public void testJavaSerializationKeepsContextObjects() throws IOException, ClassNotFoundException {
+        Money money = Money.of(BigDecimal.ONE, "EUR", MonetaryContextBuilder.of(Money.class)
+                .set(MathContext.DECIMAL32).set("created", new Date(0)).build());
+        MonetaryAmount deserialized = (MonetaryAmount) deserialize(serialize(money));
+        assertEquals(deserialized, money);
+        assertEquals(deserialized.getContext(), money.getContext());
+    }
+
+    @Test(expectedExceptions = NotSerializableException.class)
+    public void testJavaSerializationRejectsContextObjectsNotSerializable() throws IOException {
+        Money money = Money.of(BigDecimal.ONE, "EUR", MonetaryContextBuilder.of(Money.class)
+                .set("lock", new Object()).build());
+        serialize(money);
+    }
+
+    @Test(expectedExceptions = InvalidClassException.class)
+    public void testContextObjectsAreResolvedByTheOuterStream() throws IOException, ClassNotFoundException {
+        Money money = Money.of(BigDecimal.ONE, "EUR", MonetaryContextBuilder.of(Money.class)
+                .set("created", new Date(0)).build());
+        byte[] serialized = serialize(money);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                if (desc.getName().equals(Date.class.getName())) {
+                    throw new InvalidClassException(desc.getName(), "Rejected");
+                }
+                return super.resolveClass(desc);
+            }
+        }) {
+            ois.readObject();
+        }
+    }
+
+    @Test(expectedExceptions = InvalidObjectException.class)
+    public void testReadUnknownCurrency() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(0x25);
+            out.writeUTF("BinaryCodecUnknown");
+            out.writeByte(0);
+            out.writeByte(2);
+        }
+        MonetaryAmountBinaryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(object);
+        }
+        return bos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
@@ -182,6 +183,14 @@ public class ToStringMonetaryAmountFormatTest {
 		assertEquals(sb.toString(), "BRL 10.00");
 	}
 
+	@Test
+	public void shouldPrintAllAsToString() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		ToStringMonetaryAmountFormat.of(ToStringMonetaryAmountFormatStyle.MONEY)
+				.printAll(sb, Arrays.asList(money, fastMoney, null, roundedMoney), "\n");
+		assertEquals(sb.toString(), money + "\n" + fastMoney + "\nnull\n" + roundedMoney);
+	}
+
 	private void executeTest(MonetaryAmount expectedMoney, MonetaryAmount a,
 			MonetaryAmount b, ToStringMonetaryAmountFormatStyle type) {
 
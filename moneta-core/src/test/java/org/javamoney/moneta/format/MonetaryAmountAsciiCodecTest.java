@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.javamoney.moneta.ToStringMonetaryAmountFormat.ToStringMonetaryAmountFormatStyle;
+import org.testng.annotations.Test;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryParseException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MonetaryAmountAsciiCodecTest {
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void shouldDecodeMoney() {
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        assertEquals(codec.decode(ByteBuffer.wrap(ascii("EUR 123.45"))), Money.of(new BigDecimal("123.45"), "EUR"));
+        assertEquals(codec.decode(ByteBuffer.wrap(ascii("CHF -0.05"))), Money.of(new BigDecimal("-0.05"), "CHF"));
+        assertEquals(codec.decode(ByteBuffer.wrap(ascii("USD 12"))), Money.of(12, "USD"));
+    }
+
+    @Test
+    public void shouldDecodeFastMoneyAndRoundedMoney() {
+        MonetaryAmount fast = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.FAST_MONEY)
+                .decode(ByteBuffer.wrap(ascii("BRL 10.25")));
+        assertEquals(fast, FastMoney.of(new BigDecimal("10.25"), "BRL"));
+        MonetaryAmount rounded = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.ROUNDED_MONEY)
+                .decode(ByteBuffer.wrap(ascii("BRL 10.25")));
+        assertEquals(rounded, RoundedMoney.of(new BigDecimal("10.25"), "BRL"));
+    }
+
+    @Test
+    public void shouldDecodeSliceWithoutMovingPosition() {
+        byte[] message = ascii("xxEUR 1.5yy");
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        assertEquals(codec.decode(message, 2, 7), Money.of(new BigDecimal("1.5"), "EUR"));
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        assertEquals(codec.decode(buffer, 2, 7), Money.of(new BigDecimal("1.5"), "EUR"));
+        assertEquals(buffer.position(), 0);
+    }
+
+    @Test
+    public void shouldDecodeLongNumbersAndExponents() {
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        assertEquals(codec.decode(ByteBuffer.wrap(ascii("EUR 12345678901234567890.123"))),
+                Money.of(new BigDecimal("12345678901234567890.123"), "EUR"));
+        assertEquals(codec.decode(ByteBuffer.wrap(ascii("EUR 1E+3"))), Money.of(new BigDecimal("1E+3"), "EUR"));
+    }
+
+    @Test
+    public void shouldDecodeFromDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put(ascii("JPY 1000")).flip();
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        assertEquals(codec.decode(buffer), Money.of(1000, "JPY"));
+        assertEquals(buffer.remaining(), 0);
+    }
+
+    @Test(expectedExceptions = MonetaryParseException.class)
+    public void shouldFailOnInvalidNumber() {
+        MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.FAST_MONEY).decode(ByteBuffer.wrap(ascii("BRL 23AD")));
+    }
+
+    @Test(expectedExceptions = MonetaryParseException.class)
+    public void shouldFailOnInvalidCurrency() {
+        MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.FAST_MONEY).decode(ByteBuffer.wrap(ascii("AXD 23")));
+    }
+
+    @Test(expectedExceptions = MonetaryParseException.class)
+    public void shouldFailWhenJustHasCurrency() {
+        MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.FAST_MONEY).decode(ByteBuffer.wrap(ascii("BRL")));
+    }
+
+    @Test
+    public void shouldEncodePlainNumbers() {
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        assertEquals(new String(codec.encode(Money.of(new BigDecimal("123.45"), "EUR")), StandardCharsets.US_ASCII),
+                "EUR 123.45");
+        assertEquals(new String(codec.encode(Money.of(new BigDecimal("-0.005"), "EUR")), StandardCharsets.US_ASCII),
+                "EUR -0.005");
+        assertEquals(new String(codec.encode(Money.of(new BigDecimal("1E+3"), "EUR")), StandardCharsets.US_ASCII),
+                "EUR 1000");
+        assertEquals(new String(codec.encode(FastMoney.of(7, "CHF")), StandardCharsets.US_ASCII), "CHF 7");
+    }
+
+    @Test
+    public void shouldRoundTripThroughByteBuffer() {
+        MonetaryAmountAsciiCodec codec = MonetaryAmountAsciiCodec.of(ToStringMonetaryAmountFormatStyle.MONEY);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        MonetaryAmount[] amounts = {Money.of(new BigDecimal("0.01"), "USD"), Money.of(new BigDecimal("-987654.321"), "GBP"),
+                Money.of(new BigDecimal("123456789012345678901234.5"), "EUR")};
+        for (MonetaryAmount amount : amounts) {
+            buffer.clear();
+            codec.encode(amount, buffer);
+            buffer.flip();
+            MonetaryAmount decoded = codec.decode(buffer);
+            assertTrue(decoded.isEqualTo(amount));
+            assertEquals(decoded, amount);
+        }
+    }
+}
@@ -17,9 +17,16 @@ package org.javamoney.moneta.format;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
+import org.javamoney.moneta.FastMoney;
 import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.FastMoneyProducer;
 import org.javamoney.moneta.function.MoneyProducer;
+import org.javamoney.moneta.function.RoundedMoneyProducer;
+import org.javamoney.moneta.RoundedMoney;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -30,8 +37,18 @@ import javax.money.format.AmountFormatContext;
 import javax.money.format.MonetaryAmountFormat;
 import javax.money.format.MonetaryParseException;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
 import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class MonetaryAmountDecimalFormatTest {
 
@@ -124,4 +141,117 @@ public class MonetaryAmountDecimalFormatTest {
         assertEquals(pattern, f.toPattern());
     }
 
+    @Test
+    public void shouldPrintAllMonetaryAmounts() throws IOException {
+        MonetaryAmount[] amounts = {Money.of(EXAMPLE_VALUE, currencyUnit), null, Money.of(2.5, currencyUnit)};
+        StringBuilder sb = new StringBuilder();
+        MonetaryAmountBulkFormat.class.cast(format).printAll(sb, amounts, "; ");
+        assertEquals(sb.toString(), numberFormat.format(EXAMPLE_VALUE) + "; null; " + numberFormat.format(2.5));
+    }
+
+    @Test
+    public void shouldFormatAllMonetaryAmounts() {
+        MonetaryAmountBulkFormat bulkFormat = MonetaryAmountBulkFormat.class.cast(format);
+        MonetaryAmount money = Money.of(EXAMPLE_VALUE, currencyUnit);
+        assertEquals(bulkFormat.formatAll(Arrays.asList(money, money), ","),
+                format.format(money) + ',' + format.format(money));
+        assertEquals(bulkFormat.formatAll(Arrays.asList(), ","), "");
+    }
+
+    @Test
+    public void shouldParseWithoutException() {
+        MonetaryAmountDecimalFormat decimalFormat = MonetaryAmountDecimalFormat.class.cast(format);
+        ParsePosition position = new ParsePosition(0);
+        assertNull(decimalFormat.parse("ERROR", position));
+        assertEquals(position.getErrorIndex(), 0);
+        assertEquals(position.getIndex(), 0);
+        position = new ParsePosition(0);
+        assertNull(decimalFormat.parse("$", position));
+        assertEquals(position.getErrorIndex(), 1);
+    }
+
+    @Test
+    public void shouldReportProducerFailures() {
+        MonetaryAmountDecimalFormat fastFormat = MonetaryAmountDecimalFormat.class.cast(MonetaryAmountDecimalFormatBuilder
+                .of(Locale.US).withProducer(new FastMoneyProducer()).withCurrencyUnit(currencyUnit).build());
+        ParsePosition position = new ParsePosition(0);
+        assertNull(fastFormat.parse("$99,999,999,999,999.99", position));
+        assertEquals(position.getErrorIndex(), 0);
+        assertEquals(position.getIndex(), 0);
+        assertEquals(expectThrows(MonetaryParseException.class, () -> fastFormat.parse("$99,999,999,999,999.99"))
+                .getErrorIndex(), 0);
+        MonetaryAmountFormat failingFormat = MonetaryAmountDecimalFormatBuilder.of(Locale.US)
+                .withProducer((currency, number) -> {
+                    throw new IllegalStateException("Producer failed");
+                }).withCurrencyUnit(currencyUnit).build();
+        expectThrows(MonetaryParseException.class, () -> failingFormat.parse("$1.50"));
+    }
+
+    @Test
+    public void shouldParseAtPosition() {
+        MonetaryAmountDecimalFormat decimalFormat = MonetaryAmountDecimalFormat.class.cast(format);
+        CharBuffer text = CharBuffer.wrap("total: $1,234,567.89 and -$0.05");
+        ParsePosition position = new ParsePosition(7);
+        assertEquals(decimalFormat.parse(text, position), Money.of(new BigDecimal("1234567.89"), currencyUnit));
+        assertEquals(position.getIndex(), 20);
+        position.setIndex(25);
+        assertEquals(decimalFormat.parse(text, position), Money.of(new BigDecimal("-0.05"), currencyUnit));
+        assertEquals(position.getIndex(), text.length());
+    }
+
+    @Test
+    public void shouldParseIntoProducerType() {
+        MonetaryAmountFormat fastFormat = MonetaryAmountDecimalFormatBuilder.of(Locale.US)
+                .withProducer(new FastMoneyProducer()).withCurrencyUnit(currencyUnit).build();
+        MonetaryAmount amount = fastFormat.parse("-$12,345.67");
+        assertTrue(amount instanceof FastMoney);
+        assertEquals(amount, FastMoney.of(new BigDecimal("-12345.67"), currencyUnit));
+        MonetaryAmountFormat roundedFormat = MonetaryAmountDecimalFormatBuilder.of(Locale.US)
+                .withProducer(new RoundedMoneyProducer()).withCurrencyUnit(currencyUnit).build();
+        assertTrue(roundedFormat.parse("$1.50") instanceof RoundedMoney);
+    }
+
+    @Test
+    public void shouldParseLargeNumbers() {
+        String text = "$123,456,789,012,345,678,901.23";
+        assertEquals(format.parse(text), Money.of(new BigDecimal("123456789012345678901.23"), currencyUnit));
+    }
+
+    @Test
+    public void shouldParseSuffixPatterns() {
+        MonetaryAmountFormat germanFormat = MonetaryAmountDecimalFormatBuilder.of(Locale.GERMANY)
+                .withCurrencyUnit(Monetary.getCurrency("EUR")).build();
+        MonetaryAmount amount = Money.of(new BigDecimal("-1234.5"), "EUR");
+        assertEquals(germanFormat.parse(germanFormat.format(amount)), amount);
+        assertEquals(germanFormat.parse("1.234,50 \u20AC"), amount.negate());
+    }
+
+    @Test
+    public void shouldFormatAndParseConcurrently() throws Exception {
+        MonetaryAmountFormat sharedFormat = MonetaryAmountDecimalFormatBuilder.of(Locale.US)
+                .withThreadSafety(true).withCurrencyUnit(currencyUnit).build();
+        assertTrue(MonetaryAmountDecimalFormat.class.cast(sharedFormat).isThreadSafe());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        MonetaryAmount amount = Money.of(BigDecimal.valueOf(offset * 100000L + i, 2), currencyUnit);
+                        if (!amount.equals(sharedFormat.parse(sharedFormat.format(amount)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
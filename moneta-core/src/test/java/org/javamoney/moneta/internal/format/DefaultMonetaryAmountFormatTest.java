@@ -1,6 +1,7 @@
 package org.javamoney.moneta.internal.format;
 
 import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.format.AmountFormatParams;
 import org.testng.annotations.Test;
 
 import javax.money.CurrencyUnit;
@@ -9,6 +10,9 @@ import javax.money.MonetaryAmount;
 import javax.money.format.AmountFormatContext;
 import javax.money.format.AmountFormatContextBuilder;
 import javax.money.format.MonetaryParseException;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 import static java.util.Locale.US;
 import static org.testng.Assert.assertEquals;
@@ -59,6 +63,41 @@ public class DefaultMonetaryAmountFormatTest {
         assertEquals(formatted, "-1000.4");
     }
 
+    @Test
+    public void testPrintAll() throws IOException {
+        AmountFormatContextBuilder builder = AmountFormatContextBuilder.of(US);
+        builder.set("pattern", "0.00 ¤;0.0 ¤");
+        AmountFormatContext context = builder.build();
+        DefaultMonetaryAmountFormat format = new DefaultMonetaryAmountFormat(context);
+        StringBuilder sb = new StringBuilder();
+        format.printAll(sb, Arrays.asList(FastMoney.of(1000.42, "USD"), FastMoney.of(-1000.42, "USD"),
+                FastMoney.of(1, "CHF")), ";");
+        assertEquals(sb.toString(), "1000.42 USD;-1000.4 USD;1.00 CHF");
+    }
+
+    @Test
+    public void testPrintAll_array_slice_to_CharBuffer() throws IOException {
+        AmountFormatContextBuilder builder = AmountFormatContextBuilder.of(US);
+        DefaultMonetaryAmountFormat format = new DefaultMonetaryAmountFormat(builder.build());
+        MonetaryAmount[] amounts = {FastMoney.of(1, "USD"), FastMoney.of(1000.42, "USD"),
+                FastMoney.of(2000, "USD"), FastMoney.of(3, "USD")};
+        CharBuffer buffer = CharBuffer.allocate(64);
+        format.printAll(buffer, amounts, 1, 2, "|");
+        buffer.flip();
+        assertEquals(buffer.toString(), format.format(amounts[1]) + '|' + format.format(amounts[2]));
+    }
+
+    @Test
+    public void testFormatAll_with_grouping_sizes() {
+        AmountFormatContextBuilder builder = AmountFormatContextBuilder.of(US);
+        builder.set("pattern", "#,##0.00 ¤");
+        builder.set(AmountFormatParams.GROUPING_SIZES, new int[]{3, 2});
+        DefaultMonetaryAmountFormat format = new DefaultMonetaryAmountFormat(builder.build());
+        String formatted = format.formatAll(Arrays.asList(FastMoney.of(12345678.9, "INR"),
+                FastMoney.of(12, "INR")), ", ");
+        assertEquals(formatted, "1,23,45,678.90 INR, 12.00 INR");
+    }
+
     @Test
     public void testParse() {
         AmountFormatContextBuilder builder = AmountFormatContextBuilder.of(US);
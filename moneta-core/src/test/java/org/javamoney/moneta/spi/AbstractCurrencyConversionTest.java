@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.javamoney.moneta.function.MonetaryOperators;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryOperator;
+import javax.money.NumberValue;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.RateType;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class AbstractCurrencyConversionTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+    @Test
+    public void testApplyAllResolvesRateOncePerCurrency() {
+        CountingConversion conversion = new CountingConversion();
+        List<MonetaryAmount> result = conversion.applyAll(Arrays.asList(Money.of(1, USD), Money.of(2, CHF),
+                Money.of(3, USD), Money.of(4, EUR), Money.of(5, CHF)));
+        assertEquals(conversion.calls, 2);
+        assertEquals(result, Arrays.asList(Money.of(2, EUR), Money.of(4, EUR), Money.of(6, EUR),
+                Money.of(4, EUR), Money.of(10, EUR)));
+    }
+
+    @Test
+    public void testApplyAllMatchesApply() {
+        CountingConversion conversion = new CountingConversion();
+        MonetaryAmount[] amounts = {Money.of(1.5, USD), FastMoney.of(2.25, USD), Money.of(3, CHF)};
+        MonetaryAmount[] result = conversion.applyAll(amounts, null);
+        assertEquals(conversion.calls, 2);
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(result[i], conversion.apply(amounts[i]));
+        }
+    }
+
+    @Test
+    public void testApplyAllIntoTarget() {
+        CountingConversion conversion = new CountingConversion();
+        MonetaryAmount[] amounts = {Money.of(1, USD), Money.of(2, USD)};
+        assertSame(conversion.applyAll(amounts, amounts), amounts);
+        assertEquals(amounts[0], Money.of(2, EUR));
+        assertEquals(amounts[1], Money.of(4, EUR));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testApplyAllTargetTooShort() {
+        new CountingConversion().applyAll(new MonetaryAmount[]{Money.of(1, USD)}, new MonetaryAmount[0]);
+    }
+
+    @Test(expectedExceptions = CurrencyConversionException.class)
+    public void testApplyAllWithoutRate() {
+        new CountingConversion().applyAll(Collections.singletonList(Money.of(1, Monetary.getCurrency("JPY"))));
+    }
+
+    @Test
+    public void testFixedPointFactorMatchesNumberValueFactor() {
+        String[] factors = {"1.123456", "0.0999995", "1.10", "123.456789", "0.8", "0.999995", "2", "1.1230"};
+        MonetaryAmount[] amounts = {FastMoney.of(new BigDecimal("100.5"), USD),
+                FastMoney.of(new BigDecimal("-0.00001"), USD), FastMoney.of(new BigDecimal("90000000000"), USD)};
+        for (String factor : factors) {
+            BigDecimal value = new BigDecimal(factor);
+            AbstractCurrencyConversion fixedPoint = new FixedConversion(new FixedPointTestRate(value));
+            AbstractCurrencyConversion plain = new FixedConversion(new TestExchangeRate("test", USD, EUR, value));
+            for (MonetaryAmount amount : amounts) {
+                assertEquals(fixedPoint.apply(amount), plain.apply(amount), factor + " * " + amount);
+            }
+            assertEquals(fixedPoint.applyAll(amounts, null), plain.applyAll(amounts, null), factor);
+        }
+    }
+
+    @Test
+    public void testRoundsToRateScale() {
+        ConversionContext context = ConversionContextBuilder.of("test", RateType.ANY)
+                .set(AbstractCurrencyConversion.KEY_SCALE, 2).build();
+        BigDecimal factor = new BigDecimal("1.123456");
+        MonetaryOperator rounding = MonetaryOperators.rounding(2);
+        AbstractCurrencyConversion fixedPoint = new FixedConversion(new FixedPointTestRate(factor, context));
+        AbstractCurrencyConversion plain = new FixedConversion(new TestExchangeRate(USD, EUR, factor, context));
+        for (MonetaryAmount amount : new MonetaryAmount[]{Money.of(new BigDecimal("10.555"), USD),
+                FastMoney.of(new BigDecimal("10.555"), USD), RoundedMoney.of(new BigDecimal("10.555"), USD)}) {
+            MonetaryAmount expected = amount.multiply(new BigDecimal("1.1235")).getFactory().setCurrency(EUR)
+                    .create().with(rounding);
+            for (int i = 0; i < 2; i++) {
+                assertEquals(plain.apply(amount), expected, amount.toString());
+                assertEquals(fixedPoint.apply(amount), expected, amount.toString());
+            }
+        }
+        assertEquals(plain.apply(Money.of(new BigDecimal("10.555"), USD)).getNumber().getScale(), 2);
+    }
+
+    private static final class FixedConversion extends AbstractCurrencyConversion {
+
+        private final ExchangeRate rate;
+
+        FixedConversion(ExchangeRate rate) {
+            super(EUR, ConversionContext.of("test", RateType.ANY));
+            this.rate = rate;
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(MonetaryAmount sourceAmount) {
+            return rate;
+        }
+
+        @Override
+        public CurrencyConversion with(ConversionContext conversionContext) {
+            return this;
+        }
+
+        @Override
+        public ExchangeRateProvider getExchangeRateProvider() {
+            return null;
+        }
+    }
+
+    private static final class FixedPointTestRate implements FixedPointExchangeRate {
+
+        private final TestExchangeRate rate;
+
+        FixedPointTestRate(BigDecimal factor) {
+            this.rate = new TestExchangeRate("test", USD, EUR, factor);
+        }
+
+        FixedPointTestRate(BigDecimal factor, ConversionContext context) {
+            this.rate = new TestExchangeRate(USD, EUR, factor, context);
+        }
+
+        @Override
+        public long getUnscaledFactor() {
+            return FixedPointExchangeRate.getUnscaledFactor(getFactor());
+        }
+
+        @Override
+        public int getFactorScale() {
+            return FixedPointExchangeRate.getFactorScale(getFactor());
+        }
+
+        @Override
+        public ConversionContext getContext() {
+            return rate.getContext();
+        }
+
+        @Override
+        public CurrencyUnit getBaseCurrency() {
+            return rate.getBaseCurrency();
+        }
+
+        @Override
+        public CurrencyUnit getCurrency() {
+            return rate.getCurrency();
+        }
+
+        @Override
+        public NumberValue getFactor() {
+            return rate.getFactor();
+        }
+
+        @Override
+        public List<ExchangeRate> getExchangeRateChain() {
+            return Collections.singletonList(this);
+        }
+    }
+
+    private static final class CountingConversion extends AbstractCurrencyConversion {
+
+        private int calls;
+
+        CountingConversion() {
+            super(EUR, ConversionContext.of("test", RateType.ANY));
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(MonetaryAmount sourceAmount) {
+            calls++;
+            if ("JPY".equals(sourceAmount.getCurrency().getCurrencyCode())) {
+                return null;
+            }
+            return new TestExchangeRate("test", sourceAmount.getCurrency(), EUR, BigDecimal.valueOf(2));
+        }
+
+        @Override
+        public CurrencyConversion with(ConversionContext conversionContext) {
+            return this;
+        }
+
+        @Override
+        public ExchangeRateProvider getExchangeRateProvider() {
+            return null;
+        }
+    }
+}
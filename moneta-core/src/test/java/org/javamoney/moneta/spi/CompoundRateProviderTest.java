@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import org.javamoney.moneta.spi.CompoundRateProvider.QueryMode;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+public class CompoundRateProviderTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final ConversionQuery QUERY = ConversionQueryBuilder.of().setBaseCurrency(USD)
+            .setTermCurrency(EUR).build();
+
+    @Test
+    public void testSequentialUsesFirstRate() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("empty", 0L, false), new StubRateProvider("first", 0L, true),
+                new StubRateProvider("second", 0L, true)), QueryMode.SEQUENTIAL);
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "first");
+    }
+
+    @Test
+    public void testParallelKeepsOrder() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("slow", 200L, true), new StubRateProvider("fast", 0L, true)),
+                QueryMode.PARALLEL, 500L, 5_000L);
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "slow");
+    }
+
+    @Test
+    public void testParallelSkipsTimedOutProvider() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("slow", 5_000L, true), new StubRateProvider("fast", 0L, true)),
+                QueryMode.PARALLEL, 500L, 100L);
+        long start = System.nanoTime();
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "fast");
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    }
+
+    @Test
+    public void testHedgedUsesBackupProvider() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("slow", 5_000L, true), new StubRateProvider("fast", 0L, true)),
+                QueryMode.HEDGED, 50L, 100L);
+        long start = System.nanoTime();
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "fast");
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    }
+
+    @Test
+    public void testHedgedKeepsOrder() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("primary", 300L, true), new StubRateProvider("backup", 0L, true)),
+                QueryMode.HEDGED, 50L, 5_000L);
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "primary");
+    }
+
+    @Test
+    public void testHedgedSkipsProvidersWithoutRate() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("empty", 0L, false), new StubRateProvider("slow", 200L, true),
+                new StubRateProvider("fast", 0L, true)), QueryMode.HEDGED, 50L, 5_000L);
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "slow");
+    }
+
+    @Test
+    public void testHedgedUsesPrimaryProvider() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.asList(
+                new StubRateProvider("primary", 0L, true), new StubRateProvider("backup", 0L, true)),
+                QueryMode.HEDGED, 1_000L, 10_000L);
+        assertEquals(provider.getExchangeRate(QUERY).getContext().getProviderName(), "primary");
+    }
+
+    @Test(expectedExceptions = CurrencyConversionException.class)
+    public void testAllProvidersFail() {
+        new CompoundRateProvider(Arrays.asList(new StubRateProvider("a", 0L, false),
+                new StubRateProvider("b", 0L, false)), QueryMode.HEDGED, 10L, 1_000L).getExchangeRate(QUERY);
+    }
+
+    private static final class StubRateProvider implements ExchangeRateProvider {
+
+        private final ProviderContext context;
+
+        private final long delay;
+
+        private final boolean hasRate;
+
+        StubRateProvider(String name, long delay, boolean hasRate) {
+            this.context = ProviderContextBuilder.of(name, RateType.ANY).build();
+            this.delay = delay;
+            this.hasRate = hasRate;
+        }
+
+        @Override
+        public ProviderContext getContext() {
+            return context;
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return hasRate ? new TestExchangeRate(context.getProviderName(), conversionQuery.getBaseCurrency(),
+                    conversionQuery.getCurrency(), BigDecimal.valueOf(2)) : null;
+        }
+
+        @Override
+        public CurrencyConversion getCurrencyConversion(ConversionQuery conversionQuery) {
+            return new LazyBoundCurrencyConversion(conversionQuery, this,
+                    ConversionContext.of(context.getProviderName(), RateType.ANY));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import org.javamoney.moneta.Money;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class ExchangeRateCacheTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+    @Test
+    public void testGetAndPut() {
+        ExchangeRateCache cache = new ExchangeRateCache(10, 60_000L);
+        ExchangeRate rate = rate(USD, EUR);
+        assertNull(cache.get(USD));
+        cache.put(USD, rate, ExchangeRateCache.generation());
+        assertSame(cache.get(USD), rate);
+        assertNull(cache.get(CHF));
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        ExchangeRateCache cache = new ExchangeRateCache(10, 60_000L);
+        long generation = ExchangeRateCache.generation();
+        cache.put(USD, rate(USD, EUR), generation);
+        ExchangeRateCache.invalidateAll();
+        assertNull(cache.get(USD));
+        cache.put(USD, rate(USD, EUR), generation);
+        assertNull(cache.get(USD), "A rate resolved before the invalidation must not be cached.");
+    }
+
+    @Test
+    public void testTimeToLive() throws InterruptedException {
+        ExchangeRateCache cache = new ExchangeRateCache(10, 1L);
+        cache.put(USD, rate(USD, EUR), ExchangeRateCache.generation());
+        Thread.sleep(5L);
+        assertNull(cache.get(USD));
+    }
+
+    @Test
+    public void testSizeBound() {
+        ExchangeRateCache cache = new ExchangeRateCache(1, 60_000L);
+        cache.put(USD, rate(USD, EUR), ExchangeRateCache.generation());
+        cache.put(CHF, rate(CHF, EUR), ExchangeRateCache.generation());
+        assertNull(cache.get(USD));
+        assertNotNull(cache.get(CHF));
+
+        ExchangeRateCache disabled = new ExchangeRateCache(0, 60_000L);
+        disabled.put(USD, rate(USD, EUR), ExchangeRateCache.generation());
+        assertNull(disabled.get(USD));
+    }
+
+    @Test
+    public void testConversionResolvesRateOnce() {
+        CountingRateProvider provider = new CountingRateProvider();
+        CurrencyConversion conversion = new LazyBoundCurrencyConversion(
+                ConversionQueryBuilder.of().setTermCurrency(EUR).build(), provider,
+                ConversionContext.of("test", RateType.ANY));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Money.of(i, USD).with(conversion).getCurrency(), EUR);
+        }
+        assertEquals(provider.calls.get(), 1);
+        Money.of(1, CHF).with(conversion);
+        assertEquals(provider.calls.get(), 2);
+    }
+
+    private static ExchangeRate rate(CurrencyUnit base, CurrencyUnit term) {
+        return new TestExchangeRate("test", base, term, BigDecimal.valueOf(2));
+    }
+
+    private static final class CountingRateProvider implements ExchangeRateProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ProviderContext getContext() {
+            return ProviderContextBuilder.of("test", RateType.ANY).build();
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            calls.incrementAndGet();
+            return rate(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency());
+        }
+
+        @Override
+        public CurrencyConversion getCurrencyConversion(ConversionQuery conversionQuery) {
+            return new LazyBoundCurrencyConversion(conversionQuery, this, ConversionContext.of("test", RateType.ANY));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2012, 2019, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import javax.money.CurrencyUnit;
+import javax.money.NumberValue;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.RateType;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Simple, unchained {@link ExchangeRate} used by the tests of this package.
+ */
+final class TestExchangeRate implements ExchangeRate {
+
+    private final CurrencyUnit base;
+
+    private final CurrencyUnit term;
+
+    private final BigDecimal factor;
+
+    private final ConversionContext context;
+
+    TestExchangeRate(String provider, CurrencyUnit base, CurrencyUnit term, BigDecimal factor) {
+        this(base, term, factor, ConversionContext.of(provider, RateType.ANY));
+    }
+
+    TestExchangeRate(CurrencyUnit base, CurrencyUnit term, BigDecimal factor, ConversionContext context) {
+        this.base = base;
+        this.term = term;
+        this.factor = factor;
+        this.context = context;
+    }
+
+    @Override
+    public ConversionContext getContext() {
+        return context;
+    }
+
+    @Override
+    public CurrencyUnit getBaseCurrency() {
+        return base;
+    }
+
+    @Override
+    public CurrencyUnit getCurrency() {
+        return term;
+    }
+
+    @Override
+    public NumberValue getFactor() {
+        return new DefaultNumberValue(factor);
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRateChain() {
+        return Collections.singletonList(this);
+    }
+}